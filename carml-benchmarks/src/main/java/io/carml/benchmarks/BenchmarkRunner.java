@@ -0,0 +1,39 @@
+package io.carml.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the regular JMH command line options. When no profiler
+ * is specified on the command line, the {@link GCProfiler} is attached, so that the normalized
+ * allocation rate ({@code gc.alloc.rate.norm}) is reported for every benchmark. As all benchmarks
+ * report their operations per processed record, join or value, this shows per-record allocation
+ * regressions directly.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+    var commandLineOptions = new CommandLineOptions(args);
+
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+
+    var optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+
+    if (commandLineOptions.getProfilers()
+        .isEmpty()) {
+      optionsBuilder.addProfiler(GCProfiler.class);
+    }
+
+    new Runner(optionsBuilder.build()).run();
+  }
+}
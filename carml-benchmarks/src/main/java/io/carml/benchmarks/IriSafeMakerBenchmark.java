@@ -0,0 +1,44 @@
+package io.carml.benchmarks;
+
+import io.carml.util.IriSafeMaker;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link IriSafeMaker#apply(String)} for typical template values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class IriSafeMakerBenchmark {
+
+  @Param({"NL", "4f8c2b1e-9d3a-4c5e-8f7a-1b2c3d4e5f60", "Jane Doe (Jr.)", "Ærøskøbing Straße 12",
+      "http://example.com/some/path?query=1&other=2"})
+  private String value;
+
+  private UnaryOperator<String> iriSafeMaker;
+
+  @Setup
+  public void setup() {
+    iriSafeMaker = IriSafeMaker.create();
+  }
+
+  @Benchmark
+  public String apply() {
+    return iriSafeMaker.apply(value);
+  }
+}
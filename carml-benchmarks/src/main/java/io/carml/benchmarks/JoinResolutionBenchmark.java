@@ -0,0 +1,216 @@
+package io.carml.benchmarks;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+
+import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.RefObjectMapper;
+import io.carml.engine.TriplesMapper;
+import io.carml.engine.join.ChildSideJoin;
+import io.carml.engine.join.ChildSideJoinCondition;
+import io.carml.engine.join.ChildSideJoinStore;
+import io.carml.engine.join.ChildSideJoinStoreProvider;
+import io.carml.engine.join.ParentSideJoinConditionStore;
+import io.carml.engine.join.ParentSideJoinKey;
+import io.carml.engine.join.impl.CarmlParentSideJoinConditionStoreProvider;
+import io.carml.engine.rdf.RdfMapperConfig;
+import io.carml.engine.rdf.RdfRefObjectMapper;
+import io.carml.engine.rdf.RdfTermGeneratorConfig;
+import io.carml.engine.rdf.RdfTermGeneratorFactory;
+import io.carml.engine.template.TemplateParser;
+import io.carml.logicalsourceresolver.LogicalSourceRecord;
+import io.carml.model.TriplesMap;
+import io.carml.model.impl.CarmlJoin;
+import io.carml.model.impl.CarmlRefObjectMap;
+import io.carml.model.impl.CarmlTriplesMap;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures {@link RdfRefObjectMapper#resolveJoins(TriplesMapper)} for a fixed number of child-side
+ * joins at different join fan-outs, i.e. the number of parent subjects every child join resolves
+ * to. Scores are reported per child-side join.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class JoinResolutionBenchmark {
+
+  static final int CHILD_JOIN_COUNT = 10_000;
+
+  private static final int DISTINCT_KEY_COUNT = 1_000;
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  @Param({"1", "10", "100"})
+  private int fanOut;
+
+  private RdfRefObjectMapper refObjectMapper;
+
+  private TriplesMapper<Statement> parentTriplesMapper;
+
+  @Setup
+  public void setup() {
+    var rdfTermGeneratorConfig = RdfTermGeneratorConfig.builder()
+        .baseIri(iri("http://example.com/base/"))
+        .valueFactory(VALUE_FACTORY)
+        .normalizationForm(Normalizer.Form.NFC)
+        .build();
+
+    var childSideJoinStore = new ReplayingChildSideJoinStore();
+    ChildSideJoinStoreProvider<Resource, IRI> childSideJoinStoreProvider = name -> childSideJoinStore;
+
+    var rdfMapperConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(RdfTermGeneratorFactory.of(rdfTermGeneratorConfig, TemplateParser.build()))
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    var parentTriplesMap = CarmlTriplesMap.builder()
+        .id("parent")
+        .build();
+
+    var refObjectMap = CarmlRefObjectMap.builder()
+        .id("ref-object-map")
+        .parentTriplesMap(parentTriplesMap)
+        .joinCondition(CarmlJoin.builder()
+            .child("parentId")
+            .parent("id")
+            .build())
+        .build();
+
+    var childTriplesMap = CarmlTriplesMap.builder()
+        .id("child")
+        .build();
+
+    refObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, childTriplesMap, rdfMapperConfig, childSideJoinStoreProvider);
+
+    var predicate = VALUE_FACTORY.createIRI("http://example.com/parent");
+    for (int i = 0; i < CHILD_JOIN_COUNT; i++) {
+      var childSideJoin = ChildSideJoin.<Resource, IRI>builder()
+          .subjects(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/child/" + i))))
+          .predicates(new HashSet<>(Set.of(predicate)))
+          .graphs(new HashSet<>())
+          .childSideJoinConditions(new HashSet<>(Set.of(ChildSideJoinCondition.of("parentId",
+              new ArrayList<>(List.of(Integer.toString(i % DISTINCT_KEY_COUNT))), "id"))))
+          .build();
+      childSideJoinStore.addAll(Set.of(childSideJoin));
+    }
+
+    var parentSideJoinConditions = CarmlParentSideJoinConditionStoreProvider.<Resource>of()
+        .createParentSideJoinConditionStore(parentTriplesMap.getId());
+    for (int key = 0; key < DISTINCT_KEY_COUNT; key++) {
+      Set<Resource> parentSubjects = new HashSet<>();
+      for (int j = 0; j < fanOut; j++) {
+        parentSubjects.add(VALUE_FACTORY.createIRI(String.format("http://example.com/parent/%d/%d", key, j)));
+      }
+      parentSideJoinConditions.put(ParentSideJoinKey.of("id", Integer.toString(key)), parentSubjects);
+    }
+
+    parentTriplesMapper = new ParentTriplesMapper(parentTriplesMap, parentSideJoinConditions);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CHILD_JOIN_COUNT)
+  public void resolveJoins(Blackhole blackhole) {
+    refObjectMapper.resolveJoins(parentTriplesMapper)
+        .doOnNext(blackhole::consume)
+        .blockLast();
+  }
+
+  /**
+   * Child-side join store that keeps its joins when drained, so that every benchmark invocation
+   * resolves the same joins.
+   */
+  private static class ReplayingChildSideJoinStore implements ChildSideJoinStore<Resource, IRI> {
+
+    private final List<ChildSideJoin<Resource, IRI>> childSideJoins = new ArrayList<>();
+
+    @Override
+    public void addAll(Set<ChildSideJoin<Resource, IRI>> childSideJoins) {
+      this.childSideJoins.addAll(childSideJoins);
+    }
+
+    @Override
+    public Flux<ChildSideJoin<Resource, IRI>> clearingFlux() {
+      return Flux.fromIterable(childSideJoins);
+    }
+  }
+
+  /**
+   * Parent triples mapper that only exposes a prepared set of parent-side join conditions.
+   */
+  private static class ParentTriplesMapper implements TriplesMapper<Statement> {
+
+    private final TriplesMap triplesMap;
+
+    private final ParentSideJoinConditionStore<Resource> parentSideJoinConditions;
+
+    ParentTriplesMapper(TriplesMap triplesMap, ParentSideJoinConditionStore<Resource> parentSideJoinConditions) {
+      this.triplesMap = triplesMap;
+      this.parentSideJoinConditions = parentSideJoinConditions;
+    }
+
+    @Override
+    public Flux<Statement> map(LogicalSourceRecord<?> logicalSourceRecord) {
+      return Flux.empty();
+    }
+
+    @Override
+    public void map(LogicalSourceRecord<?> logicalSourceRecord, Consumer<Statement> sink) {
+      // parent records are not mapped in this benchmark
+    }
+
+    @Override
+    public Flux<Statement> mapEvaluation(ExpressionEvaluation expressionEvaluation) {
+      return Flux.empty();
+    }
+
+    @Override
+    public TriplesMap getTriplesMap() {
+      return triplesMap;
+    }
+
+    @Override
+    public Set<RefObjectMapper<Statement>> getRefObjectMappers() {
+      return Set.of();
+    }
+
+    @Override
+    public ParentSideJoinConditionStore<Resource> getParentSideJoinConditions() {
+      return parentSideJoinConditions;
+    }
+
+    @Override
+    public void cleanup() {
+      // nothing to clean up, the join conditions are reused across invocations
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package io.carml.benchmarks;
+
+import io.carml.logicalsourceresolver.CsvResolver;
+import io.carml.logicalsourceresolver.JsonPathResolver;
+import io.carml.logicalsourceresolver.LogicalSourceRecord;
+import io.carml.logicalsourceresolver.LogicalSourceResolver;
+import io.carml.logicalsourceresolver.ResolvedSource;
+import io.carml.logicalsourceresolver.XPathResolver;
+import io.carml.model.LogicalSource;
+import io.carml.model.impl.CarmlLogicalSource;
+import io.carml.model.impl.CarmlStream;
+import io.carml.vocab.Rdf.Ql;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures record emission of the bundled {@link LogicalSourceResolver}s. Scores are reported per
+ * emitted record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class LogicalSourceResolverBenchmark {
+
+  static final int RECORD_COUNT = 10_000;
+
+  private static final LogicalSource CSV_SOURCE = CarmlLogicalSource.builder()
+      .source(new CarmlStream())
+      .referenceFormulation(Ql.Csv)
+      .build();
+
+  private static final LogicalSource JSON_SOURCE = CarmlLogicalSource.builder()
+      .source(new CarmlStream())
+      .iterator("$.people[*]")
+      .referenceFormulation(Ql.JsonPath)
+      .build();
+
+  private static final LogicalSource XML_SOURCE = CarmlLogicalSource.builder()
+      .source(new CarmlStream())
+      .iterator("/people/person")
+      .referenceFormulation(Ql.XPath)
+      .build();
+
+  private byte[] csv;
+
+  private byte[] json;
+
+  private byte[] xml;
+
+  @Setup
+  public void setup() {
+    var csvBuilder = new StringBuilder("id,firstName,lastName,country,amount\n");
+    var jsonBuilder = new StringBuilder("{\"people\":[");
+    var xmlBuilder = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><people>");
+
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      var firstName = "First" + i;
+      var lastName = "Last " + i;
+      var country = "C" + (i % 50);
+      var amount = i * 3.25;
+
+      csvBuilder.append(String.format("%d,%s,%s,%s,%s%n", i, firstName, lastName, country, amount));
+
+      if (i > 0) {
+        jsonBuilder.append(',');
+      }
+      jsonBuilder.append(String.format(
+          "{\"id\":%d,\"firstName\":\"%s\",\"lastName\":\"%s\",\"country\":\"%s\",\"amount\":%s}", i, firstName,
+          lastName, country, amount));
+
+      xmlBuilder.append(String.format(
+          "<person id=\"%d\"><firstName>%s</firstName><lastName>%s</lastName><country>%s</country>"
+              + "<amount>%s</amount></person>",
+          i, firstName, lastName, country, amount));
+    }
+
+    jsonBuilder.append("]}");
+    xmlBuilder.append("</people>");
+
+    csv = csvBuilder.toString()
+        .getBytes(StandardCharsets.UTF_8);
+    json = jsonBuilder.toString()
+        .getBytes(StandardCharsets.UTF_8);
+    xml = xmlBuilder.toString()
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void csvResolver(Blackhole blackhole) {
+    emitRecords(CsvResolver.getInstance(), CSV_SOURCE, csv, blackhole);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void jsonPathResolver(Blackhole blackhole) {
+    emitRecords(JsonPathResolver.getInstance(), JSON_SOURCE, json, blackhole);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void xpathResolver(Blackhole blackhole) {
+    emitRecords(XPathResolver.getInstance(), XML_SOURCE, xml, blackhole);
+  }
+
+  private static <R> void emitRecords(LogicalSourceResolver<R> resolver, LogicalSource logicalSource, byte[] data,
+      Blackhole blackhole) {
+    var resolvedSource = ResolvedSource.of(logicalSource.getSource(), new ByteArrayInputStream(data), InputStream.class);
+
+    resolver.getLogicalSourceRecords(Set.of(logicalSource))
+        .apply(resolvedSource)
+        .map(LogicalSourceRecord::getRecord)
+        .doOnNext(blackhole::consume)
+        .blockLast();
+  }
+}
@@ -0,0 +1,151 @@
+package io.carml.benchmarks;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+
+import com.google.common.cache.CacheBuilderSpec;
+import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.TermGenerator;
+import io.carml.engine.rdf.RdfTermGeneratorConfig;
+import io.carml.engine.rdf.RdfTermGeneratorFactory;
+import io.carml.engine.template.TemplateParser;
+import io.carml.model.TermType;
+import io.carml.model.impl.CarmlObjectMap;
+import io.carml.model.impl.CarmlSubjectMap;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the term generators created by {@link RdfTermGeneratorFactory} for template, reference
+ * and constant term maps, evaluated against a single in-memory record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TermGeneratorBenchmark {
+
+  private static final Map<String, Object> RECORD = Map.of("id", "12345", "name", "Jane Doe", "country", "NL",
+      "tags", List.of("a b", "c", "d/e"));
+
+  private final ExpressionEvaluation expressionEvaluation = expression -> Optional.ofNullable(RECORD.get(expression));
+
+  private TermGenerator<Value> iriTemplateGenerator;
+
+  private TermGenerator<Value> cachedIriTemplateGenerator;
+
+  private TermGenerator<Value> multiValuedIriTemplateGenerator;
+
+  private TermGenerator<Value> literalTemplateGenerator;
+
+  private TermGenerator<Value> referenceGenerator;
+
+  private TermGenerator<Value> constantGenerator;
+
+  private TermGenerator<?> subjectTemplateGenerator;
+
+  @Setup
+  public void setup() {
+    var rdfTermGeneratorConfig = RdfTermGeneratorConfig.builder()
+        .baseIri(iri("http://example.com/base/"))
+        .valueFactory(SimpleValueFactory.getInstance())
+        .normalizationForm(Normalizer.Form.NFC)
+        .iriUpperCasePercentEncoding(true)
+        .build();
+    var termGeneratorFactory = RdfTermGeneratorFactory.of(rdfTermGeneratorConfig, TemplateParser.build());
+
+    iriTemplateGenerator = termGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("iri-template")
+        .template("http://example.com/country/{country}/person/{id}/{name}")
+        .build());
+
+    var cachingTermGeneratorFactory = RdfTermGeneratorFactory.of(RdfTermGeneratorConfig.builder()
+        .baseIri(iri("http://example.com/base/"))
+        .valueFactory(SimpleValueFactory.getInstance())
+        .normalizationForm(Normalizer.Form.NFC)
+        .iriUpperCasePercentEncoding(true)
+        .iriTemplateCacheSpec(CacheBuilderSpec.parse("maximumSize=10000"))
+        .build(), TemplateParser.build());
+    cachedIriTemplateGenerator = cachingTermGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("cached-iri-template")
+        .template("http://example.com/country/{country}/person/{id}/{name}")
+        .build());
+
+    multiValuedIriTemplateGenerator = termGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("multi-valued-iri-template")
+        .template("http://example.com/tag/{tags}")
+        .build());
+
+    literalTemplateGenerator = termGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("literal-template")
+        .template("{name} ({country})")
+        .termType(TermType.LITERAL)
+        .build());
+
+    referenceGenerator = termGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("reference")
+        .reference("name")
+        .build());
+
+    constantGenerator = termGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("constant")
+        .constant(iri("http://example.com/constant"))
+        .build());
+
+    subjectTemplateGenerator = termGeneratorFactory.getSubjectGenerator(CarmlSubjectMap.builder()
+        .id("subject-template")
+        .template("person/{id}")
+        .build());
+  }
+
+  @Benchmark
+  public List<Value> iriTemplate() {
+    return iriTemplateGenerator.apply(expressionEvaluation);
+  }
+
+  @Benchmark
+  public List<Value> cachedIriTemplate() {
+    return cachedIriTemplateGenerator.apply(expressionEvaluation);
+  }
+
+  @Benchmark
+  public List<Value> multiValuedIriTemplate() {
+    return multiValuedIriTemplateGenerator.apply(expressionEvaluation);
+  }
+
+  @Benchmark
+  public List<Value> literalTemplate() {
+    return literalTemplateGenerator.apply(expressionEvaluation);
+  }
+
+  @Benchmark
+  public List<?> relativeIriSubjectTemplate() {
+    return subjectTemplateGenerator.apply(expressionEvaluation);
+  }
+
+  @Benchmark
+  public List<Value> reference() {
+    return referenceGenerator.apply(expressionEvaluation);
+  }
+
+  @Benchmark
+  public List<Value> constant() {
+    return constantGenerator.apply(expressionEvaluation);
+  }
+}
@@ -3,11 +3,7 @@ package io.carml.util;
 import java.text.Normalizer;
 import java.text.Normalizer.Form;
 import java.util.Arrays;
-import java.util.List;
-import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import lombok.NonNull;
 
 /**
@@ -18,22 +14,66 @@ import lombok.NonNull;
  * <a href="https://www.rfc-editor.org/rfc/rfc3987#section-2.2">RFC-3987</a>}, as specified by
  * <a href=
  * "https://www.w3.org/TR/r2rml/#from-template">https://www.w3.org/TR/r2rml/#from-template</a>.
+ *
+ * <p>Characters in the Basic Multilingual Plane are looked up in a precomputed bitmap, and
+ * supplementary characters by binary search over the supplementary {@code ucschar} ranges. Values
+ * that are already normalized and contain no characters to encode are returned as is.
  */
 public class IriSafeMaker implements UnaryOperator<String> {
 
-  static class Range {
-
-    final int from;
-
-    final int to;
-
-    Range(int from, int to) {
-      this.from = from;
-      this.to = to;
+  /*
+   * percent-encode any char not in the 'iunreserved' production rule: iunreserved = ALPHA / DIGIT /
+   * "-" / "." / "_" / "~" / ucschar ucschar = %xA0-D7FF / %xF900-FDCF / %xFDF0-FFEF / %x10000-1FFFD /
+   * %x20000-2FFFD / %x30000-3FFFD / %x40000-4FFFD / %x50000-5FFFD / %x60000-6FFFD / %x70000-7FFFD /
+   * %x80000-8FFFD / %x90000-9FFFD / %xA0000-AFFFD / %xB0000-BFFFD / %xC0000-CFFFD / %xD0000-DFFFD /
+   * %xE1000-EFFFD
+   */
+  private static final String IUNRESERVED_RANGES = "%x41-5A / %x61-7A " // ALPHA
+      + "/ %x30-39 " // DIGIT
+      + "/ %x2D-2E / %x5F-5F / %x7E-7E " // "-" / "." / "_" / "~"
+      + "/ %xA0-D7FF / %xF900-FDCF / %xFDF0-FFEF " // ucschar
+      + "/ %x10000-1FFFD / %x20000-2FFFD / %x30000-3FFFD " //
+      + "/ %x40000-4FFFD / %x50000-5FFFD / %x60000-6FFFD " //
+      + "/ %x70000-7FFFD / %x80000-8FFFD / %x90000-9FFFD " //
+      + "/ %xA0000-AFFFD / %xB0000-BFFFD / %xC0000-CFFFD " //
+      + "/ %xD0000-DFFFD / %xE1000-EFFFD";
+
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+
+  private static final long[] BMP_IUNRESERVED = new long[(Character.MAX_VALUE + 1) >>> ADDRESS_BITS_PER_WORD];
+
+  private static final int[] SUPPLEMENTARY_RANGE_STARTS;
+
+  private static final int[] SUPPLEMENTARY_RANGE_ENDS;
+
+  private static final char[] UPPER_CASE_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private static final char[] LOWER_CASE_HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  static {
+    var ranges = parseAbnfRangeString(IUNRESERVED_RANGES);
+
+    var supplementaryRangeCount = 0;
+    for (int[] range : ranges) {
+      if (range[0] > Character.MAX_VALUE) {
+        supplementaryRangeCount++;
+      } else {
+        for (int codePoint = range[0]; codePoint <= range[1]; codePoint++) {
+          BMP_IUNRESERVED[codePoint >>> ADDRESS_BITS_PER_WORD] |= 1L << codePoint;
+        }
+      }
     }
 
-    boolean includes(int value) {
-      return value >= from && value <= to;
+    // the supplementary ranges are listed in ascending order
+    SUPPLEMENTARY_RANGE_STARTS = new int[supplementaryRangeCount];
+    SUPPLEMENTARY_RANGE_ENDS = new int[supplementaryRangeCount];
+    var index = 0;
+    for (int[] range : ranges) {
+      if (range[0] > Character.MAX_VALUE) {
+        SUPPLEMENTARY_RANGE_STARTS[index] = range[0];
+        SUPPLEMENTARY_RANGE_ENDS[index] = range[1];
+        index++;
+      }
     }
   }
 
@@ -42,82 +82,106 @@ public class IriSafeMaker implements UnaryOperator<String> {
   }
 
   public static IriSafeMaker create(@NonNull Form normalizationForm, boolean upperCaseHex) {
-
-    /*
-     * percent-encode any char not in the 'iunreserved' production rule: iunreserved = ALPHA / DIGIT /
-     * "-" / "." / "_" / "~" / ucschar ucschar = %xA0-D7FF / %xF900-FDCF / %xFDF0-FFEF / %x10000-1FFFD /
-     * %x20000-2FFFD / %x30000-3FFFD / %x40000-4FFFD / %x50000-5FFFD / %x60000-6FFFD / %x70000-7FFFD /
-     * %x80000-8FFFD / %x90000-9FFFD / %xA0000-AFFFD / %xB0000-BFFFD / %xC0000-CFFFD / %xD0000-DFFFD /
-     * %xE1000-EFFFD
-     */
-
-    var alphaString = "%x41-5A / %x61-7A";
-    var digitString = "%x30-39";
-    var ucscharString = "%xA0-D7FF / %xF900-FDCF / %xFDF0-FFEF " //
-        + "/ %x10000-1FFFD / %x20000-2FFFD / %x30000-3FFFD " //
-        + "/ %x40000-4FFFD / %x50000-5FFFD / %x60000-6FFFD " //
-        + "/ %x70000-7FFFD / %x80000-8FFFD / %x90000-9FFFD " //
-        + "/ %xA0000-AFFFD / %xB0000-BFFFD / %xC0000-CFFFD " //
-        + "/ %xD0000-DFFFD / %xE1000-EFFFD";
-
-    var alpha = parseAbnfRangeString(alphaString);
-    var digit = parseAbnfRangeString(digitString);
-    var ucschar = parseAbnfRangeString(ucscharString);
-
-    Predicate<Integer> isIunreserved =
-        codePoint -> withinRange(codePoint, alpha) || withinRange(codePoint, digit) || codePoint == '-'
-            || codePoint == '.' || codePoint == '_' || codePoint == '~' || withinRange(codePoint, ucschar);
-
-    return new IriSafeMaker(isIunreserved, normalizationForm, upperCaseHex);
+    return new IriSafeMaker(normalizationForm, upperCaseHex ? UPPER_CASE_HEX_DIGITS : LOWER_CASE_HEX_DIGITS);
   }
 
-  private static List<Range> parseAbnfRangeString(String rangeString) {
+  private static int[][] parseAbnfRangeString(String rangeString) {
     return Arrays.stream(rangeString.split("/"))
         .map(rangeStringPart -> {
           String[] range = rangeStringPart.trim()
               .substring(2)
               .split("-");
-          return new Range(Integer.parseInt(range[0], 16), Integer.parseInt(range[1], 16));
+          return new int[] {Integer.parseInt(range[0], 16), Integer.parseInt(range[1], 16)};
         })
-        .collect(Collectors.toList());
+        .toArray(int[][]::new);
   }
 
-  private static boolean withinRange(int codePoint, List<Range> ranges) {
-    return ranges.stream()
-        .anyMatch(range -> range.includes(codePoint));
-  }
+  static boolean isIunreserved(int codePoint) {
+    if (codePoint <= Character.MAX_VALUE) {
+      return (BMP_IUNRESERVED[codePoint >>> ADDRESS_BITS_PER_WORD] & (1L << codePoint)) != 0;
+    }
 
-  private final Predicate<Integer> inIunreserved;
+    var index = Arrays.binarySearch(SUPPLEMENTARY_RANGE_STARTS, codePoint);
+    if (index >= 0) {
+      return true;
+    }
+
+    // the range starting before the code point, if any
+    var rangeIndex = -index - 2;
+    return rangeIndex >= 0 && codePoint <= SUPPLEMENTARY_RANGE_ENDS[rangeIndex];
+  }
 
   private final Form normalizationForm;
 
-  private final boolean upperCaseHex;
+  private final char[] hexDigits;
 
-  private IriSafeMaker(Predicate<Integer> inIunreserved, Form normalizationForm, boolean upperCaseHex) {
-    this.inIunreserved = inIunreserved;
+  private IriSafeMaker(Form normalizationForm, char[] hexDigits) {
     this.normalizationForm = normalizationForm;
-    this.upperCaseHex = upperCaseHex;
+    this.hexDigits = hexDigits;
   }
 
   @Override
   public String apply(String iriString) {
-    var result = new StringBuilder();
+    var normalized = normalize(iriString);
+    var length = normalized.length();
+
+    var index = 0;
+    while (index < length) {
+      var codePoint = normalized.codePointAt(index);
+      if (!isIunreserved(codePoint)) {
+        break;
+      }
+      index += Character.charCount(codePoint);
+    }
+
+    if (index == length) {
+      return normalized;
+    }
+
+    var result = new StringBuilder(length + 16);
+    result.append(normalized, 0, index);
+    while (index < length) {
+      var codePoint = normalized.codePointAt(index);
+      if (isIunreserved(codePoint)) {
+        result.appendCodePoint(codePoint);
+      } else {
+        appendPercentEncoded(codePoint, result);
+      }
+      index += Character.charCount(codePoint);
+    }
 
-    iriString = Normalizer.normalize(iriString, normalizationForm);
-    iriString.codePoints()
-        .flatMap(this::percentEncode)
-        .forEach(c -> result.append((char) c));
     return result.toString();
   }
 
-  private IntStream percentEncode(int codePoint) {
+  private String normalize(String value) {
+    // ASCII strings are normalized in every normalization form
+    if (isAscii(value) || Normalizer.isNormalized(value, normalizationForm)) {
+      return value;
+    }
+
+    return Normalizer.normalize(value, normalizationForm);
+  }
 
-    if (inIunreserved.test(codePoint)) {
-      return IntStream.of(codePoint);
+  private static boolean isAscii(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) >= 0x80) {
+        return false;
+      }
     }
 
-    var percentEncoded = upperCaseHex ? String.format("%%%02X", codePoint) : String.format("%%%02x", codePoint);
+    return true;
+  }
 
-    return percentEncoded.codePoints();
+  /**
+   * Appends a percent sign followed by the code point in hex, with at least two digits.
+   */
+  private void appendPercentEncoded(int codePoint, StringBuilder result) {
+    var significantBits = Integer.SIZE - Integer.numberOfLeadingZeros(codePoint);
+    var digitCount = Math.max(2, (significantBits + 3) / 4);
+
+    result.append('%');
+    for (int shift = (digitCount - 1) * 4; shift >= 0; shift -= 4) {
+      result.append(hexDigits[(codePoint >>> shift) & 0xF]);
+    }
   }
 }
@@ -0,0 +1,279 @@
+package io.carml.util;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Validates absolute IRIs, as per the {@code IRI} production of
+ * <a href="https://www.rfc-editor.org/rfc/rfc3987#section-2.2">RFC-3987</a>, in a single pass over
+ * the IRI string, without creating a parsed representation of the IRI.
+ */
+final class IriValidator {
+
+  private static final String SUB_DELIMS = "!$&'()*+,;=";
+
+  private static final IntPredicate IPCHAR =
+      codePoint -> isUnreservedOrSubDelim(codePoint) || codePoint == ':' || codePoint == '@';
+
+  private static final IntPredicate PATH_CHAR = codePoint -> IPCHAR.test(codePoint) || codePoint == '/';
+
+  private static final IntPredicate QUERY_CHAR =
+      codePoint -> PATH_CHAR.test(codePoint) || codePoint == '?' || isIprivate(codePoint);
+
+  private static final IntPredicate FRAGMENT_CHAR = codePoint -> PATH_CHAR.test(codePoint) || codePoint == '?';
+
+  private static final IntPredicate USERINFO_CHAR = codePoint -> isUnreservedOrSubDelim(codePoint) || codePoint == ':';
+
+  private static final IntPredicate REG_NAME_CHAR = IriValidator::isUnreservedOrSubDelim;
+
+  private static final IntPredicate IP_FUTURE_CHAR =
+      codePoint -> (codePoint < 0x80 && isUnreservedOrSubDelim(codePoint)) || codePoint == ':';
+
+  private IriValidator() {}
+
+  static boolean isValidIri(String iri) {
+    var length = iri.length();
+
+    var index = scanScheme(iri);
+    if (index < 0) {
+      return false;
+    }
+    // skip ':'
+    index++;
+
+    if (iri.startsWith("//", index)) {
+      index = scanAuthority(iri, index + 2);
+      if (index < 0) {
+        return false;
+      }
+    }
+
+    index = scan(iri, index, PATH_CHAR);
+    if (index >= 0 && index < length && iri.charAt(index) == '?') {
+      index = scan(iri, index + 1, QUERY_CHAR);
+    }
+    if (index >= 0 && index < length && iri.charAt(index) == '#') {
+      index = scan(iri, index + 1, FRAGMENT_CHAR);
+    }
+
+    return index == length;
+  }
+
+  /**
+   * Returns the index of the colon that ends the scheme, or -1 if the IRI does not start with a valid
+   * scheme.
+   */
+  private static int scanScheme(String iri) {
+    if (iri.isEmpty() || !isAlpha(iri.charAt(0))) {
+      return -1;
+    }
+
+    for (int index = 1; index < iri.length(); index++) {
+      var character = iri.charAt(index);
+      if (character == ':') {
+        return index;
+      }
+      if (!isAlpha(character) && !isDigit(character) && character != '+' && character != '-' && character != '.') {
+        return -1;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the index of the end of the authority starting at the given index, or -1 if the authority
+   * is invalid.
+   */
+  private static int scanAuthority(String iri, int start) {
+    var end = start;
+    while (end < iri.length() && "/?#".indexOf(iri.charAt(end)) < 0) {
+      end++;
+    }
+
+    var hostStart = start;
+    var userInfoEnd = iri.indexOf('@', start);
+    if (userInfoEnd >= 0 && userInfoEnd < end) {
+      if (scan(iri, start, USERINFO_CHAR) != userInfoEnd) {
+        return -1;
+      }
+      hostStart = userInfoEnd + 1;
+    }
+
+    int hostEnd;
+    if (hostStart < end && iri.charAt(hostStart) == '[') {
+      var ipLiteralEnd = iri.indexOf(']', hostStart);
+      if (ipLiteralEnd < 0 || ipLiteralEnd > end || !isIpLiteral(iri.substring(hostStart + 1, ipLiteralEnd))) {
+        return -1;
+      }
+      hostEnd = ipLiteralEnd + 1;
+    } else {
+      hostEnd = scan(iri, hostStart, REG_NAME_CHAR);
+      if (hostEnd < 0) {
+        return -1;
+      }
+    }
+
+    if (hostEnd == end) {
+      return end;
+    }
+    if (iri.charAt(hostEnd) != ':') {
+      return -1;
+    }
+    for (int index = hostEnd + 1; index < end; index++) {
+      if (!isDigit(iri.charAt(index))) {
+        return -1;
+      }
+    }
+
+    return end;
+  }
+
+  /**
+   * Returns the index of the first code point from the given index that is not allowed by the given
+   * predicate and is not part of a percent-encoded octet, or -1 if a percent sign is not followed by
+   * two hex digits.
+   */
+  private static int scan(String iri, int start, IntPredicate allowed) {
+    var length = iri.length();
+    var index = start;
+    while (index < length) {
+      var codePoint = iri.codePointAt(index);
+      if (codePoint == '%') {
+        if (index + 2 >= length || !isHexDigit(iri.charAt(index + 1)) || !isHexDigit(iri.charAt(index + 2))) {
+          return -1;
+        }
+        index += 3;
+      } else if (allowed.test(codePoint)) {
+        index += Character.charCount(codePoint);
+      } else {
+        return index;
+      }
+    }
+
+    return index;
+  }
+
+  private static boolean isIpLiteral(String address) {
+    if (!address.isEmpty() && (address.charAt(0) == 'v' || address.charAt(0) == 'V')) {
+      return isIpFuture(address);
+    }
+
+    return isIpv6Address(address);
+  }
+
+  private static boolean isIpFuture(String address) {
+    var dot = address.indexOf('.');
+    if (dot < 2 || dot == address.length() - 1) {
+      return false;
+    }
+    for (int index = 1; index < dot; index++) {
+      if (!isHexDigit(address.charAt(index))) {
+        return false;
+      }
+    }
+
+    return address.substring(dot + 1)
+        .chars()
+        .allMatch(IP_FUTURE_CHAR);
+  }
+
+  private static boolean isIpv6Address(String address) {
+    var doubleColon = address.indexOf("::");
+    if (doubleColon < 0) {
+      return countIpv6Groups(address, true) == 8;
+    }
+    if (address.indexOf("::", doubleColon + 1) >= 0) {
+      return false;
+    }
+
+    // the double colon stands for at least one group
+    var headGroups = countIpv6Groups(address.substring(0, doubleColon), false);
+    var tailGroups = countIpv6Groups(address.substring(doubleColon + 2), true);
+    return headGroups >= 0 && tailGroups >= 0 && headGroups + tailGroups <= 7;
+  }
+
+  /**
+   * Returns the number of 16-bit groups in the given colon separated groups, where a trailing IPv4
+   * address counts as two groups, or -1 if the groups are invalid.
+   */
+  private static int countIpv6Groups(String groups, boolean allowIpv4Address) {
+    if (groups.isEmpty()) {
+      return 0;
+    }
+
+    var parts = groups.split(":", -1);
+    var count = 0;
+    for (int i = 0; i < parts.length; i++) {
+      var part = parts[i];
+      if (allowIpv4Address && i == parts.length - 1 && part.indexOf('.') >= 0) {
+        if (!isIpv4Address(part)) {
+          return -1;
+        }
+        count += 2;
+      } else if (isH16(part)) {
+        count++;
+      } else {
+        return -1;
+      }
+    }
+
+    return count;
+  }
+
+  private static boolean isH16(String group) {
+    if (group.isEmpty() || group.length() > 4) {
+      return false;
+    }
+
+    return group.chars()
+        .allMatch(IriValidator::isHexDigit);
+  }
+
+  private static boolean isIpv4Address(String address) {
+    var octets = address.split("\\.", -1);
+    if (octets.length != 4) {
+      return false;
+    }
+
+    for (var octet : octets) {
+      if (!isDecOctet(octet)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isDecOctet(String octet) {
+    if (octet.isEmpty() || octet.length() > 3 || (octet.length() > 1 && octet.charAt(0) == '0')) {
+      return false;
+    }
+    if (!octet.chars()
+        .allMatch(IriValidator::isDigit)) {
+      return false;
+    }
+
+    return Integer.parseInt(octet) <= 255;
+  }
+
+  private static boolean isUnreservedOrSubDelim(int codePoint) {
+    return IriSafeMaker.isIunreserved(codePoint) || (codePoint < 0x80 && SUB_DELIMS.indexOf(codePoint) >= 0);
+  }
+
+  private static boolean isIprivate(int codePoint) {
+    return (codePoint >= 0xE000 && codePoint <= 0xF8FF) || (codePoint >= 0xF0000 && codePoint <= 0xFFFFD)
+        || (codePoint >= 0x100000 && codePoint <= 0x10FFFD);
+  }
+
+  private static boolean isAlpha(int character) {
+    return (character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z');
+  }
+
+  private static boolean isDigit(int character) {
+    return character >= '0' && character <= '9';
+  }
+
+  private static boolean isHexDigit(int character) {
+    return isDigit(character) || (character >= 'A' && character <= 'F') || (character >= 'a' && character <= 'f');
+  }
+}
@@ -1,5 +1,7 @@
 package io.carml.util;
 
+import static com.google.common.collect.Iterables.getOnlyElement;
+
 import com.google.common.collect.Sets;
 import java.io.IOException;
 import java.io.InputStream;
@@ -80,11 +82,15 @@ public final class Models {
   public static Stream<Statement> streamCartesianProductStatements(Set<Resource> subjects, Set<IRI> predicates,
       Set<? extends Value> objects, Set<Resource> graphs, UnaryOperator<Resource> graphModifier,
       ValueFactory valueFactory, Consumer<Statement>... statementConsumers) {
-    if (subjects.isEmpty() || predicates.isEmpty() || objects.isEmpty()) {
-      throw new ModelsException(
-          "Could not create cartesian product statements because at least one of subjects, predicates or objects was"
-              + " empty.");
+    checkCartesianProductInput(subjects, predicates, objects);
+
+    // fast path for the common case of a single statement
+    if (subjects.size() == 1 && predicates.size() == 1 && objects.size() == 1 && graphs.size() <= 1) {
+      Resource graph = graphs.isEmpty() ? null : getOnlyElement(graphs);
+      return Stream.of(createStatement(getOnlyElement(subjects), getOnlyElement(predicates), getOnlyElement(objects),
+          graph, graphModifier, valueFactory, statementConsumers));
     }
+
     if (graphs.isEmpty()) {
       return Sets.cartesianProduct(subjects, predicates, objects)
           .stream()
@@ -98,6 +104,56 @@ public final class Models {
     }
   }
 
+  /**
+   * Creates the statements for the cartesian product of the given subjects, predicates, objects and
+   * graphs, and pushes them to the given statement sink. Unlike
+   * {@link #streamCartesianProductStatements(Set, Set, Set, Set, UnaryOperator, ValueFactory, Consumer[])}
+   * no intermediate tuples or streams are created.
+   *
+   * @param subjects the subjects
+   * @param predicates the predicates
+   * @param objects the objects
+   * @param graphs the graphs, if empty the statements are created without graph
+   * @param graphModifier the modifier applied to each graph
+   * @param valueFactory the value factory to create the statements with
+   * @param statementSink the consumer receiving the created statements
+   */
+  public static void forEachCartesianProductStatement(Set<Resource> subjects, Set<IRI> predicates,
+      Set<? extends Value> objects, Set<Resource> graphs, UnaryOperator<Resource> graphModifier,
+      ValueFactory valueFactory, Consumer<Statement> statementSink) {
+    checkCartesianProductInput(subjects, predicates, objects);
+
+    if (graphs.isEmpty()) {
+      for (Resource subject : subjects) {
+        for (IRI predicate : predicates) {
+          for (Value object : objects) {
+            statementSink.accept(valueFactory.createStatement(subject, predicate, object));
+          }
+        }
+      }
+      return;
+    }
+
+    for (Resource subject : subjects) {
+      for (IRI predicate : predicates) {
+        for (Value object : objects) {
+          for (Resource graph : graphs) {
+            statementSink.accept(valueFactory.createStatement(subject, predicate, object, graphModifier.apply(graph)));
+          }
+        }
+      }
+    }
+  }
+
+  private static void checkCartesianProductInput(Set<Resource> subjects, Set<IRI> predicates,
+      Set<? extends Value> objects) {
+    if (subjects.isEmpty() || predicates.isEmpty() || objects.isEmpty()) {
+      throw new ModelsException(
+          "Could not create cartesian product statements because at least one of subjects, predicates or objects was"
+              + " empty.");
+    }
+  }
+
   public static Statement createStatement(@NonNull Value subjectValue, @NonNull Value predicateValue,
       @NonNull Value object, Value graphValue) {
     return createStatement(subjectValue, predicateValue, object, graphValue, context -> context, VALUE_FACTORY);
@@ -144,7 +200,7 @@ public final class Models {
       statementConsumer.accept(statement);
     }
 
-    return valueFactory.createStatement(subject, predicate, object, graph);
+    return statement;
   }
 
 }
@@ -1,22 +1,20 @@
 package io.carml.util;
 
-import java.net.URISyntaxException;
 import lombok.NonNull;
-import org.eclipse.rdf4j.common.net.ParsedIRI;
 
 public final class RdfValues {
 
   private RdfValues() {}
 
+  /**
+   * Checks whether the given string is a valid absolute IRI, as per
+   * <a href="https://www.rfc-editor.org/rfc/rfc3987#section-2.2">RFC-3987</a>.
+   *
+   * @param str the string to check
+   * @return true if the string is a valid absolute IRI
+   */
   public static boolean isValidIri(@NonNull String str) {
-    if (!str.contains(":")) {
-      return false;
-    }
-    try {
-      return new ParsedIRI(str).getScheme() != null;
-    } catch (URISyntaxException uriException) {
-      return false;
-    }
+    return IriValidator.isValidIri(str);
   }
 
 }
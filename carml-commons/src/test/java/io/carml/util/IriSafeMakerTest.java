@@ -1,6 +1,7 @@
 package io.carml.util;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 
 import java.text.Normalizer.Form;
@@ -53,6 +54,23 @@ class IriSafeMakerTest {
     test("1,2", "1%2c2", false);
   }
 
+  @Test
+  void safeMaker_givenSupplementaryCharacters_encodesAsExpected() {
+    test("\uD840\uDC00", "\uD840\uDC00", true);
+    test("\uDB40\uDC00", "%E0000", true);
+  }
+
+  @Test
+  void safeMaker_givenNotNormalizedString_normalizesAndEncodes() {
+    test("cafe\u0301 au lait", "caf\u00e9%20au%20lait", true);
+  }
+
+  @Test
+  void safeMaker_givenNotToBeEncodedString_returnsSameInstance() {
+    String input = "test-tester";
+    assertThat(safeMaker.apply(input), is(sameInstance(input)));
+  }
+
   @Test
   void nfkcSafeMaker_givenNormalizableToken_encodesAsExpected() {
     String input = "StandaardGeluidsruimteDagInDb_a_M²";
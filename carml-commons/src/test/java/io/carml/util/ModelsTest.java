@@ -414,6 +414,75 @@ class ModelsTest {
     assertThat(statementStream.collect(ModelCollector.toModel()), is(expected));
   }
 
+  @Test
+  void givenSingleValueSets_whenAllArgsStreamCartesianProductStatements_thenReturnSingleStatement() {
+    // Given
+    Set<Resource> subjects = Set.of(VALUE_FACTORY.createIRI("http://example.com/subject1"));
+    Set<IRI> predicates = Set.of(VALUE_FACTORY.createIRI("http://example.com/predicate1"));
+    Set<? extends Value> objects = Set.of(VALUE_FACTORY.createLiteral("object1"));
+    Set<Resource> graphs = Set.of(DEFAULT_IRI);
+
+    // When
+    Stream<Statement> statementStream = Models.streamCartesianProductStatements(subjects, predicates, objects, graphs,
+        DEFAULT_GRAPH_MODIFIER, VALUE_FACTORY, statementConsumer1);
+
+    // Then
+    Model expected = new ModelBuilder().subject(VALUE_FACTORY.createIRI("http://example.com/subject1"))
+        .add(VALUE_FACTORY.createIRI("http://example.com/predicate1"), VALUE_FACTORY.createLiteral("object1"))
+        .build();
+
+    assertThat(statementStream.collect(ModelCollector.toModel()), is(expected));
+    verify(statementConsumer1, times(1)).accept(any());
+  }
+
+  @Test
+  void givenValueSets_whenForEachCartesianProductStatement_thenPushStatementsToSink() {
+    // Given
+    Set<Resource> subjects = Set.of(VALUE_FACTORY.createIRI("http://example.com/subject1"),
+        VALUE_FACTORY.createIRI("http://example.com/subject2"));
+    Set<IRI> predicates = Set.of(VALUE_FACTORY.createIRI("http://example.com/predicate1"));
+    Set<? extends Value> objects = Set.of(VALUE_FACTORY.createLiteral("object1"));
+    Set<Resource> graphs = Set.of(VALUE_FACTORY.createIRI("http://example.com/graph1"), DEFAULT_IRI);
+    Model actual = new LinkedHashModel();
+
+    // When
+    Models.forEachCartesianProductStatement(subjects, predicates, objects, graphs, DEFAULT_GRAPH_MODIFIER,
+        VALUE_FACTORY, actual::add);
+
+    // Then
+    Model expected = new ModelBuilder().namedGraph(VALUE_FACTORY.createIRI("http://example.com/graph1"))
+        .subject(VALUE_FACTORY.createIRI("http://example.com/subject1"))
+        .add(VALUE_FACTORY.createIRI("http://example.com/predicate1"), VALUE_FACTORY.createLiteral("object1"))
+        .subject(VALUE_FACTORY.createIRI("http://example.com/subject2"))
+        .add(VALUE_FACTORY.createIRI("http://example.com/predicate1"), VALUE_FACTORY.createLiteral("object1"))
+        .defaultGraph()
+        .subject(VALUE_FACTORY.createIRI("http://example.com/subject1"))
+        .add(VALUE_FACTORY.createIRI("http://example.com/predicate1"), VALUE_FACTORY.createLiteral("object1"))
+        .subject(VALUE_FACTORY.createIRI("http://example.com/subject2"))
+        .add(VALUE_FACTORY.createIRI("http://example.com/predicate1"), VALUE_FACTORY.createLiteral("object1"))
+        .build();
+
+    assertThat(actual, is(expected));
+  }
+
+  @Test
+  void givenEmptyTripleValueSet_whenForEachCartesianProductStatement_thenThrowException() {
+    // Given
+    Set<Resource> subjects = Set.of(VALUE_FACTORY.createIRI("http://example.com/subject1"));
+    Set<IRI> predicates = Set.of();
+    Set<? extends Value> objects = Set.of(VALUE_FACTORY.createLiteral("object1"));
+    Set<Resource> graphs = Set.of();
+
+    // When
+    Throwable modelsException = assertThrows(ModelsException.class, () -> Models
+        .forEachCartesianProductStatement(subjects, predicates, objects, graphs, DEFAULT_GRAPH_MODIFIER, VALUE_FACTORY,
+            statementConsumer1));
+
+    // Then
+    assertThat(modelsException.getMessage(), is("Could not create cartesian product statements because at least "
+        + "one of subjects, predicates or objects was empty."));
+  }
+
   @Test
   void givenEmptyTripleValueSet_whenCreateStatement_thenThrowException() {
     // Given
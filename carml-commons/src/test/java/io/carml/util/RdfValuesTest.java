@@ -10,7 +10,11 @@ class RdfValuesTest {
 
   @ParameterizedTest
   @CsvSource({"http://foo.bar, true", "https://foo.bar, true", "urn:isbn:foo-bar, true", "http//foo.bar, false",
-      "http://foo.\\u200E.bar, false"})
+      "http://foo.\\u200E.bar, false", "file:///foo/bar, true", "'http://user:pw@foo.bar:8080/baz?q=1#frag', true",
+      "'http://[2001:db8::1]:8080/', true", "'http://[::ffff:192.0.2.1]/', true", "'http://[2001:db8::1::2]/', false",
+      "'http://[::1/', false", "http://foo.bar:8o/, false", "http://foo.bar/%41b, true", "http://foo.bar/%4g, false",
+      "http://foo.bar/a b, false", "1http://foo.bar, false", "'http://foo.bar/\u00e9?\ue000', true",
+      "'http://foo.bar/#\ue000', false"})
   void givenIriString_whenIsValidIriCalled_thenValidateCorrectly(String iriString, boolean expected) {
     // Given
     // When
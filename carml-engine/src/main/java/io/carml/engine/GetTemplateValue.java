@@ -1,10 +1,11 @@
 package io.carml.engine;
 
+import io.carml.engine.template.CompiledTemplate;
 import io.carml.engine.template.Template;
 import io.carml.engine.template.Template.Expression;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -17,18 +18,18 @@ public class GetTemplateValue implements Function<ExpressionEvaluation, Optional
 
   private final Template template;
 
-  private final Set<Expression> expressions;
-
   private final Function<String, String> transformValue;
 
   private final Function<Object, String> createNaturalRdfLexicalForm;
 
-  public GetTemplateValue(Template template, Set<Expression> expressions, UnaryOperator<String> transformValue,
+  private final CompiledTemplate compiledTemplate;
+
+  public GetTemplateValue(Template template, UnaryOperator<String> transformValue,
       Function<Object, String> createNaturalRdfLexicalForm) {
     this.template = template;
-    this.expressions = expressions;
     this.transformValue = transformValue;
     this.createNaturalRdfLexicalForm = createNaturalRdfLexicalForm;
+    this.compiledTemplate = template.compile();
   }
 
   @Override
@@ -36,23 +37,54 @@ public class GetTemplateValue implements Function<ExpressionEvaluation, Optional
     if (LOG.isTraceEnabled()) {
       LOG.trace("Processing template: {}", template.toTemplateString());
     }
+
+    var compiledExpressions = compiledTemplate.getExpressions();
+    var evaluationResults = new Object[compiledExpressions.size()];
+    var values = new String[compiledExpressions.size()];
+    var singleValued = true;
+    for (int i = 0; i < values.length; i++) {
+      var evaluationResult = expressionEvaluation.apply(compiledExpressions.get(i)
+          .getValue());
+      if (evaluationResult.isEmpty()) {
+        // if there is an expression that doesn't result in a value, the template yields no result
+        return Optional.empty();
+      }
+
+      evaluationResults[i] = evaluationResult.get();
+      if (evaluationResults[i] instanceof Collection<?>) {
+        singleValued = false;
+      } else if (singleValued) {
+        values[i] = prepareValueForTemplate(evaluationResults[i].toString());
+      }
+    }
+
+    if (singleValued) {
+      return Optional.of(List.of(compiledTemplate.create(values)));
+    }
+
+    // multi-valued expressions are combined by the template builder
     Template.Builder templateBuilder = template.newBuilder();
-    expressions.forEach(e -> bindTemplateExpression(e, expressionEvaluation, templateBuilder));
+    for (int i = 0; i < evaluationResults.length; i++) {
+      bindTemplateExpression(compiledExpressions.get(i), evaluationResults[i], templateBuilder);
+    }
     return templateBuilder.create();
   }
 
-  private void bindTemplateExpression(Expression expression, ExpressionEvaluation expressionEvaluation,
+  private void bindTemplateExpression(Expression expression, Object evaluationResult,
       Template.Builder templateBuilder) {
-    templateBuilder.bind(expression, expr -> expressionEvaluation.apply(expr.getValue())
+    templateBuilder.bind(expression, expr -> Optional.of(evaluationResult)
         .map(ExpressionEvaluation::extractValues)
         .map(this::prepareExtractedValuesForTemplate));
   }
 
+  private String prepareValueForTemplate(String extractedValue) {
+    return transformValue.apply(createNaturalRdfLexicalForm.apply(extractedValue));
+  }
+
   // See https://www.w3.org/TR/r2rml/#from-template
   private List<String> prepareExtractedValuesForTemplate(List<String> extractedValues) {
     return extractedValues.stream()
-        .map(createNaturalRdfLexicalForm)
-        .map(transformValue)
+        .map(this::prepareValueForTemplate)
         .collect(Collectors.toList());
   }
 
@@ -0,0 +1,17 @@
+package io.carml.engine;
+
+/**
+ * The sides of a join between the records of a child triples map and a parent triples map, as
+ * specified by a ref object map.
+ */
+public enum JoinSide {
+  /**
+   * The side of the triples map containing the ref object map.
+   */
+  CHILD,
+
+  /**
+   * The side of the parent triples map of the ref object map.
+   */
+  PARENT
+}
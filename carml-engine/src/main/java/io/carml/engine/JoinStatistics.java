@@ -0,0 +1,82 @@
+package io.carml.engine;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.carml.engine.join.ParentSideJoinKey;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.ToString;
+
+/**
+ * Statistics of both sides of a join, collected while mapping: the number of child and parent records,
+ * and an estimate of the number of distinct parent-side join keys.
+ *
+ * <p>This class is thread-safe.
+ */
+@ToString
+public class JoinStatistics {
+
+  private static final HashFunction JOIN_KEY_HASH = Hashing.murmur3_128();
+
+  private final LongAdder childRecordCount = new LongAdder();
+
+  private final LongAdder parentRecordCount = new LongAdder();
+
+  @ToString.Exclude
+  private final HyperLogLog parentJoinKeys = new HyperLogLog();
+
+  public void addChildRecord() {
+    childRecordCount.increment();
+  }
+
+  /**
+   * Adds a parent record with the given join keys.
+   *
+   * @param parentSideJoinKeys the join keys of the parent record
+   */
+  public void addParentRecord(Iterable<ParentSideJoinKey> parentSideJoinKeys) {
+    parentRecordCount.increment();
+    for (ParentSideJoinKey parentSideJoinKey : parentSideJoinKeys) {
+      parentJoinKeys.add(hash(parentSideJoinKey));
+    }
+  }
+
+  public long getChildRecordCount() {
+    return childRecordCount.sum();
+  }
+
+  public long getParentRecordCount() {
+    return parentRecordCount.sum();
+  }
+
+  @ToString.Include
+  public long estimateParentJoinKeyCount() {
+    return parentJoinKeys.estimate();
+  }
+
+  /**
+   * Selects the side of the join to build an index of, such that the smallest index is built. The
+   * child side is indexed per record, whereas the parent side is indexed per distinct join key.
+   *
+   * @return the {@link JoinSide} to index
+   */
+  public JoinSide selectBuildSide() {
+    return getChildRecordCount() < estimateParentJoinKeyCount() ? JoinSide.CHILD : JoinSide.PARENT;
+  }
+
+  public void clear() {
+    childRecordCount.reset();
+    parentRecordCount.reset();
+    parentJoinKeys.clear();
+  }
+
+  private static long hash(ParentSideJoinKey parentSideJoinKey) {
+    var parentReference = parentSideJoinKey.getParentReference();
+    // the length separates the reference from the value
+    return JOIN_KEY_HASH.newHasher()
+        .putUnencodedChars(parentReference)
+        .putInt(parentReference.length())
+        .putUnencodedChars(parentSideJoinKey.getParentValue())
+        .hash()
+        .asLong();
+  }
+}
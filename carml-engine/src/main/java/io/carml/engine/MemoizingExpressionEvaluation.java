@@ -0,0 +1,40 @@
+package io.carml.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link ExpressionEvaluation} that caches the result of every evaluated expression, so that an
+ * expression referenced by several term maps and join conditions of a triples map is evaluated only
+ * once per record. Instances are scoped to a single record and are not thread-safe.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MemoizingExpressionEvaluation implements ExpressionEvaluation {
+
+  private final ExpressionEvaluation expressionEvaluation;
+
+  private final Map<String, Optional<Object>> results = new HashMap<>();
+
+  public static ExpressionEvaluation of(@NonNull ExpressionEvaluation expressionEvaluation) {
+    if (expressionEvaluation instanceof MemoizingExpressionEvaluation) {
+      return expressionEvaluation;
+    }
+
+    return new MemoizingExpressionEvaluation(expressionEvaluation);
+  }
+
+  @Override
+  public Optional<Object> apply(String expression) {
+    var result = results.get(expression);
+    if (result == null) {
+      result = expressionEvaluation.apply(expression);
+      results.put(expression, result);
+    }
+
+    return result;
+  }
+}
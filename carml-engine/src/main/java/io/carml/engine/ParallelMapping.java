@@ -0,0 +1,129 @@
+package io.carml.engine;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configures parallel mapping of logical source records. Records are read from their source
+ * sequentially, and the mapping of the records to triples is distributed over the workers of a
+ * {@link Scheduler}.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@ToString
+public class ParallelMapping {
+
+  public enum Ordering {
+    /**
+     * Results are emitted as soon as a record is mapped, regardless of the order of the records in
+     * their source. Offers the highest throughput.
+     */
+    UNORDERED,
+
+    /**
+     * Results are emitted in the order of the records in their source. Results of records that are
+     * mapped ahead of their predecessors are buffered.
+     */
+    PRESERVE_SOURCE_ORDER
+  }
+
+  @NonNull
+  private final Scheduler scheduler;
+
+  private final int parallelism;
+
+  @NonNull
+  private final Ordering ordering;
+
+  /**
+   * Creates an unordered {@link ParallelMapping} on the {@link Schedulers#parallel()} scheduler
+   * with a parallelism of {@link Schedulers#DEFAULT_POOL_SIZE}.
+   *
+   * @return {@link ParallelMapping}
+   */
+  public static ParallelMapping unordered() {
+    return unordered(Schedulers.parallel(), Schedulers.DEFAULT_POOL_SIZE);
+  }
+
+  public static ParallelMapping unordered(@NonNull Scheduler scheduler, int parallelism) {
+    return of(scheduler, parallelism, Ordering.UNORDERED);
+  }
+
+  /**
+   * Creates an order preserving {@link ParallelMapping} on the {@link Schedulers#parallel()}
+   * scheduler with a parallelism of {@link Schedulers#DEFAULT_POOL_SIZE}.
+   *
+   * @return {@link ParallelMapping}
+   */
+  public static ParallelMapping preserveSourceOrder() {
+    return preserveSourceOrder(Schedulers.parallel(), Schedulers.DEFAULT_POOL_SIZE);
+  }
+
+  public static ParallelMapping preserveSourceOrder(@NonNull Scheduler scheduler, int parallelism) {
+    return of(scheduler, parallelism, Ordering.PRESERVE_SOURCE_ORDER);
+  }
+
+  public static ParallelMapping of(@NonNull Scheduler scheduler, int parallelism, @NonNull Ordering ordering) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException(String.format("Parallelism must be at least 1, but was %s", parallelism));
+    }
+
+    return new ParallelMapping(scheduler, parallelism, ordering);
+  }
+
+  <R, T> Flux<T> mapRecords(Flux<R> records, Function<R, Iterable<T>> recordMapper) {
+    // Reading a source is blocking I/O, so keep it, including the requests for more records, off the
+    // mapping scheduler.
+    var isolatedRecords = records.subscribeOn(Schedulers.boundedElastic(), true);
+
+    switch (ordering) {
+      case UNORDERED:
+        return isolatedRecords.parallel(parallelism)
+            .runOn(scheduler)
+            .map(recordMapper)
+            .sequential()
+            .flatMapIterable(results -> results);
+      case PRESERVE_SOURCE_ORDER:
+        return isolatedRecords
+            .flatMapSequential(record -> Mono.fromCallable(() -> recordMapper.apply(record))
+                .subscribeOn(scheduler), parallelism)
+            .flatMapIterable(results -> results);
+      default:
+        throw new IllegalStateException(String.format("Unsupported ordering %s", ordering));
+    }
+  }
+
+  /**
+   * Maps the given items on the workers of this {@link ParallelMapping}, partitioned by the given
+   * partition hash, so that items with the same hash are mapped by the same worker. Items are mapped in
+   * batches of up to the given size from the same partition, which lets the batch mapper share work
+   * between items with the same partition hash. Results are emitted as soon as a batch is mapped,
+   * regardless of the configured {@link Ordering}.
+   *
+   * @param items the items to map
+   * @param partitionHash the function computing the partition hash of an item
+   * @param batchSize the maximum number of items in a batch
+   * @param batchMapper the function mapping a batch of items to their results
+   * @return the results of all items
+   */
+  public <R, T> Flux<T> mapPartitionedBatches(Flux<R> items, ToIntFunction<R> partitionHash, int batchSize,
+      Function<List<R>, Iterable<T>> batchMapper) {
+    // Items may be read from disk, so keep reading them, including the requests for more items, off the
+    // mapping scheduler.
+    return items.subscribeOn(Schedulers.boundedElastic(), true)
+        .groupBy(item -> Math.floorMod(partitionHash.applyAsInt(item), parallelism))
+        .flatMap(partition -> partition.publishOn(scheduler)
+            .buffer(batchSize)
+            .flatMapIterable(batchMapper), parallelism);
+  }
+}
@@ -10,5 +10,47 @@ public interface RefObjectMapper<V> {
 
   RefObjectMap getRefObjectMap();
 
+  /**
+   * Returns the side of the join that is expected to be the cheapest to index, based on the join
+   * statistics collected during the previous mapping. The build side has to be selected before any
+   * record of the next mapping is read, so this is a warm-up heuristic: the first mapping always
+   * indexes the parent side, and a mapper that is reused on input of a different shape selects a build
+   * side based on the statistics of the previous input. Either way, the results are the same, only the
+   * cost of the join differs.
+   *
+   * @return the preferred {@link JoinSide} to index
+   */
+  JoinSide getPreferredBuildSide();
+
+  /**
+   * Sets the side of the join to index for the next mapping. The child side may only be selected if all
+   * child records are mapped before the first parent record is mapped. The build side is reset to
+   * {@link JoinSide#PARENT} by {@link #cleanup()}.
+   *
+   * @param buildSide the {@link JoinSide} to index
+   */
+  void setBuildSide(JoinSide buildSide);
+
+  /**
+   * Signals that all records of the given parent triples mapper are mapped, so that its parent-side join
+   * conditions are complete. Records mapped after this signal can be joined directly against them, instead
+   * of being stored until {@link #resolveJoins(TriplesMapper)}.
+   *
+   * @param parentTriplesMapper the parent triples mapper of which the mapping completed
+   */
+  void parentMappingCompleted(TriplesMapper<V> parentTriplesMapper);
+
   Flux<V> resolveJoins(TriplesMapper<V> parentTriplesMapper);
+
+  /**
+   * Resolves the stored joins like {@link #resolveJoins(TriplesMapper)}, partitioned by join key over
+   * the workers of the given {@link ParallelMapping}.
+   *
+   * @param parentTriplesMapper the parent triples mapper
+   * @param parallelMapping the {@link ParallelMapping} to resolve the joins with
+   * @return the joined results
+   */
+  Flux<V> resolveJoins(TriplesMapper<V> parentTriplesMapper, ParallelMapping parallelMapping);
+
+  void cleanup();
 }
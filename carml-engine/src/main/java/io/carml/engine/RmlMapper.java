@@ -13,6 +13,10 @@ import io.carml.model.NameableStream;
 import io.carml.model.TriplesMap;
 import io.carml.util.Mappings;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -43,6 +47,8 @@ public abstract class RmlMapper<T> {
 
   private Map<Object, LogicalSourceResolver<?>> sourceToLogicalSourceResolver;
 
+  private ParallelMapping parallelMapping;
+
   public <R> Flux<T> mapRecord(R providedRecord, Class<R> providedRecordClass) {
     return mapRecord(providedRecord, providedRecordClass, Set.of());
   }
@@ -83,10 +89,25 @@ public abstract class RmlMapper<T> {
         .refObjectMapperToParentTriplesMapper(refObjectMapperToParentTriplesMapper)
         .build();
 
-    return Flux.fromIterable(getSources(mappingContext, namedInputStreams, providedRecord, providedRecordClass))
-        .flatMap(resolvedSourceEntry -> mapSource(mappingContext, resolvedSourceEntry))
+    var resolvedSources = getSources(mappingContext, namedInputStreams, providedRecord, providedRecordClass);
+
+    // Sources are mapped in groups, so that the source of the build side of a join can complete before the
+    // source of its probe side is mapped. Joins against a completed build side are resolved while mapping, the
+    // remainder is resolved after all sources are mapped.
+    var sourceGroups = groupBuildSourcesFirst(mappingContext, resolvedSources);
+    selectBuildSides(mappingContext, sourceGroups);
+
+    return Flux.fromIterable(sourceGroups)
+        .concatMap(sourceGroup -> Flux.fromIterable(sourceGroup)
+            .flatMap(resolvedSource -> mapSource(mappingContext, resolvedSource)
+                .doOnComplete(() -> completeParentMappings(mappingContext, resolvedSource))))
         .concatWith(resolveJoins(mappingContext))
-        .doOnTerminate(() -> triplesMappers.forEach(TriplesMapper::cleanup));
+        // also clean up when the subscriber cancels, so that a cancelled mapping leaves no join state behind
+        .doFinally(signalType -> {
+          triplesMappers.forEach(TriplesMapper::cleanup);
+          refObjectMapperToParentTriplesMapper.keySet()
+              .forEach(RefObjectMapper::cleanup);
+        });
   }
 
   private <V> Set<ResolvedSource<?>> getSources(MappingContext<T> mappingContext,
@@ -136,24 +157,137 @@ public abstract class RmlMapper<T> {
     return ResolvedSource.of(source, resolved, Object.class);
   }
 
+  /**
+   * Groups the given sources, such that the source of the preferred build side of every join is in an
+   * earlier group than the source of its probe side. By default, the parent side is the build side.
+   * Sources with circular references are grouped together.
+   */
+  private List<Set<ResolvedSource<?>>> groupBuildSourcesFirst(MappingContext<T> mappingContext,
+      Set<ResolvedSource<?>> resolvedSources) {
+    Map<Object, Set<Object>> buildSourcesPerSource = new HashMap<>();
+    mappingContext.getRefObjectMapperToParentTriplesMapper()
+        .forEach((refObjectMapper, parentTriplesMapper) -> {
+          var childSource = getSource(refObjectMapper.getTriplesMap());
+          var parentSource = getSource(parentTriplesMapper.getTriplesMap());
+          if (childSource == null || parentSource == null || childSource.equals(parentSource)) {
+            return;
+          }
+
+          if (refObjectMapper.getPreferredBuildSide() == JoinSide.CHILD) {
+            buildSourcesPerSource.computeIfAbsent(parentSource, key -> new HashSet<>())
+                .add(childSource);
+          } else {
+            buildSourcesPerSource.computeIfAbsent(childSource, key -> new HashSet<>())
+                .add(parentSource);
+          }
+        });
+
+    List<Set<ResolvedSource<?>>> sourceGroups = new ArrayList<>();
+    Set<ResolvedSource<?>> ungroupedSources = new HashSet<>(resolvedSources);
+
+    while (!ungroupedSources.isEmpty()) {
+      var ungroupedRmlSources = ungroupedSources.stream()
+          .map(ResolvedSource::getRmlSource)
+          .collect(toSet());
+
+      Set<ResolvedSource<?>> sourceGroup = ungroupedSources.stream()
+          .filter(resolvedSource -> buildSourcesPerSource.getOrDefault(resolvedSource.getRmlSource(), Set.of())
+              .stream()
+              .noneMatch(ungroupedRmlSources::contains))
+          .collect(toSet());
+
+      if (sourceGroup.isEmpty()) {
+        sourceGroup = Set.copyOf(ungroupedSources);
+      }
+
+      sourceGroups.add(sourceGroup);
+      ungroupedSources.removeAll(sourceGroup);
+    }
+
+    return sourceGroups;
+  }
+
+  /**
+   * Selects the child side as the build side of the joins that prefer it, if all child records are mapped
+   * before the first parent record in the given source groups. Other joins keep the parent side as their
+   * build side.
+   */
+  private void selectBuildSides(MappingContext<T> mappingContext, List<Set<ResolvedSource<?>>> sourceGroups) {
+    Map<Object, Integer> groupIndexPerSource = new HashMap<>();
+    for (int groupIndex = 0; groupIndex < sourceGroups.size(); groupIndex++) {
+      for (ResolvedSource<?> resolvedSource : sourceGroups.get(groupIndex)) {
+        groupIndexPerSource.put(resolvedSource.getRmlSource(), groupIndex);
+      }
+    }
+
+    mappingContext.getRefObjectMapperToParentTriplesMapper()
+        .forEach((refObjectMapper, parentTriplesMapper) -> {
+          var childGroupIndex = groupIndexPerSource.get(getSource(refObjectMapper.getTriplesMap()));
+          var parentGroupIndex = groupIndexPerSource.get(getSource(parentTriplesMapper.getTriplesMap()));
+          var childSideFirst = childGroupIndex != null && parentGroupIndex != null
+              && childGroupIndex < parentGroupIndex;
+
+          refObjectMapper.setBuildSide(refObjectMapper.getPreferredBuildSide() == JoinSide.CHILD && childSideFirst
+              ? JoinSide.CHILD
+              : JoinSide.PARENT);
+        });
+  }
+
+  private static Object getSource(TriplesMap triplesMap) {
+    var logicalSource = triplesMap.getLogicalSource();
+    return logicalSource == null ? null : logicalSource.getSource();
+  }
+
+  private void completeParentMappings(MappingContext<T> mappingContext, ResolvedSource<?> resolvedSource) {
+    mappingContext.getRefObjectMapperToParentTriplesMapper()
+        .forEach((refObjectMapper, parentTriplesMapper) -> {
+          if (resolvedSource.getRmlSource()
+              .equals(getSource(parentTriplesMapper.getTriplesMap()))) {
+            refObjectMapper.parentMappingCompleted(parentTriplesMapper);
+          }
+        });
+  }
+
   private Flux<T> mapSource(MappingContext<T> mappingContext, ResolvedSource<?> resolvedSource) {
-    return Flux.just(sourceToLogicalSourceResolver.get(resolvedSource.getRmlSource()))
-        .flatMap(resolver -> resolver
-            .getLogicalSourceRecords(mappingContext.logicalSourcesPerSource.get(resolvedSource.getRmlSource()))
-            .apply(resolvedSource))
-        .flatMap(logicalSourceRecord -> mapTriples(mappingContext, logicalSourceRecord));
+    Flux<LogicalSourceRecord<?>> logicalSourceRecords =
+        Flux.just(sourceToLogicalSourceResolver.get(resolvedSource.getRmlSource()))
+            .flatMap(resolver -> resolver
+                .getLogicalSourceRecords(mappingContext.logicalSourcesPerSource.get(resolvedSource.getRmlSource()))
+                .apply(resolvedSource));
+
+    if (parallelMapping == null) {
+      return logicalSourceRecords
+          .flatMapIterable(logicalSourceRecord -> mapTriples(mappingContext, logicalSourceRecord));
+    }
+
+    return parallelMapping.mapRecords(logicalSourceRecords,
+        logicalSourceRecord -> mapTriples(mappingContext, logicalSourceRecord));
   }
 
-  private Flux<T> mapTriples(MappingContext<T> mappingContext, LogicalSourceRecord<?> logicalSourceRecord) {
-    return Flux.fromIterable(mappingContext.getTriplesMappersForLogicalSource(logicalSourceRecord.getLogicalSource()))
-        .flatMap(triplesMapper -> triplesMapper.map(logicalSourceRecord));
+  private List<T> mapTriples(MappingContext<T> mappingContext, LogicalSourceRecord<?> logicalSourceRecord) {
+    // triples mappers push their results into a buffer per record, instead of assembling a Flux per record
+    // and per triples mapper.
+    List<T> results = new ArrayList<>();
+    for (TriplesMapper<T> triplesMapper : mappingContext
+        .getTriplesMappersForLogicalSource(logicalSourceRecord.getLogicalSource())) {
+      triplesMapper.map(logicalSourceRecord, results::add);
+    }
+
+    return results;
   }
 
   private Flux<T> resolveJoins(MappingContext<T> mappingContext) {
     return Flux.fromIterable(mappingContext.getRefObjectMapperToParentTriplesMapper()
         .entrySet())
-        .flatMap(romMapperPtMapper -> romMapperPtMapper.getKey()
-            .resolveJoins(romMapperPtMapper.getValue()));
+        .flatMap(romMapperPtMapper -> resolveJoins(romMapperPtMapper.getKey(), romMapperPtMapper.getValue()));
+  }
+
+  private Flux<T> resolveJoins(RefObjectMapper<T> refObjectMapper, TriplesMapper<T> parentTriplesMapper) {
+    if (parallelMapping == null) {
+      return refObjectMapper.resolveJoins(parentTriplesMapper);
+    }
+
+    return refObjectMapper.resolveJoins(parentTriplesMapper, parallelMapping);
   }
 
   @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -5,4 +5,27 @@ import java.util.function.Function;
 
 public interface TermGenerator<T> extends Function<ExpressionEvaluation, List<T>> {
 
+  /**
+   * Indicates whether this generator generates the same terms for every expression evaluation. The
+   * terms of constant generators can be generated once, when building a mapper.
+   *
+   * @return true if the generated terms do not depend on the expression evaluation
+   */
+  default boolean isConstant() {
+    return false;
+  }
+
+  static <T> TermGenerator<T> constant(List<T> terms) {
+    return new TermGenerator<>() {
+      @Override
+      public List<T> apply(ExpressionEvaluation expressionEvaluation) {
+        return terms;
+      }
+
+      @Override
+      public boolean isConstant() {
+        return true;
+      }
+    };
+  }
 }
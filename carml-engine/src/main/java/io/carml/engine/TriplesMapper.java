@@ -4,13 +4,34 @@ import io.carml.engine.join.ParentSideJoinConditionStore;
 import io.carml.logicalsourceresolver.LogicalSourceRecord;
 import io.carml.model.TriplesMap;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import org.eclipse.rdf4j.model.Resource;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 
 public interface TriplesMapper<V> {
 
   Flux<V> map(LogicalSourceRecord<?> logicalSourceRecord);
 
+  /**
+   * Maps the given logical source record, pushing the results to the given sink as they are created.
+   * Implementations should override this so that it does not assemble a {@link Flux} per record, unlike
+   * {@link #map(LogicalSourceRecord)}. The default implementation subscribes to the {@link Flux} of
+   * {@link #map(LogicalSourceRecord)}, without blocking, and so only pushes all results before
+   * returning if that {@link Flux} emits synchronously.
+   *
+   * @param logicalSourceRecord the logical source record to map
+   * @param sink the consumer receiving the results
+   */
+  default void map(LogicalSourceRecord<?> logicalSourceRecord, Consumer<V> sink) {
+    var error = new AtomicReference<Throwable>();
+    map(logicalSourceRecord).subscribe(sink, error::set);
+    if (error.get() != null) {
+      throw Exceptions.propagate(error.get());
+    }
+  }
+
   Flux<V> mapEvaluation(ExpressionEvaluation expressionEvaluation);
 
   TriplesMap getTriplesMap();
@@ -0,0 +1,74 @@
+package io.carml.engine.rdf;
+
+import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.TermGenerator;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+/**
+ * The term generators of a set of term maps of the same kind, compiled when building a mapper. If all
+ * term generators are constant, their terms are generated once, and every record gets the same set of
+ * terms. Otherwise, terms are generated per record without intermediate streams.
+ *
+ * @param <T> the type of the generated terms
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class CompiledTermGenerators<T> {
+
+  private static final ExpressionEvaluation NO_EXPRESSION_EVALUATION = expression -> Optional.empty();
+
+  private final List<TermGenerator<? extends T>> termGenerators;
+
+  private final Set<T> constantTerms;
+
+  static <T> CompiledTermGenerators<T> of(Collection<? extends TermGenerator<? extends T>> termGenerators) {
+    List<TermGenerator<? extends T>> generators = List.copyOf(termGenerators);
+
+    if (generators.stream()
+        .allMatch(TermGenerator::isConstant)) {
+      Set<T> constantTerms = new HashSet<>();
+      generators.forEach(generator -> constantTerms.addAll(generator.apply(NO_EXPRESSION_EVALUATION)));
+      return new CompiledTermGenerators<>(generators, Set.copyOf(constantTerms));
+    }
+
+    return new CompiledTermGenerators<>(generators, null);
+  }
+
+  boolean isConstant() {
+    return constantTerms != null;
+  }
+
+  Set<T> generate(ExpressionEvaluation expressionEvaluation) {
+    if (constantTerms != null) {
+      return constantTerms;
+    }
+
+    if (termGenerators.size() == 1) {
+      return toSet(termGenerators.get(0)
+          .apply(expressionEvaluation));
+    }
+
+    Set<T> terms = new HashSet<>();
+    for (TermGenerator<? extends T> termGenerator : termGenerators) {
+      terms.addAll(termGenerator.apply(expressionEvaluation));
+    }
+
+    return terms;
+  }
+
+  static <T> Set<T> toSet(List<? extends T> terms) {
+    switch (terms.size()) {
+      case 0:
+        return Set.of();
+      case 1:
+        return Set.of(terms.get(0));
+      default:
+        return Set.copyOf(terms);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package io.carml.engine.rdf;
+
+import io.carml.engine.template.Template;
+import io.carml.util.IriSafeMaker;
+import io.carml.util.RdfValues;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Determines, when building a term generator, whether an IRI template generates valid absolute IRIs
+ * for all possible expression values, so that the generated IRIs need not be validated.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class IriTemplates {
+
+  /*
+   * A character that is not a hex digit and is allowed in every IRI path, query and fragment, to stand
+   * in for expression values when validating a template. As it is not a hex digit, a percent sign in
+   * the text before an expression is never completed by the stand-in.
+   */
+  private static final String EXPRESSION_STAND_IN = "-";
+
+  /**
+   * Checks whether the given template, with expression values made IRI-safe by {@link IriSafeMaker},
+   * generates valid absolute IRIs for all possible expression values. This is the case if all
+   * expressions are in the path, query or fragment of the IRI, after a constant scheme and authority,
+   * and the template is a valid IRI when its expressions are replaced by an IRI-safe character. An
+   * IRI-safe value consists of characters that are allowed in every path, query and fragment, and of
+   * complete percent-encoded octets. Such a value never ends the path or the query, and so is valid
+   * in the position of the expression.
+   *
+   * @param template the IRI template
+   * @return true if the template generates valid absolute IRIs for all IRI-safe expression values
+   */
+  static boolean isValidByConstruction(Template template) {
+    var textSegments = template.getTextSegments();
+    if (textSegments.size() > 1 && !endsInPathQueryOrFragment(textSegments.get(0))) {
+      return false;
+    }
+
+    return RdfValues.isValidIri(String.join(EXPRESSION_STAND_IN, textSegments));
+  }
+
+  private static boolean endsInPathQueryOrFragment(String prefix) {
+    var colon = prefix.indexOf(':');
+    if (colon < 1) {
+      return false;
+    }
+
+    var hierPart = prefix.substring(colon + 1);
+    if (hierPart.startsWith("//")) {
+      // the authority ends at the first '/', '?' or '#'
+      for (int index = 2; index < hierPart.length(); index++) {
+        if ("/?#".indexOf(hierPart.charAt(index)) >= 0) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    // an empty value after a lone slash could start an authority with the text that follows
+    return !hierPart.isEmpty() && !hierPart.equals("/");
+  }
+}
@@ -0,0 +1,90 @@
+package io.carml.engine.rdf;
+
+import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.join.ChildSideJoinCondition;
+import io.carml.engine.join.ParentSideJoinKey;
+import io.carml.model.Join;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Creates the {@link ParentSideJoinKey parent-side join keys} under which the parent subjects of a join
+ * are stored. A join on a single join condition is keyed on each parent value. A join on multiple join
+ * conditions is keyed on a {@link ParentSideJoinKey#ofComposite(List, List) composite key} for each
+ * combination of parent values, ordered by parent reference. A child record is therefore joined with a
+ * single exact lookup for every combination of its child values, instead of intersecting the parent
+ * subjects of every join condition.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class JoinKeys {
+
+  static List<ParentSideJoinKey> ofParentRecord(Set<Join> joinConditions,
+      ExpressionEvaluation parentExpressionEvaluation) {
+    var joins = joinConditions.stream()
+        .sorted(Comparator.comparing(Join::getParent))
+        .collect(Collectors.toList());
+
+    List<String> parentReferences = new ArrayList<>(joins.size());
+    List<List<String>> parentValues = new ArrayList<>(joins.size());
+    for (Join join : joins) {
+      var parentReference = join.getParent();
+      parentReferences.add(parentReference);
+      parentValues.add(parentExpressionEvaluation.apply(parentReference)
+          .map(ExpressionEvaluation::extractValues)
+          .orElse(List.of()));
+    }
+
+    return of(parentReferences, parentValues);
+  }
+
+  static List<ParentSideJoinKey> ofChildSideJoinConditions(Set<ChildSideJoinCondition> childSideJoinConditions) {
+    var conditions = childSideJoinConditions.stream()
+        .sorted(Comparator.comparing(ChildSideJoinCondition::getParentReference))
+        .collect(Collectors.toList());
+
+    List<String> parentReferences = new ArrayList<>(conditions.size());
+    List<List<String>> childValues = new ArrayList<>(conditions.size());
+    for (ChildSideJoinCondition condition : conditions) {
+      parentReferences.add(condition.getParentReference());
+      childValues.add(condition.getChildValues());
+    }
+
+    return of(parentReferences, childValues);
+  }
+
+  private static List<ParentSideJoinKey> of(List<String> parentReferences, List<List<String>> values) {
+    if (parentReferences.isEmpty()) {
+      return List.of();
+    }
+
+    if (parentReferences.size() == 1) {
+      var parentReference = parentReferences.get(0);
+      return values.get(0)
+          .stream()
+          .map(value -> ParentSideJoinKey.of(parentReference, value))
+          .collect(Collectors.toList());
+    }
+
+    List<List<String>> combinations = List.of(List.of());
+    for (List<String> componentValues : values) {
+      List<List<String>> extendedCombinations = new ArrayList<>(combinations.size() * componentValues.size());
+      for (List<String> combination : combinations) {
+        for (String value : componentValues) {
+          List<String> extendedCombination = new ArrayList<>(combination);
+          extendedCombination.add(value);
+          extendedCombinations.add(extendedCombination);
+        }
+      }
+      combinations = extendedCombinations;
+    }
+
+    return combinations.stream()
+        .map(combination -> ParentSideJoinKey.ofComposite(parentReferences, combination))
+        .collect(Collectors.toList());
+  }
+}
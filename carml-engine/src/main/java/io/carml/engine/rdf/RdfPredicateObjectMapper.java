@@ -13,9 +13,9 @@ import io.carml.model.PredicateObjectMap;
 import io.carml.model.RefObjectMap;
 import io.carml.model.TriplesMap;
 import io.carml.util.Models;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
@@ -28,17 +28,16 @@ import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
-import reactor.core.publisher.Flux;
 
 @Slf4j
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class RdfPredicateObjectMapper {
 
-  private final Set<TermGenerator<Resource>> graphGenerators;
+  private final CompiledTermGenerators<Resource> graphGenerators;
 
-  private final Set<TermGenerator<IRI>> predicateGenerators;
+  private final CompiledTermGenerators<IRI> predicateGenerators;
 
-  private final Set<TermGenerator<? extends Value>> objectGenerators;
+  private final CompiledTermGenerators<Value> objectGenerators;
 
   @Getter(AccessLevel.PACKAGE)
   private final Set<RdfRefObjectMapper> rdfRefObjectMappers;
@@ -64,7 +63,8 @@ public class RdfPredicateObjectMapper {
             .contains(rom.getRefObjectMap()))
         .collect(Collectors.toUnmodifiableSet());
 
-    return new RdfPredicateObjectMapper(graphGenerators, predicateGenerators, objectGenerators,
+    return new RdfPredicateObjectMapper(CompiledTermGenerators.of(graphGenerators),
+        CompiledTermGenerators.of(predicateGenerators), CompiledTermGenerators.of(objectGenerators),
         filteredRefObjectMappers, rdfMapperConfig.getValueFactorySupplier()
             .get());
   }
@@ -91,7 +91,7 @@ public class RdfPredicateObjectMapper {
     return Stream.concat(
         // object maps -> object generators
         createObjectMapGenerators(objectMaps, triplesMap, termGeneratorFactory),
-        // ref object maps without joins -> object generators.
+        // ref object maps without joins, or with inlinable self-joins -> object generators.
         createJoinlessRefObjectMapGenerators(objectMaps, triplesMap, termGeneratorFactory))
         .collect(Collectors.toUnmodifiableSet());
   }
@@ -151,7 +151,7 @@ public class RdfPredicateObjectMapper {
         .peek(objectMap -> LOG.debug("Creating mapper for RefObjectMap {}", objectMap.getResourceName()))
         .map(RefObjectMap.class::cast)
         .filter(refObjMap -> refObjMap.getJoinConditions()
-            .isEmpty())
+            .isEmpty() || SelfJoins.isInlinable(refObjMap, triplesMap))
         // ref object maps without joins MUST have an identical logical source.
         .map(refObjMap -> checkLogicalSource(refObjMap, logicalSource, triplesMap))
         .flatMap(refObjMap -> createRefObjectJoinlessMapper(refObjMap, triplesMap, termGeneratorFactory));
@@ -170,50 +170,49 @@ public class RdfPredicateObjectMapper {
     }
   }
 
-  public Flux<Statement> map(ExpressionEvaluation expressionEvaluation,
-      Map<Set<Resource>, Set<Resource>> subjectsAndSubjectGraphs) {
-    Set<IRI> predicates = predicateGenerators.stream()
-        .map(g -> g.apply(expressionEvaluation))
-        .flatMap(List::stream)
-        .collect(Collectors.toUnmodifiableSet());
+  /**
+   * Maps the predicate object map for the given expression evaluation, pushing the resulting statements
+   * to the given statement sink.
+   *
+   * @param expressionEvaluation the expression evaluation of the record to map
+   * @param subjectsAndSubjectGraphs the subjects of the record, with the graphs of their subject map
+   * @param statementSink the consumer receiving the mapped statements
+   */
+  public void map(ExpressionEvaluation expressionEvaluation, Map<Set<Resource>, Set<Resource>> subjectsAndSubjectGraphs,
+      Consumer<Statement> statementSink) {
+    Set<IRI> predicates = predicateGenerators.generate(expressionEvaluation);
 
     if (predicates.isEmpty()) {
-      return Flux.empty();
+      return;
     }
 
-    Set<Value> objects = objectGenerators.stream()
-        .map(g -> g.apply(expressionEvaluation))
-        .flatMap(List::stream)
-        .collect(Collectors.toUnmodifiableSet());
+    Set<Value> objects = objectGenerators.generate(expressionEvaluation);
 
-    Set<Resource> pomGraphs = graphGenerators.stream()
-        .flatMap(graphGenerator -> graphGenerator.apply(expressionEvaluation)
-            .stream())
-        .collect(Collectors.toUnmodifiableSet());
+    Set<Resource> pomGraphs = graphGenerators.generate(expressionEvaluation);
 
     Map<Set<Resource>, Set<Resource>> subjectsAndAllGraphs =
         addPomGraphsToSubjectsAndSubjectGraphs(subjectsAndSubjectGraphs, pomGraphs);
 
-    // process RefObjectMaps for resolving later
-    rdfRefObjectMappers
-        .forEach(rdfRefObjectMapper -> rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates, expressionEvaluation));
+    // process RefObjectMaps, which are resolved directly if their parent is mapped already, or later otherwise
+    rdfRefObjectMappers.forEach(rdfRefObjectMapper -> rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates,
+        expressionEvaluation, statementSink));
 
     if (objects.isEmpty()) {
-      return Flux.empty();
+      return;
     }
 
-    Set<Flux<Statement>> statementsPerGraphSet = subjectsAndAllGraphs.entrySet()
-        .stream()
-        .map(subjectsAndAllGraphsEntry -> Flux.fromStream(Models.streamCartesianProductStatements(
-            subjectsAndAllGraphsEntry.getKey(), predicates, objects, subjectsAndAllGraphsEntry.getValue(),
-            RdfTriplesMapper.defaultGraphModifier, valueFactory, RdfTriplesMapper.logAddStatements)))
-        .collect(Collectors.toUnmodifiableSet());
-
-    return Flux.merge(statementsPerGraphSet);
+    for (Map.Entry<Set<Resource>, Set<Resource>> subjectsAndAllGraphsEntry : subjectsAndAllGraphs.entrySet()) {
+      Models.forEachCartesianProductStatement(subjectsAndAllGraphsEntry.getKey(), predicates, objects,
+          subjectsAndAllGraphsEntry.getValue(), RdfTriplesMapper.defaultGraphModifier, valueFactory, statementSink);
+    }
   }
 
   private Map<Set<Resource>, Set<Resource>> addPomGraphsToSubjectsAndSubjectGraphs(
       Map<Set<Resource>, Set<Resource>> subjectsAndSubjectGraphs, Set<Resource> pomGraphs) {
+    if (pomGraphs.isEmpty()) {
+      return subjectsAndSubjectGraphs;
+    }
+
     return subjectsAndSubjectGraphs.entrySet()
         .stream()
         .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
@@ -1,6 +1,9 @@
 package io.carml.engine.rdf;
 
 import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.JoinSide;
+import io.carml.engine.JoinStatistics;
+import io.carml.engine.ParallelMapping;
 import io.carml.engine.RefObjectMapper;
 import io.carml.engine.TriplesMapper;
 import io.carml.engine.join.ChildSideJoin;
@@ -13,10 +16,14 @@ import io.carml.model.RefObjectMap;
 import io.carml.model.TriplesMap;
 import io.carml.util.Models;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +36,11 @@ import reactor.core.publisher.Flux;
 @Slf4j
 public class RdfRefObjectMapper implements RefObjectMapper<Statement> {
 
+  private static final int MAX_INTERNED_SETS = 1024;
+
+  // child-side joins are resolved in batches, in which joins with equal join conditions share a lookup
+  private static final int RESOLVE_BATCH_SIZE = 256;
+
   @NonNull
   private final RefObjectMap refObjectMap;
 
@@ -40,6 +52,30 @@ public class RdfRefObjectMapper implements RefObjectMapper<Statement> {
   @NonNull
   private final ValueFactory valueFactory;
 
+  private final JoinStatistics joinStatistics = new JoinStatistics();
+
+  // the predicates and graphs of child-side joins are mostly equal for all records, so they share instances
+  private final SetInterner<IRI> predicateSets = new SetInterner<>(MAX_INTERNED_SETS);
+
+  private final SetInterner<Resource> graphSets = new SetInterner<>(MAX_INTERNED_SETS);
+
+  // child-side joins by the parent-side join key they match, when the child side is the build side. Only used
+  // if the child-side join store keeps its joins on the heap as well.
+  private final Map<ParentSideJoinKey, Set<IndexedChildSideJoin>> childSideJoinIndex = new ConcurrentHashMap<>();
+
+  // a single indexed instance per distinct child-side join, so that equal joins of different records share the
+  // parent subjects they were joined with
+  private final Map<ChildSideJoin<Resource, IRI>, IndexedChildSideJoin> indexedChildSideJoins =
+      new ConcurrentHashMap<>();
+
+  // selected from the join statistics of the previous mapping, as a warm-up heuristic
+  private volatile JoinSide preferredBuildSide = JoinSide.PARENT;
+
+  private volatile JoinSide buildSide = JoinSide.PARENT;
+
+  // set once all records of the parent triples map are mapped, after which child records are joined directly
+  private volatile ParentSideJoinConditionStore<Resource> completedParentJoinConditions;
+
   public static RdfRefObjectMapper of(@NonNull RefObjectMap refObjectMap, @NonNull TriplesMap triplesMap,
       @NonNull RdfMapperConfig rdfMapperConfig,
       @NonNull ChildSideJoinStoreProvider<Resource, IRI> childSideJoinStoreProvider) {
@@ -71,14 +107,94 @@ public class RdfRefObjectMapper implements RefObjectMapper<Statement> {
     return refObjectMap;
   }
 
+  public JoinStatistics getJoinStatistics() {
+    return joinStatistics;
+  }
+
+  @Override
+  public JoinSide getPreferredBuildSide() {
+    return preferredBuildSide;
+  }
+
+  @Override
+  public void setBuildSide(@NonNull JoinSide buildSide) {
+    this.buildSide = buildSide;
+  }
+
+  public JoinSide getBuildSide() {
+    return buildSide;
+  }
+
+  /**
+   * Maps the ref object map for the given expression evaluation. If the mapping of the parent triples
+   * map has completed, the join is resolved directly and the resulting statements are pushed to the
+   * given statement sink. Otherwise, the child-side joins are stored to be resolved by
+   * {@link #resolveJoins(TriplesMapper)}.
+   *
+   * @param subjectsAndAllGraphs the subjects of the record, with all graphs they should be mapped to
+   * @param predicates the predicates of the predicate object map
+   * @param expressionEvaluation the expression evaluation of the record to map
+   * @param statementSink the consumer receiving directly joined statements
+   */
   public void map(Map<Set<Resource>, Set<Resource>> subjectsAndAllGraphs, Set<IRI> predicates,
-      ExpressionEvaluation expressionEvaluation) {
-    prepareChildSideJoins(subjectsAndAllGraphs, predicates, expressionEvaluation);
+      ExpressionEvaluation expressionEvaluation, Consumer<Statement> statementSink) {
+    joinStatistics.addChildRecord();
+
+    if (buildSide == JoinSide.CHILD) {
+      indexChildSideJoins(subjectsAndAllGraphs, predicates, expressionEvaluation);
+      return;
+    }
+
+    var parentJoinConditions = completedParentJoinConditions;
+    if (parentJoinConditions == null) {
+      prepareChildSideJoins(subjectsAndAllGraphs, predicates, expressionEvaluation);
+      return;
+    }
+
+    Set<Resource> objects = checkJoinAndGetObjects(createChildSideJoinConditions(expressionEvaluation),
+        parentJoinConditions);
+
+    if (objects.isEmpty()) {
+      return;
+    }
+
+    for (Map.Entry<Set<Resource>, Set<Resource>> subjectsAndAllGraphsEntry : subjectsAndAllGraphs.entrySet()) {
+      Models.forEachCartesianProductStatement(subjectsAndAllGraphsEntry.getKey(), predicates, objects,
+          subjectsAndAllGraphsEntry.getValue(), RdfTriplesMapper.defaultGraphModifier, valueFactory, statementSink);
+    }
   }
 
   private void prepareChildSideJoins(Map<Set<Resource>, Set<Resource>> subjectsAndAllGraphs, Set<IRI> predicates,
       ExpressionEvaluation expressionEvaluation) {
-    Set<ChildSideJoinCondition> childSideJoinConditions = refObjectMap.getJoinConditions()
+    HashSet<ChildSideJoinCondition> childSideJoinConditions = createChildSideJoinConditions(expressionEvaluation);
+
+    Set<ChildSideJoin<Resource, IRI>> childSideJoins = subjectsAndAllGraphs.entrySet()
+        .stream()
+        .map(subjectsAndAllGraphsEntry -> prepareChildSideJoin(subjectsAndAllGraphsEntry.getKey(), predicates,
+            subjectsAndAllGraphsEntry.getValue(), childSideJoinConditions))
+        .collect(Collectors.toUnmodifiableSet());
+
+    childSideJoinStore.addAll(childSideJoins);
+  }
+
+  private void indexChildSideJoins(Map<Set<Resource>, Set<Resource>> subjectsAndAllGraphs, Set<IRI> predicates,
+      ExpressionEvaluation expressionEvaluation) {
+    HashSet<ChildSideJoinCondition> childSideJoinConditions = createChildSideJoinConditions(expressionEvaluation);
+    var parentSideJoinKeys = JoinKeys.ofChildSideJoinConditions(childSideJoinConditions);
+
+    for (Map.Entry<Set<Resource>, Set<Resource>> subjectsAndAllGraphsEntry : subjectsAndAllGraphs.entrySet()) {
+      var childSideJoin = prepareChildSideJoin(subjectsAndAllGraphsEntry.getKey(), predicates,
+          subjectsAndAllGraphsEntry.getValue(), childSideJoinConditions);
+      var indexedChildSideJoin = indexedChildSideJoins.computeIfAbsent(childSideJoin, IndexedChildSideJoin::new);
+      for (ParentSideJoinKey parentSideJoinKey : parentSideJoinKeys) {
+        childSideJoinIndex.computeIfAbsent(parentSideJoinKey, key -> ConcurrentHashMap.newKeySet())
+            .add(indexedChildSideJoin);
+      }
+    }
+  }
+
+  private HashSet<ChildSideJoinCondition> createChildSideJoinConditions(ExpressionEvaluation expressionEvaluation) {
+    return refObjectMap.getJoinConditions()
         .stream()
         .map(joinCondition -> {
           String childReference = joinCondition.getChild();
@@ -88,85 +204,210 @@ public class RdfRefObjectMapper implements RefObjectMapper<Statement> {
 
           return ChildSideJoinCondition.of(childReference, childValues, joinCondition.getParent());
         })
-        .collect(Collectors.toSet());
-
-    Set<ChildSideJoin<Resource, IRI>> childSideJoins = subjectsAndAllGraphs.entrySet()
-        .stream()
-        .map(subjectsAndAllGraphsEntry -> prepareChildSideJoin(subjectsAndAllGraphsEntry.getKey(), predicates,
-            subjectsAndAllGraphsEntry.getValue(), childSideJoinConditions))
-        .collect(Collectors.toUnmodifiableSet());
-
-    childSideJoinStore.addAll(childSideJoins);
+        .collect(Collectors.toCollection(HashSet::new));
   }
 
+  /**
+   * Prepares a child-side join, sharing the join conditions between the joins of a record, and the
+   * predicates and graphs between the joins of all records. None of these sets is modified afterwards.
+   */
   private ChildSideJoin<Resource, IRI> prepareChildSideJoin(Set<Resource> subjects, Set<IRI> predicates,
-      Set<Resource> graphs, Set<ChildSideJoinCondition> childSideJoinConditions) {
+      Set<Resource> graphs, HashSet<ChildSideJoinCondition> childSideJoinConditions) {
     return ChildSideJoin.<Resource, IRI>builder()
         .subjects(new HashSet<>(subjects))
-        .predicates(new HashSet<>(predicates))
-        .graphs(new HashSet<>(graphs))
-        .childSideJoinConditions(new HashSet<>(childSideJoinConditions))
+        .predicates(predicateSets.intern(predicates))
+        .graphs(graphSets.intern(graphs))
+        .childSideJoinConditions(childSideJoinConditions)
         .build();
   }
 
+  /**
+   * Probes the indexed child-side joins with the given parent record, pushing the statements for the
+   * matching child-side joins to the given statement sink. Used instead of caching the parent-side
+   * join conditions of the parent record, when the child side is the build side of this join. As when
+   * the parent side is the build side, a child-side join is joined with each parent subject once, even
+   * if several parent records have the same subject.
+   *
+   * @param parentExpressionEvaluation the expression evaluation of the parent record
+   * @param parentSubjects the subjects of the parent record
+   * @param statementSink the consumer receiving the joined statements
+   */
+  public void probeChildSideJoins(ExpressionEvaluation parentExpressionEvaluation, Set<Resource> parentSubjects,
+      Consumer<Statement> statementSink) {
+    var parentSideJoinKeys = JoinKeys.ofParentRecord(refObjectMap.getJoinConditions(), parentExpressionEvaluation);
+    joinStatistics.addParentRecord(parentSideJoinKeys);
+
+    // child-side joins are indexed on the same keys as parent records, so every indexed join found matches
+    Set<IndexedChildSideJoin> matchingChildSideJoins = new HashSet<>();
+    for (ParentSideJoinKey parentSideJoinKey : parentSideJoinKeys) {
+      var indexedChildSideJoinsOfKey = childSideJoinIndex.get(parentSideJoinKey);
+      if (indexedChildSideJoinsOfKey != null) {
+        matchingChildSideJoins.addAll(indexedChildSideJoinsOfKey);
+      }
+    }
+
+    for (IndexedChildSideJoin indexedChildSideJoin : matchingChildSideJoins) {
+      var newParentSubjects = indexedChildSideJoin.addJoinedParentSubjects(parentSubjects);
+      if (!newParentSubjects.isEmpty()) {
+        var childSideJoin = indexedChildSideJoin.childSideJoin;
+        Models.forEachCartesianProductStatement(childSideJoin.getSubjects(), childSideJoin.getPredicates(),
+            newParentSubjects, childSideJoin.getGraphs(), RdfTriplesMapper.defaultGraphModifier, valueFactory,
+            statementSink);
+      }
+    }
+  }
+
+  /**
+   * Adds the parent-side join keys of a parent record to the join statistics. Used when the parent-side
+   * join conditions of the parent record are cached, i.e. when the parent side is the build side of
+   * this join.
+   *
+   * @param parentSideJoinKeys the parent-side join keys of the parent record
+   */
+  public void addParentStatistics(List<ParentSideJoinKey> parentSideJoinKeys) {
+    joinStatistics.addParentRecord(parentSideJoinKeys);
+  }
+
+  @Override
+  public void parentMappingCompleted(TriplesMapper<Statement> parentTriplesMapper) {
+    completedParentJoinConditions = parentTriplesMapper.getParentSideJoinConditions();
+  }
+
   @Override
   public Flux<Statement> resolveJoins(TriplesMapper<Statement> parentTriplesMapper) {
+    var parentJoinConditions = parentTriplesMapper.getParentSideJoinConditions();
     return childSideJoinStore.clearingFlux()
-        .flatMap(childSideJoin -> resolveJoin(parentTriplesMapper, childSideJoin));
+        .buffer(RESOLVE_BATCH_SIZE)
+        .flatMapIterable(childSideJoins -> resolveJoinBatch(childSideJoins, parentJoinConditions));
+  }
+
+  @Override
+  public Flux<Statement> resolveJoins(TriplesMapper<Statement> parentTriplesMapper,
+      ParallelMapping parallelMapping) {
+    var parentJoinConditions = parentTriplesMapper.getParentSideJoinConditions();
+    return parallelMapping.mapPartitionedBatches(childSideJoinStore.clearingFlux(), RdfRefObjectMapper::partitionHash,
+        RESOLVE_BATCH_SIZE, childSideJoins -> resolveJoinBatch(childSideJoins, parentJoinConditions));
   }
 
-  private Flux<Statement> resolveJoin(TriplesMapper<Statement> parentTriplesMapper,
-      ChildSideJoin<Resource, IRI> childSideJoin) {
-    ParentSideJoinConditionStore<Resource> parentJoinConditions = parentTriplesMapper.getParentSideJoinConditions();
+  /**
+   * Hashes the first child value of the join condition on the smallest parent reference, so that child-side
+   * joins on the same parent-side join key are resolved in the same partition.
+   */
+  private static int partitionHash(ChildSideJoin<Resource, IRI> childSideJoin) {
+    return childSideJoin.getChildSideJoinConditions()
+        .stream()
+        .min(Comparator.comparing(ChildSideJoinCondition::getParentReference))
+        .filter(childSideJoinCondition -> !childSideJoinCondition.getChildValues()
+            .isEmpty())
+        .map(childSideJoinCondition -> childSideJoinCondition.getChildValues()
+            .get(0)
+            .hashCode())
+        .orElse(0);
+  }
 
-    Set<Resource> objects = checkJoinAndGetObjects(childSideJoin, parentJoinConditions);
+  @Override
+  public void cleanup() {
+    completedParentJoinConditions = null;
+    // child-side joins are left behind if the mapping was cancelled or failed before they were resolved
+    childSideJoinStore.clear();
+    childSideJoinIndex.clear();
+    indexedChildSideJoins.clear();
+    predicateSets.clear();
+    graphSets.clear();
+    buildSide = JoinSide.PARENT;
 
-    if (!objects.isEmpty()) {
-      Set<Resource> subjects = childSideJoin.getSubjects();
-      Set<IRI> predicates = childSideJoin.getPredicates();
-      Set<Resource> graphs = childSideJoin.getGraphs();
+    // only select a build side if this join was part of the mapping. The child side is indexed on the heap,
+    // so it is only selected if the child-side join store would keep the child-side joins on the heap anyway.
+    if (joinStatistics.getChildRecordCount() > 0) {
+      preferredBuildSide =
+          childSideJoinStore.keepsJoinsOnHeap() ? joinStatistics.selectBuildSide() : JoinSide.PARENT;
+      LOG.debug("Selected {} build side for RefObjectMap {} based on {}", preferredBuildSide,
+          refObjectMap.getResourceName(), joinStatistics);
+    }
+    joinStatistics.clear();
+  }
 
-      return Flux.fromStream(Models.streamCartesianProductStatements(subjects, predicates, objects, graphs,
-          RdfTriplesMapper.defaultGraphModifier, valueFactory, RdfTriplesMapper.logAddStatements));
+  /**
+   * Resolves a batch of child-side joins. The parent subjects are looked up once for all child-side
+   * joins in the batch with equal join conditions, such as the joins of the same child record, or of
+   * child records that refer to the same parent.
+   */
+  private List<Statement> resolveJoinBatch(List<ChildSideJoin<Resource, IRI>> childSideJoins,
+      ParentSideJoinConditionStore<Resource> parentJoinConditions) {
+    Map<Set<ChildSideJoinCondition>, Set<Resource>> objectsByJoinConditions = new HashMap<>();
+    List<Statement> statements = new ArrayList<>();
+    Consumer<Statement> statementSink =
+        LOG.isTraceEnabled() ? RdfTriplesMapper.logAddStatements.andThen(statements::add) : statements::add;
+
+    for (ChildSideJoin<Resource, IRI> childSideJoin : childSideJoins) {
+      Set<Resource> objects = objectsByJoinConditions.computeIfAbsent(childSideJoin.getChildSideJoinConditions(),
+          childSideJoinConditions -> checkJoinAndGetObjects(childSideJoinConditions, parentJoinConditions));
+
+      if (!objects.isEmpty()) {
+        Models.forEachCartesianProductStatement(childSideJoin.getSubjects(), childSideJoin.getPredicates(), objects,
+            childSideJoin.getGraphs(), RdfTriplesMapper.defaultGraphModifier, valueFactory, statementSink);
+      }
     }
 
-    return Flux.empty();
+    return statements;
   }
 
-  private Set<Resource> checkJoinAndGetObjects(ChildSideJoin<Resource, IRI> childSideJoin,
+  private Set<Resource> checkJoinAndGetObjects(Set<ChildSideJoinCondition> childSideJoinConditions,
       ParentSideJoinConditionStore<Resource> parentJoinConditions) {
+    var parentSideJoinKeys = JoinKeys.ofChildSideJoinConditions(childSideJoinConditions);
 
-    List<Set<Resource>> parentResults = childSideJoin.getChildSideJoinConditions()
-        .stream()
-        .map(childSideJoinCondition -> checkChildSideJoinCondition(childSideJoinCondition, parentJoinConditions))
-        .collect(Collectors.toList());
+    // the parent subjects may be owned by the store, so they are only copied when combined
+    if (parentSideJoinKeys.size() == 1) {
+      return getParentSubjects(parentSideJoinKeys.get(0), parentJoinConditions);
+    }
 
-    if (parentResults.isEmpty()) {
-      return Set.of();
-    } else if (parentResults.size() == 1) {
-      return parentResults.get(0);
+    Set<Resource> objects = new HashSet<>();
+    for (ParentSideJoinKey parentSideJoinKey : parentSideJoinKeys) {
+      objects.addAll(getParentSubjects(parentSideJoinKey, parentJoinConditions));
     }
 
-    // return intersection of parentResults
-    return parentResults.stream()
-        .skip(1)
-        .collect(() -> new HashSet<>(parentResults.get(0)), Set::retainAll, Set::retainAll);
+    return objects;
   }
 
-  private Set<Resource> checkChildSideJoinCondition(ChildSideJoinCondition childSideJoinCondition,
+  private static Set<Resource> getParentSubjects(ParentSideJoinKey parentSideJoinKey,
       ParentSideJoinConditionStore<Resource> parentJoinConditions) {
+    // keys that the store can cheaply rule out, such as keys missing from a spilling store, are skipped without
+    // a lookup. Stores that always answer a lookup in memory do not rule out any keys.
+    if (!parentJoinConditions.mightContainKey(parentSideJoinKey)) {
+      return Set.of();
+    }
 
-    return childSideJoinCondition.getChildValues()
-        .stream()
-        .flatMap(childValue -> checkChildSideJoinConditionChildValue(childSideJoinCondition, childValue,
-            parentJoinConditions).stream())
-        .collect(Collectors.toUnmodifiableSet());
+    Set<Resource> parentSubjects = parentJoinConditions.get(parentSideJoinKey);
+
+    return parentSubjects == null ? Set.of() : parentSubjects;
   }
 
-  private Set<Resource> checkChildSideJoinConditionChildValue(ChildSideJoinCondition childSideJoinCondition,
-      String childValue, ParentSideJoinConditionStore<Resource> parentJoinConditions) {
-    ParentSideJoinKey parentSideKey = ParentSideJoinKey.of(childSideJoinCondition.getParentReference(), childValue);
+  /**
+   * A child-side join in the index, with the parent subjects it was joined with so far. Parent records
+   * may be mapped in parallel, so the parent subjects are added atomically.
+   */
+  private static class IndexedChildSideJoin {
+
+    private final ChildSideJoin<Resource, IRI> childSideJoin;
 
-    return parentJoinConditions.containsKey(parentSideKey) ? parentJoinConditions.get(parentSideKey) : Set.of();
+    private final Set<Resource> joinedParentSubjects = ConcurrentHashMap.newKeySet();
+
+    IndexedChildSideJoin(ChildSideJoin<Resource, IRI> childSideJoin) {
+      this.childSideJoin = childSideJoin;
+    }
+
+    /**
+     * Adds the given parent subjects, returning those that were not joined with this child-side join yet.
+     */
+    Set<Resource> addJoinedParentSubjects(Set<Resource> parentSubjects) {
+      Set<Resource> newParentSubjects = new HashSet<>();
+      for (Resource parentSubject : parentSubjects) {
+        if (joinedParentSubjects.add(parentSubject)) {
+          newParentSubjects.add(parentSubject);
+        }
+      }
+
+      return newParentSubjects;
+    }
   }
 }
@@ -7,6 +7,9 @@ import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toSet;
 import static org.eclipse.rdf4j.model.util.Values.iri;
 
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+import io.carml.engine.ParallelMapping;
 import io.carml.engine.RefObjectMapper;
 import io.carml.engine.RmlMapper;
 import io.carml.engine.RmlMapperException;
@@ -14,9 +17,13 @@ import io.carml.engine.TermGeneratorFactory;
 import io.carml.engine.TriplesMapper;
 import io.carml.engine.function.Functions;
 import io.carml.engine.join.ChildSideJoinStoreProvider;
+import io.carml.engine.join.JoinCodec;
 import io.carml.engine.join.ParentSideJoinConditionStoreProvider;
+import io.carml.engine.join.TermCodecs;
 import io.carml.engine.join.impl.CarmlChildSideJoinStoreProvider;
 import io.carml.engine.join.impl.CarmlParentSideJoinConditionStoreProvider;
+import io.carml.engine.join.impl.SpillingChildSideJoinStoreProvider;
+import io.carml.engine.join.impl.SpillingParentSideJoinConditionStoreProvider;
 import io.carml.engine.sourceresolver.ClassPathResolver;
 import io.carml.engine.sourceresolver.CompositeSourceResolver;
 import io.carml.engine.sourceresolver.FileResolver;
@@ -28,6 +35,7 @@ import io.carml.model.RefObjectMap;
 import io.carml.model.TriplesMap;
 import io.carml.util.Mappings;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.text.Normalizer;
 import java.time.Duration;
@@ -39,6 +47,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -51,6 +60,9 @@ import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.util.ModelCollector;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.Rio;
 import reactor.core.publisher.Flux;
 
 @Slf4j
@@ -60,18 +72,38 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
 
   private static final long SECONDS_TO_TIMEOUT = 30;
 
+  private static final int STATEMENT_BATCH_SIZE = 256;
+
+  private final TermGeneratorFactory<Value> termGeneratorFactory;
+
   private RdfRmlMapper(Set<TriplesMap> triplesMaps, Function<Object, Optional<Object>> sourceResolver,
       Set<TriplesMapper<Statement>> triplesMappers,
       Map<RefObjectMapper<Statement>, TriplesMapper<Statement>> refObjectMapperToParentTriplesMapper,
-      Map<Object, LogicalSourceResolver<?>> sourceToLogicalSourceResolver) {
+      Map<Object, LogicalSourceResolver<?>> sourceToLogicalSourceResolver, ParallelMapping parallelMapping,
+      TermGeneratorFactory<Value> termGeneratorFactory) {
     super(triplesMaps, sourceResolver, triplesMappers, refObjectMapperToParentTriplesMapper,
-        sourceToLogicalSourceResolver);
+        sourceToLogicalSourceResolver, parallelMapping);
+    this.termGeneratorFactory = termGeneratorFactory;
   }
 
   public static Builder builder() {
     return new Builder();
   }
 
+  /**
+   * Returns the combined statistics of the caches of IRIs generated by IRI templates, as configured by
+   * {@link Builder#iriTemplateCache(String)}. If no cache is configured, all counts are zero.
+   *
+   * @return the combined {@link CacheStats}
+   */
+  public CacheStats getIriTemplateCacheStats() {
+    if (termGeneratorFactory instanceof RdfTermGeneratorFactory) {
+      return ((RdfTermGeneratorFactory) termGeneratorFactory).getIriTemplateCacheStats();
+    }
+
+    return new CacheStats(0, 0, 0, 0, 0, 0);
+  }
+
   @NoArgsConstructor(access = AccessLevel.PRIVATE)
   public static class Builder {
 
@@ -93,6 +125,8 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
 
     private boolean iriUpperCasePercentEncoding = true;
 
+    private CacheBuilderSpec iriTemplateCacheSpec;
+
     private TermGeneratorFactory<Value> termGeneratorFactory;
 
     private ChildSideJoinStoreProvider<Resource, IRI> childSideJoinCacheProvider = CarmlChildSideJoinStoreProvider.of();
@@ -100,6 +134,8 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
     private ParentSideJoinConditionStoreProvider<Resource> parentSideJoinConditionStoreProvider =
         CarmlParentSideJoinConditionStoreProvider.of();
 
+    private ParallelMapping parallelMapping;
+
     /**
      * Sets the base IRI used in resolving relative IRIs produced by RML mappings.<br>
      * If not set, the base IRI will default to <code>"http://example.com/base/"</code>.
@@ -175,12 +211,49 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
       return this;
     }
 
+    /**
+     * Caches the IRIs generated by each IRI template, per tuple of template expression values, so that
+     * recurring values, like codes and foreign keys, are not made IRI-safe, concatenated and validated
+     * again. The eviction of each cache is configured by the given Guava cache specification, for
+     * example {@code "maximumSize=10000"} for a size-bounded, least recently used cache, or
+     * {@code "maximumSize=10000,expireAfterAccess=10m"}. By default, generated IRIs are not cached. Cache
+     * statistics are available through {@link RdfRmlMapper#getIriTemplateCacheStats()}.
+     *
+     * @param cacheSpec the {@link CacheBuilderSpec} string of the caches
+     * @return {@link Builder}
+     */
+    public Builder iriTemplateCache(String cacheSpec) {
+      this.iriTemplateCacheSpec = CacheBuilderSpec.parse(cacheSpec);
+      return this;
+    }
+
+    /**
+     * Caches at most the given number of IRIs per IRI template, evicting the least recently used IRIs.
+     * See {@link #iriTemplateCache(String)}.
+     *
+     * @param maximumSize the maximum number of IRIs cached per IRI template
+     * @return {@link Builder}
+     */
+    public Builder iriTemplateCache(long maximumSize) {
+      return iriTemplateCache(String.format("maximumSize=%s", maximumSize));
+    }
+
     public Builder triplesMaps(Set<TriplesMap> triplesMaps) {
       this.triplesMaps = triplesMaps;
       this.mappableTriplesMaps = Mappings.filterMappable(triplesMaps);
       return this;
     }
 
+    /**
+     * Uses the given provider for the stores of child-side joins. If its stores keep their joins on the
+     * heap, as the default stores do, a join whose child side turned out to be smaller than its parent
+     * side may index its child side instead. The build side is selected from the statistics of the
+     * previous mapping of this mapper, so this only applies when a mapper is used for repeated mappings.
+     * A first or single mapping always indexes the parent side.
+     *
+     * @param childSideJoinCacheProvider the provider of child-side join stores
+     * @return {@link Builder}
+     */
     public Builder childSideJoinStoreProvider(ChildSideJoinStoreProvider<Resource, IRI> childSideJoinCacheProvider) {
       this.childSideJoinCacheProvider = childSideJoinCacheProvider;
       return this;
@@ -192,6 +265,38 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
       return this;
     }
 
+    /**
+     * Uses join stores that keep at most the given number of entries per store on the heap, and spill
+     * any further entries to files in the given directory, in the compact encoding of {@link JoinCodec}.
+     * This allows joining logical sources that do not fit on the heap. The files are deleted once the
+     * joins are resolved. Note that the maximum is a number of entries, not of bytes: an entry is a
+     * child-side join or a parent-side join key with its values, so its size depends on the mapping.
+     *
+     * @param directory the directory to spill join entries to
+     * @param maxInMemoryEntries the maximum number of entries a join store keeps on the heap
+     * @return {@link Builder}
+     */
+    public Builder spillingJoinStores(Path directory, int maxInMemoryEntries) {
+      this.childSideJoinCacheProvider = SpillingChildSideJoinStoreProvider.of(directory, maxInMemoryEntries,
+          JoinCodec.of(TermCodecs.resource(), TermCodecs.iri()));
+      this.parentSideJoinConditionStoreProvider =
+          SpillingParentSideJoinConditionStoreProvider.of(directory, maxInMemoryEntries, TermCodecs.resource());
+      return this;
+    }
+
+    /**
+     * Maps the records of logical sources in parallel, as configured by the given
+     * {@link ParallelMapping}. By default, records are mapped sequentially. Note that custom join
+     * store providers must provide stores that are safe for concurrent use when mapping in parallel.
+     *
+     * @param parallelMapping the parallel mapping configuration
+     * @return {@link Builder}
+     */
+    public Builder parallelMapping(ParallelMapping parallelMapping) {
+      this.parallelMapping = parallelMapping;
+      return this;
+    }
+
     public RdfRmlMapper build() {
       if (logicalSourceResolverSuppliers.isEmpty()) {
         throw new RmlMapperException("No logical source resolver suppliers specified.");
@@ -203,6 +308,7 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
           .normalizationForm(normalizationForm)
           .iriUpperCasePercentEncoding(iriUpperCasePercentEncoding)
           .functions(functions)
+          .iriTemplateCacheSpec(iriTemplateCacheSpec)
           .build();
 
       if (termGeneratorFactory == null) {
@@ -232,6 +338,8 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
             .map(RefObjectMap.class::cast)
             .filter(rom -> !rom.getJoinConditions()
                 .isEmpty())
+            // self-joins that can be inlined are mapped like ref object maps without joins
+            .filter(rom -> !SelfJoins.isInlinable(rom, triplesMap))
             .forEach(rom -> {
               var roMapper = RdfRefObjectMapper.of(rom, triplesMap, rdfMapperConfig, childSideJoinCacheProvider);
               roMappers.add(roMapper);
@@ -262,7 +370,7 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
       var compositeResolver = CompositeSourceResolver.of(Set.copyOf(sourceResolvers));
 
       return new RdfRmlMapper(triplesMaps, compositeResolver, triplesMappers, roMapperToParentTriplesMapper,
-          sourceToLogicalSourceResolver);
+          sourceToLogicalSourceResolver, parallelMapping, termGeneratorFactory);
     }
 
     private Map<Object, LogicalSourceResolver<?>> buildLogicalSourceResolvers(Set<TriplesMap> triplesMaps) {
@@ -363,6 +471,78 @@ public class RdfRmlMapper extends RmlMapper<Statement> {
     return toModel(mapRecord(providedRecord, providedRecordClass, triplesMapFilter));
   }
 
+  /**
+   * Maps to the given {@link RDFHandler}. Statements are handed to the handler as they are produced,
+   * so the result does not need to fit in memory.
+   *
+   * @param rdfHandler the handler to which the statements are reported
+   */
+  public void mapTo(@NonNull RDFHandler rdfHandler) {
+    toRdfHandler(map(), rdfHandler);
+  }
+
+  public void mapTo(@NonNull RDFHandler rdfHandler, Set<TriplesMap> triplesMapFilter) {
+    toRdfHandler(map(triplesMapFilter), rdfHandler);
+  }
+
+  public void mapTo(@NonNull InputStream inputStream, @NonNull RDFHandler rdfHandler) {
+    toRdfHandler(map(inputStream), rdfHandler);
+  }
+
+  public void mapTo(@NonNull InputStream inputStream, @NonNull RDFHandler rdfHandler,
+      Set<TriplesMap> triplesMapFilter) {
+    toRdfHandler(map(inputStream, triplesMapFilter), rdfHandler);
+  }
+
+  public void mapTo(Map<String, InputStream> namedInputStreams, @NonNull RDFHandler rdfHandler) {
+    toRdfHandler(map(namedInputStreams), rdfHandler);
+  }
+
+  public void mapTo(Map<String, InputStream> namedInputStreams, @NonNull RDFHandler rdfHandler,
+      Set<TriplesMap> triplesMapFilter) {
+    toRdfHandler(map(namedInputStreams, triplesMapFilter), rdfHandler);
+  }
+
+  /**
+   * Maps to the given {@link OutputStream}, serializing the statements in the given {@link RDFFormat}
+   * as they are produced.
+   *
+   * @param outputStream the output stream to write to
+   * @param rdfFormat the format to serialize the statements in
+   */
+  public void mapTo(@NonNull OutputStream outputStream, @NonNull RDFFormat rdfFormat) {
+    mapTo(Rio.createWriter(rdfFormat, outputStream));
+  }
+
+  public void mapTo(@NonNull OutputStream outputStream, @NonNull RDFFormat rdfFormat,
+      Set<TriplesMap> triplesMapFilter) {
+    mapTo(Rio.createWriter(rdfFormat, outputStream), triplesMapFilter);
+  }
+
+  public void mapTo(@NonNull InputStream inputStream, @NonNull OutputStream outputStream,
+      @NonNull RDFFormat rdfFormat) {
+    mapTo(inputStream, Rio.createWriter(rdfFormat, outputStream));
+  }
+
+  public void mapTo(Map<String, InputStream> namedInputStreams, @NonNull OutputStream outputStream,
+      @NonNull RDFFormat rdfFormat) {
+    mapTo(namedInputStreams, Rio.createWriter(rdfFormat, outputStream));
+  }
+
+  public <R> void mapRecordTo(R providedRecord, Class<R> providedRecordClass, @NonNull RDFHandler rdfHandler) {
+    toRdfHandler(mapRecord(providedRecord, providedRecordClass), rdfHandler);
+  }
+
+  private void toRdfHandler(Flux<Statement> statementFlux, RDFHandler rdfHandler) {
+    rdfHandler.startRDF();
+    // The statements are pulled in bounded batches, so a slow handler applies backpressure to the mapping
+    // instead of having statements pile up in memory. Closing the stream cancels the mapping on failure.
+    try (Stream<Statement> statements = statementFlux.toStream(STATEMENT_BATCH_SIZE)) {
+      statements.forEach(rdfHandler::handleStatement);
+    }
+    rdfHandler.endRDF();
+  }
+
   private Model toModel(Flux<Statement> statementFlux) {
     return statementFlux.collect(ModelCollector.toModel())
         .block(Duration.ofSeconds(SECONDS_TO_TIMEOUT));
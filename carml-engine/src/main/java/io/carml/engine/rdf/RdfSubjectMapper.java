@@ -10,8 +10,7 @@ import io.carml.model.SubjectMap;
 import io.carml.model.TriplesMap;
 import io.carml.util.Models;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -22,16 +21,17 @@ import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
-import reactor.core.publisher.Flux;
 
 @Slf4j
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class RdfSubjectMapper {
 
+  private static final Set<IRI> TYPE_PREDICATES = Set.of(RDF.TYPE);
+
   @NonNull
   private final TermGenerator<Resource> subjectGenerator;
 
-  private final Set<TermGenerator<Resource>> graphGenerators;
+  private final CompiledTermGenerators<Resource> graphGenerators;
 
   private final Set<IRI> classes;
 
@@ -56,55 +56,50 @@ public class RdfSubjectMapper {
     }
 
     return new RdfSubjectMapper(subjectGenerator,
-        RdfTriplesMapper.createGraphGenerators(subjectMap.getGraphMaps(), rdfTermGeneratorFactory),
+        CompiledTermGenerators.of(
+            RdfTriplesMapper.createGraphGenerators(subjectMap.getGraphMaps(), rdfTermGeneratorFactory)),
         subjectMap.getClasses(), rdfMapperConfig.getValueFactorySupplier()
             .get());
   }
 
   public Result map(ExpressionEvaluation expressionEvaluation) {
     LOG.debug("Determining subjects ...");
-    Set<Resource> subjects = subjectGenerator.apply(expressionEvaluation)
-        .stream()
-        .collect(Collectors.toUnmodifiableSet());
+    Set<Resource> subjects = CompiledTermGenerators.toSet(subjectGenerator.apply(expressionEvaluation));
 
     LOG.debug("Determined subjects {}", subjects);
 
     if (subjects.isEmpty()) {
-      return resultOf(subjects, Set.of(), Flux.empty());
+      return new Result(subjects, Set.of());
     }
 
     // graphs to be used when generating statements in predicate object mapper
-    Set<Resource> graphs = graphGenerators.stream()
-        .flatMap(graph -> graph.apply(expressionEvaluation)
-            .stream())
-        .collect(Collectors.toUnmodifiableSet());
-
-    Flux<Statement> typeStatements = classes.isEmpty() ? Flux.empty() : mapTypeStatements(subjects, graphs);
-
-    return resultOf(subjects, graphs, typeStatements);
-  }
-
-  private Flux<Statement> mapTypeStatements(Set<Resource> subjects, Set<Resource> graphs) {
-    LOG.debug("Generating triples for subjects: {}", subjects);
-
-    Stream<Statement> typeStatementStream = Models.streamCartesianProductStatements(subjects, Set.of(RDF.TYPE), classes,
-        graphs, RdfTriplesMapper.defaultGraphModifier, valueFactory, RdfTriplesMapper.logAddStatements);
+    Set<Resource> graphs = graphGenerators.generate(expressionEvaluation);
 
-    return Flux.fromStream(typeStatementStream);
-  }
-
-  private static Result resultOf(Set<Resource> subjects, Set<Resource> graphs, Flux<Statement> typeStatements) {
-    return new Result(subjects, graphs, typeStatements);
+    return new Result(subjects, graphs);
   }
 
   @Getter
   @AllArgsConstructor(access = AccessLevel.PRIVATE)
-  static class Result {
+  class Result {
     Set<Resource> subjects;
 
     Set<Resource> graphs;
 
-    Flux<Statement> typeStatements;
+    /**
+     * Pushes the type statements for the subjects of this result to the given statement sink.
+     *
+     * @param statementSink the consumer receiving the type statements
+     */
+    void mapTypeStatements(Consumer<Statement> statementSink) {
+      if (classes.isEmpty() || subjects.isEmpty()) {
+        return;
+      }
+
+      LOG.debug("Generating triples for subjects: {}", subjects);
+
+      Models.forEachCartesianProductStatement(subjects, TYPE_PREDICATES, classes, graphs,
+          RdfTriplesMapper.defaultGraphModifier, valueFactory, statementSink);
+    }
   }
 
 }
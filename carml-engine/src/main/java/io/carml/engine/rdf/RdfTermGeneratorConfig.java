@@ -1,5 +1,6 @@
 package io.carml.engine.rdf;
 
+import com.google.common.cache.CacheBuilderSpec;
 import io.carml.engine.function.Functions;
 import java.text.Normalizer;
 import lombok.AccessLevel;
@@ -27,4 +28,10 @@ public class RdfTermGeneratorConfig {
   private final boolean iriUpperCasePercentEncoding;
 
   private final Functions functions;
+
+  /**
+   * The specification of the caches that memoize the IRIs generated by IRI templates, per tuple of
+   * template expression values. If {@code null}, generated IRIs are not cached.
+   */
+  private final CacheBuilderSpec iriTemplateCacheSpec;
 }
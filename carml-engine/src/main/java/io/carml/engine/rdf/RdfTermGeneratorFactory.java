@@ -4,6 +4,10 @@ import static io.carml.engine.rdf.RdfPredicateObjectMapper.createObjectMapGenera
 import static io.carml.engine.rdf.RdfPredicateObjectMapper.createPredicateGenerators;
 import static io.carml.util.Models.streamCartesianProductStatements;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
 import io.carml.engine.ExpressionEvaluation;
 import io.carml.engine.GetTemplateValue;
 import io.carml.engine.TermGenerator;
@@ -27,11 +31,15 @@ import io.carml.util.IriSafeMaker;
 import io.carml.util.RdfValues;
 import io.carml.vocab.Rdf;
 import java.text.Normalizer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -70,6 +78,8 @@ public class RdfTermGeneratorFactory implements TermGeneratorFactory<Value> {
 
   private final TemplateParser templateParser;
 
+  private final List<Cache<?, ?>> iriTemplateCaches = new CopyOnWriteArrayList<>();
+
   public static RdfTermGeneratorFactory of(RdfTermGeneratorConfig rdfTermGeneratorConfig,
       TemplateParser templateParser) {
     return new RdfTermGeneratorFactory(rdfTermGeneratorConfig, rdfTermGeneratorConfig.getValueFactory(), IriSafeMaker
@@ -148,6 +158,12 @@ public class RdfTermGeneratorFactory implements TermGeneratorFactory<Value> {
 
   private TermGenerator<Value> getGenerator(ExpressionMap termMap,
       Function<ExpressionEvaluation, Optional<Object>> getValue, Set<TermType> allowedTermTypes, TermType termType) {
+    return getGenerator(termMap, getValue, allowedTermTypes, termType, this::generateIriTerm);
+  }
+
+  private TermGenerator<Value> getGenerator(ExpressionMap termMap,
+      Function<ExpressionEvaluation, Optional<Object>> getValue, Set<TermType> allowedTermTypes, TermType termType,
+      Function<String, IRI> generateIri) {
 
     Function<Function<String, ? extends Value>, TermGenerator<Value>> createGenerator =
         generateTerm -> expressionEvaluation -> generateValues(getValue, expressionEvaluation, generateTerm);
@@ -161,7 +177,7 @@ public class RdfTermGeneratorFactory implements TermGeneratorFactory<Value> {
     switch (termType) {
 
       case IRI:
-        return createGenerator.apply(this::generateIriTerm);
+        return createGenerator.apply(generateIri);
 
       case BLANK_NODE:
         return createGenerator.apply(this::generateBNodeTerm);
@@ -266,7 +282,7 @@ public class RdfTermGeneratorFactory implements TermGeneratorFactory<Value> {
       LOG.trace("Generated constant values: {}", constants);
     }
 
-    return Optional.of(e -> constants);
+    return Optional.of(TermGenerator.constant(constants));
   }
 
   @Override
@@ -302,9 +318,78 @@ public class RdfTermGeneratorFactory implements TermGeneratorFactory<Value> {
     UnaryOperator<String> transformValue = termType == TermType.IRI ? makeIriSafe : v -> v;
 
     Function<ExpressionEvaluation, Optional<Object>> getValue =
-        new GetTemplateValue(template, template.getExpressions(), transformValue, this::createNaturalRdfLexicalForm);
+        new GetTemplateValue(template, transformValue, this::createNaturalRdfLexicalForm);
+
+    // IRIs generated by a template that is valid by construction need not be validated
+    Function<String, IRI> generateIri = termType == TermType.IRI && IriTemplates.isValidByConstruction(template)
+        ? valueFactory::createIRI
+        : this::generateIriTerm;
+
+    var templateGenerator = getGenerator(map, getValue, allowedTermTypes, termType, generateIri);
+    var iriTemplateCacheSpec = rdfTermGeneratorConfig.getIriTemplateCacheSpec();
+    if (termType == TermType.IRI && iriTemplateCacheSpec != null) {
+      return Optional.of(cacheTemplateTerms(template, templateGenerator, iriTemplateCacheSpec));
+    }
+
+    return Optional.of(templateGenerator);
+  }
+
+  /**
+   * Wraps the given template generator in a generator that memoizes the generated terms per tuple of
+   * template expression values, so that recurring values are not transformed, concatenated and
+   * validated again.
+   */
+  private TermGenerator<Value> cacheTemplateTerms(Template template, TermGenerator<Value> templateGenerator,
+      CacheBuilderSpec cacheSpec) {
+    var expressions = template.getExpressions()
+        .stream()
+        .map(Template.Expression::getValue)
+        .distinct()
+        .collect(Collectors.toUnmodifiableList());
+
+    Cache<List<List<String>>, List<Value>> cache = CacheBuilder.from(cacheSpec)
+        .recordStats()
+        .build();
+    iriTemplateCaches.add(cache);
+
+    return expressionEvaluation -> {
+      List<List<String>> expressionValues = new ArrayList<>(expressions.size());
+      for (var expression : expressions) {
+        var values = expressionEvaluation.apply(expression)
+            .map(ExpressionEvaluation::extractValues);
+        if (values.isEmpty()) {
+          // a template with an expression that has no value generates no terms
+          return List.of();
+        }
+        expressionValues.add(values.get());
+      }
+
+      var terms = cache.getIfPresent(expressionValues);
+      if (terms == null) {
+        Map<String, Object> valuesByExpression = new HashMap<>();
+        for (int i = 0; i < expressions.size(); i++) {
+          var values = expressionValues.get(i);
+          // replay single values as such, so that the template generator can take its single-valued path
+          valuesByExpression.put(expressions.get(i), values.size() == 1 ? values.get(0) : values);
+        }
+        terms = templateGenerator.apply(expression -> Optional.ofNullable(valuesByExpression.get(expression)));
+        cache.put(expressionValues, terms);
+      }
+
+      return terms;
+    };
+  }
 
-    return Optional.of(getGenerator(map, getValue, allowedTermTypes, termType));
+  /**
+   * Returns the combined statistics of the caches of the terms generated by IRI templates. These caches
+   * are only used when an IRI template cache spec is configured in the {@link RdfTermGeneratorConfig}.
+   *
+   * @return the combined {@link CacheStats}
+   */
+  public CacheStats getIriTemplateCacheStats() {
+    return iriTemplateCaches.stream()
+        .map(Cache::stats)
+        .reduce(new CacheStats(0, 0, 0, 0, 0, 0), CacheStats::plus);
   }
 
   @Override
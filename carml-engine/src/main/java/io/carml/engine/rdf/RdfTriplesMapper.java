@@ -3,23 +3,22 @@ package io.carml.engine.rdf;
 import static io.carml.util.LogUtil.exception;
 
 import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.JoinSide;
+import io.carml.engine.MemoizingExpressionEvaluation;
 import io.carml.engine.RefObjectMapper;
 import io.carml.engine.TermGenerator;
 import io.carml.engine.TriplesMapper;
 import io.carml.engine.TriplesMapperException;
 import io.carml.engine.join.ParentSideJoinConditionStore;
 import io.carml.engine.join.ParentSideJoinConditionStoreProvider;
-import io.carml.engine.join.ParentSideJoinKey;
 import io.carml.logicalsourceresolver.LogicalSourceRecord;
 import io.carml.logicalsourceresolver.LogicalSourceResolver;
 import io.carml.model.GraphMap;
-import io.carml.model.Join;
 import io.carml.model.SubjectMap;
 import io.carml.model.TriplesMap;
 import io.carml.vocab.Rdf;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -142,17 +141,43 @@ public class RdfTriplesMapper<R> implements TriplesMapper<Statement> {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Flux<Statement> map(LogicalSourceRecord<?> logicalSourceRecord) {
+    return mapEvaluation(evaluate(logicalSourceRecord));
+  }
+
+  @Override
+  public void map(LogicalSourceRecord<?> logicalSourceRecord, Consumer<Statement> statementSink) {
+    mapEvaluation(evaluate(logicalSourceRecord), statementSink);
+  }
+
+  @SuppressWarnings("unchecked")
+  private ExpressionEvaluation evaluate(LogicalSourceRecord<?> logicalSourceRecord) {
     var lsRecord = (R) logicalSourceRecord.getRecord();
     LOG.trace("Mapping triples for record {}", logicalSourceRecord);
-    ExpressionEvaluation expressionEvaluation = expressionEvaluationFactory.apply(lsRecord);
-
-    return mapEvaluation(expressionEvaluation);
+    return MemoizingExpressionEvaluation.of(expressionEvaluationFactory.apply(lsRecord));
   }
 
   @Override
   public Flux<Statement> mapEvaluation(ExpressionEvaluation expressionEvaluation) {
+    List<Statement> statements = new ArrayList<>();
+    mapEvaluation(expressionEvaluation, statements::add);
+    return Flux.fromIterable(statements);
+  }
+
+  /**
+   * Maps the triples map for the given expression evaluation, pushing the resulting statements to the
+   * given statement sink.
+   *
+   * @param expressionEvaluation the expression evaluation of the record to map
+   * @param statementSink the consumer receiving the mapped statements
+   */
+  public void mapEvaluation(ExpressionEvaluation expressionEvaluation, Consumer<Statement> statementSink) {
+    Consumer<Statement> sink = LOG.isTraceEnabled() ? logAddStatements.andThen(statementSink) : statementSink;
+
+    if (subjectMappers.size() == 1) {
+      mapSingleSubjectMapEvaluation(expressionEvaluation, sink);
+      return;
+    }
 
     Set<RdfSubjectMapper.Result> subjectMapperResults = subjectMappers.stream()
         .map(subjectMapper -> subjectMapper.map(expressionEvaluation))
@@ -164,53 +189,70 @@ public class RdfTriplesMapper<R> implements TriplesMapper<Statement> {
         .collect(Collectors.toUnmodifiableSet());
 
     if (subjects.isEmpty()) {
-      return Flux.empty();
+      return;
     }
 
     Map<Set<Resource>, Set<Resource>> subjectsAndSubjectGraphs = new HashMap<>();
-    List<Flux<Statement>> subjectStatementFluxes = new ArrayList<>();
 
     for (RdfSubjectMapper.Result subjectMapperResult : subjectMapperResults) {
       Set<Resource> resultSubjects = subjectMapperResult.getSubjects();
       if (!resultSubjects.isEmpty()) {
         subjectsAndSubjectGraphs.put(resultSubjects, subjectMapperResult.getGraphs());
-        subjectStatementFluxes.add(subjectMapperResult.getTypeStatements());
+        subjectMapperResult.mapTypeStatements(sink);
       }
     }
 
-    Flux<Statement> subjectStatements = Flux.merge(subjectStatementFluxes);
-    Flux<Statement> pomStatements = Flux.fromIterable(predicateObjectMappers)
-        .flatMap(predicateObjectMapper -> predicateObjectMapper.map(expressionEvaluation, subjectsAndSubjectGraphs));
+    mapPredicateObjectMaps(expressionEvaluation, subjects, subjectsAndSubjectGraphs, sink);
+  }
 
-    cacheParentSideJoinConditions(expressionEvaluation, subjects);
+  /**
+   * Maps the common case of a triples map with a single subject map, without collecting the subject
+   * mapper results.
+   */
+  private void mapSingleSubjectMapEvaluation(ExpressionEvaluation expressionEvaluation,
+      Consumer<Statement> statementSink) {
+    RdfSubjectMapper.Result subjectMapperResult = subjectMappers.iterator()
+        .next()
+        .map(expressionEvaluation);
 
-    return Flux.merge(subjectStatements, pomStatements);
-  }
+    Set<Resource> subjects = subjectMapperResult.getSubjects();
 
-  private void cacheParentSideJoinConditions(ExpressionEvaluation expressionEvaluation, Set<Resource> subjects) {
-    incomingRefObjectMappers.forEach(incomingRefObjectMapper -> incomingRefObjectMapper.getRefObjectMap()
-        .getJoinConditions()
-        .forEach(join -> processJoinCondition(join, expressionEvaluation, subjects)));
-  }
+    if (subjects.isEmpty()) {
+      return;
+    }
 
-  private void processJoinCondition(Join join, ExpressionEvaluation expressionEvaluation, Set<Resource> subjects) {
-    String parentReference = join.getParent();
+    subjectMapperResult.mapTypeStatements(statementSink);
 
-    expressionEvaluation.apply(parentReference)
-        .ifPresent(referenceResult -> ExpressionEvaluation.extractValues(referenceResult)
-            .forEach(parentValue -> processJoinConditionParentValue(subjects, parentReference, parentValue)));
+    mapPredicateObjectMaps(expressionEvaluation, subjects, Map.of(subjects, subjectMapperResult.getGraphs()),
+        statementSink);
   }
 
-  private void processJoinConditionParentValue(Set<Resource> subjects, String parentReference, String parentValue) {
-    ParentSideJoinKey parentSideJoinKey = ParentSideJoinKey.of(parentReference, parentValue);
-    Set<Resource> parentSubjects = new HashSet<>(subjects);
+  private void mapPredicateObjectMaps(ExpressionEvaluation expressionEvaluation, Set<Resource> subjects,
+      Map<Set<Resource>, Set<Resource>> subjectsAndSubjectGraphs, Consumer<Statement> statementSink) {
+    for (RdfPredicateObjectMapper predicateObjectMapper : predicateObjectMappers) {
+      predicateObjectMapper.map(expressionEvaluation, subjectsAndSubjectGraphs, statementSink);
+    }
 
-    if (parentSideJoinConditions.containsKey(parentSideJoinKey)) {
-      // merge incoming subjects with already cached subjects for key
-      parentSubjects.addAll(parentSideJoinConditions.get(parentSideJoinKey));
+    if (!incomingRefObjectMappers.isEmpty()) {
+      processIncomingRefObjectMappers(expressionEvaluation, subjects, statementSink);
     }
+  }
 
-    parentSideJoinConditions.put(ParentSideJoinKey.of(parentReference, parentValue), parentSubjects);
+  private void processIncomingRefObjectMappers(ExpressionEvaluation expressionEvaluation, Set<Resource> subjects,
+      Consumer<Statement> statementSink) {
+    for (RdfRefObjectMapper incomingRefObjectMapper : incomingRefObjectMappers) {
+      if (incomingRefObjectMapper.getBuildSide() == JoinSide.CHILD) {
+        // the child side of the join is indexed, so it is probed instead of caching the parent-side join conditions
+        incomingRefObjectMapper.probeChildSideJoins(expressionEvaluation, subjects, statementSink);
+      } else {
+        var parentSideJoinKeys = JoinKeys.ofParentRecord(incomingRefObjectMapper.getRefObjectMap()
+            .getJoinConditions(), expressionEvaluation);
+        incomingRefObjectMapper.addParentStatistics(parentSideJoinKeys);
+        // records can be mapped in parallel, so the store merges the subjects atomically
+        parentSideJoinKeys
+            .forEach(parentSideJoinKey -> parentSideJoinConditions.merge(parentSideJoinKey, subjects));
+      }
+    }
   }
 
   public void cleanup() {
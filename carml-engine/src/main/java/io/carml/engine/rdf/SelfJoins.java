@@ -0,0 +1,73 @@
+package io.carml.engine.rdf;
+
+import io.carml.engine.template.Template;
+import io.carml.engine.template.TemplateParser;
+import io.carml.model.Join;
+import io.carml.model.RefObjectMap;
+import io.carml.model.SubjectMap;
+import io.carml.model.TriplesMap;
+import io.carml.vocab.Rdf;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Detects {@link RefObjectMap}s that join a logical source with itself on identical child and parent
+ * references, and that can therefore be mapped without a join. Such a join matches a record with every
+ * record of the same logical source that has the same values for the join references. If the subjects of
+ * the parent triples map are generated from the join references only, all these records generate the
+ * same parent subjects as the record itself. The parent subjects can then be generated from the child
+ * record, like for a ref object map without join conditions. The parent subjects must also be generated
+ * from all join references, so that a record without a value for one of them, which does not join,
+ * does not generate a parent subject either. This rules out constant parent subjects.
+ *
+ * <p>This only holds if every join reference yields a single value per record, which is why only
+ * logical sources with the CSV reference formulation are considered.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SelfJoins {
+
+  private static final TemplateParser TEMPLATE_PARSER = TemplateParser.build();
+
+  static boolean isInlinable(RefObjectMap refObjectMap, TriplesMap triplesMap) {
+    var joinConditions = refObjectMap.getJoinConditions();
+    if (joinConditions.isEmpty() || !joinConditions.stream()
+        .allMatch(join -> join.getChild() != null && join.getChild()
+            .equals(join.getParent()))) {
+      return false;
+    }
+
+    var logicalSource = triplesMap.getLogicalSource();
+    var parentTriplesMap = refObjectMap.getParentTriplesMap();
+    if (logicalSource == null || parentTriplesMap == null || !logicalSource.equals(parentTriplesMap.getLogicalSource())
+        || !Rdf.Ql.Csv.equals(logicalSource.getReferenceFormulation())) {
+      return false;
+    }
+
+    var joinReferences = joinConditions.stream()
+        .map(Join::getParent)
+        .collect(Collectors.toUnmodifiableSet());
+    var parentSubjectMaps = parentTriplesMap.getSubjectMaps();
+
+    return !parentSubjectMaps.isEmpty() && parentSubjectMaps.stream()
+        .allMatch(subjectMap -> isGeneratedFrom(subjectMap, joinReferences));
+  }
+
+  private static boolean isGeneratedFrom(SubjectMap subjectMap, Set<String> references) {
+    if (subjectMap.getReference() != null) {
+      return references.equals(Set.of(subjectMap.getReference()));
+    }
+
+    if (subjectMap.getTemplate() != null) {
+      return references.equals(TEMPLATE_PARSER.parse(subjectMap.getTemplate())
+          .getExpressions()
+          .stream()
+          .map(Template.Expression::getValue)
+          .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    // constant and function value subject maps are not generated from the join references
+    return false;
+  }
+}
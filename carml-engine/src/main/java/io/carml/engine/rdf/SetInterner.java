@@ -0,0 +1,44 @@
+package io.carml.engine.rdf;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes sets by content, so that equal sets share a single instance. Used for the predicates
+ * and graphs of child-side joins, which are mostly equal for all records of a ref object map. At most a
+ * configured number of distinct sets are interned, after which further distinct sets are copied
+ * instead, so that sets that differ for every record do not accumulate.
+ *
+ * <p>The interned sets must not be modified.
+ */
+final class SetInterner<T> {
+
+  private final int maxSize;
+
+  private final Map<Set<T>, HashSet<T>> internedSets = new ConcurrentHashMap<>();
+
+  SetInterner(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  HashSet<T> intern(Set<T> set) {
+    var internedSet = internedSets.get(set);
+    if (internedSet != null) {
+      return internedSet;
+    }
+
+    var copy = new HashSet<>(set);
+    if (internedSets.size() >= maxSize) {
+      return copy;
+    }
+
+    var existingSet = internedSets.putIfAbsent(copy, copy);
+    return existingSet != null ? existingSet : copy;
+  }
+
+  void clear() {
+    internedSets.clear();
+  }
+}
@@ -253,6 +253,33 @@ class CarmlTemplate implements Template {
     return new Builder();
   }
 
+  @Override
+  public List<String> getTextSegments() {
+    List<String> textSegments = new ArrayList<>();
+    var text = new StringBuilder();
+    for (Segment segment : segments) {
+      if (segment instanceof ExpressionSegment) {
+        textSegments.add(text.toString());
+        text.setLength(0);
+      } else {
+        text.append(segment.getValue());
+      }
+    }
+    textSegments.add(text.toString());
+
+    return textSegments;
+  }
+
+  @Override
+  public CompiledTemplate compile() {
+    List<Expression> orderedExpressions = segments.stream()
+        .filter(ExpressionSegment.class::isInstance)
+        .map(expressionSegmentMap::get)
+        .collect(Collectors.toUnmodifiableList());
+
+    return new CompiledTemplate(getTextSegments(), orderedExpressions);
+  }
+
   @Override
   public String toString() {
     return "CarmlTemplate [segments=" + segments + ", expressions=" + expressions + ", expressionSegmentMap="
@@ -0,0 +1,105 @@
+package io.carml.engine.template;
+
+import io.carml.engine.template.Template.Expression;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a {@link Template}, for the common case in which every expression of the template
+ * has a single value. The expressions are listed in order of occurrence, and a string is created from
+ * one value per expression by concatenating the values with the constant texts of the template,
+ * without any intermediate collections.
+ */
+public final class CompiledTemplate {
+
+  private final String[] texts;
+
+  private final List<Expression> expressions;
+
+  private final int textLength;
+
+  CompiledTemplate(List<String> texts, List<Expression> expressions) {
+    if (texts.size() != expressions.size() + 1) {
+      throw new TemplateException(String.format("Expected %s texts for %s expressions, but got %s texts",
+          expressions.size() + 1, expressions.size(), texts.size()));
+    }
+
+    this.texts = texts.toArray(String[]::new);
+    this.expressions = List.copyOf(expressions);
+    this.textLength = texts.stream()
+        .mapToInt(String::length)
+        .sum();
+  }
+
+  /**
+   * Compiles the given template from its template string, as the set of expressions of a template need
+   * not be ordered. Each expression of the template string is matched with an expression of the
+   * template with the same value.
+   *
+   * @param template the template
+   * @return the {@link CompiledTemplate}
+   */
+  static CompiledTemplate of(Template template) {
+    Map<String, Deque<Expression>> expressionsByValue = new HashMap<>();
+    template.getExpressions()
+        .forEach(expression -> expressionsByValue.computeIfAbsent(expression.getValue(), value -> new ArrayDeque<>())
+            .add(expression));
+
+    var parsedExpressions = TemplateParser.build()
+        .parse(template.toTemplateString())
+        .compile()
+        .getExpressions();
+    List<Expression> orderedExpressions = new ArrayList<>(parsedExpressions.size());
+    for (var parsedExpression : parsedExpressions) {
+      var expression = expressionsByValue.getOrDefault(parsedExpression.getValue(), new ArrayDeque<>())
+          .poll();
+      if (expression == null) {
+        throw new TemplateException(String.format("Expression %s of template %s not found in its expressions",
+            parsedExpression.getValue(), template.toTemplateString()));
+      }
+      orderedExpressions.add(expression);
+    }
+
+    return new CompiledTemplate(template.getTextSegments(), orderedExpressions);
+  }
+
+  /**
+   * Returns the expressions of the template, in order of occurrence.
+   *
+   * @return the expressions
+   */
+  public List<Expression> getExpressions() {
+    return expressions;
+  }
+
+  /**
+   * Creates the string of the template for the given expression values.
+   *
+   * @param values the value of each expression, in the order of {@link #getExpressions()}
+   * @return the string of the template
+   */
+  public String create(String[] values) {
+    if (values.length != expressions.size()) {
+      throw new TemplateException(
+          String.format("Expected %s expression values, but got %s", expressions.size(), values.length));
+    }
+
+    var length = textLength;
+    for (var value : values) {
+      length += value.length();
+    }
+
+    var result = new StringBuilder(length);
+    result.append(texts[0]);
+    for (int i = 0; i < values.length; i++) {
+      result.append(values[i])
+          .append(texts[i + 1]);
+    }
+
+    return result.toString();
+  }
+}
@@ -1,5 +1,6 @@
 package io.carml.engine.template;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -10,6 +11,35 @@ public interface Template {
 
   Builder newBuilder();
 
+  /**
+   * Returns the constant text of this template, split at its expressions. The returned list has one
+   * more element than the template has expressions, so that the i-th expression is located between the
+   * i-th and the (i+1)-th text. Texts that are absent, for example before an expression at the start of
+   * the template, are returned as empty strings.
+   *
+   * <p>The default implementation parses the {@link #toTemplateString() template string} of this
+   * template.
+   *
+   * @return the texts of this template
+   */
+  default List<String> getTextSegments() {
+    return TemplateParser.build()
+        .parse(toTemplateString())
+        .getTextSegments();
+  }
+
+  /**
+   * Compiles this template for the common case in which every expression has a single value.
+   *
+   * <p>The default implementation orders the {@link #getExpressions() expressions} of this template
+   * by parsing its {@link #toTemplateString() template string}.
+   *
+   * @return the {@link CompiledTemplate}
+   */
+  default CompiledTemplate compile() {
+    return CompiledTemplate.of(this);
+  }
+
   interface Builder {
 
     Builder bind(Expression expression, Function<Expression, Optional<Object>> templateValue);
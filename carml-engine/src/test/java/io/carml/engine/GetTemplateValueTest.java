@@ -8,6 +8,7 @@ import io.carml.engine.template.Template;
 import io.carml.engine.template.TemplateParser;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import org.junit.jupiter.api.Test;
@@ -36,7 +37,7 @@ class GetTemplateValueTest {
     Template template = TemplateParser.build()
         .parse("abc{xyz}");
     GetTemplateValue getTemplateValue =
-        new GetTemplateValue(template, template.getExpressions(), transformValue, createNaturalRdfLexicalForm);
+        new GetTemplateValue(template, transformValue, createNaturalRdfLexicalForm);
     Optional<Object> templateValue = getTemplateValue.apply(expressionEvaluation);
     String result = unpackTemplateValue(templateValue);
     assertThat(result, is("abctransformed"));
@@ -64,7 +65,7 @@ class GetTemplateValueTest {
     Template template = TemplateParser.build()
         .parse("abc{xyz}{xyz}");
     GetTemplateValue getTemplateValue =
-        new GetTemplateValue(template, template.getExpressions(), transformValue, createNaturalRdfLexicalForm);
+        new GetTemplateValue(template, transformValue, createNaturalRdfLexicalForm);
     Optional<Object> templateValue = getTemplateValue.apply(expressionEvaluation);
     String result = unpackTemplateValue(templateValue);
     assertThat(result, is("abctransformedtransformed"));
@@ -77,9 +78,68 @@ class GetTemplateValueTest {
     Template template = TemplateParser.build()
         .parse("abc{xyz}");
     GetTemplateValue getTemplateValue =
-        new GetTemplateValue(template, template.getExpressions(), transformValue, createNaturalRdfLexicalForm);
+        new GetTemplateValue(template, transformValue, createNaturalRdfLexicalForm);
     Optional<Object> templateValue = getTemplateValue.apply(expressionEvaluation);
     assertThat(templateValue, is(Optional.empty()));
   }
 
+  @Test
+  void getTemplateValue_givenMultiValuedAndSingleValuedExpressions_returnsValuePerMultiValuedValue() {
+    when(expressionEvaluation.apply("abc")).thenReturn(Optional.of(List.of("a1", "a2")));
+    when(expressionEvaluation.apply("xyz")).thenReturn(Optional.of(List.of("x1", "x2")));
+
+    Template template = TemplateParser.build()
+        .parse("{abc}-{xyz}");
+    GetTemplateValue getTemplateValue = new GetTemplateValue(template, UnaryOperator.identity(), Object::toString);
+    Optional<Object> templateValue = getTemplateValue.apply(expressionEvaluation);
+    assertThat(templateValue, is(Optional.<Object>of(List.of("a1-x1", "a2-x2"))));
+  }
+
+  @Test
+  void getTemplateValue_givenSingleValuedExpressionsInRepeatedApplications_returnsValuePerApplication() {
+    when(expressionEvaluation.apply("xyz")).thenReturn(Optional.of("one"))
+        .thenReturn(Optional.of(2));
+
+    Template template = TemplateParser.build()
+        .parse("abc/{xyz}/def");
+    GetTemplateValue getTemplateValue = new GetTemplateValue(template, UnaryOperator.identity(), Object::toString);
+    Optional<Object> firstTemplateValue = getTemplateValue.apply(expressionEvaluation);
+    Optional<Object> secondTemplateValue = getTemplateValue.apply(expressionEvaluation);
+    assertThat(firstTemplateValue, is(Optional.<Object>of(List.of("abc/one/def"))));
+    assertThat(secondTemplateValue, is(Optional.<Object>of(List.of("abc/2/def"))));
+  }
+
+  @Test
+  void getTemplateValue_givenTemplateWithoutCompileImplementation_compilesTemplateByDefault() {
+    when(expressionEvaluation.apply("abc")).thenReturn(Optional.of("a"))
+        .thenReturn(Optional.of(List.of("a1", "a2")));
+    when(expressionEvaluation.apply("xyz")).thenReturn(Optional.of("x"))
+        .thenReturn(Optional.of(List.of("x1", "x2")));
+
+    Template parsedTemplate = TemplateParser.build()
+        .parse("{abc}-{xyz}/def");
+    Template template = new Template() {
+
+      @Override
+      public Set<Expression> getExpressions() {
+        return parsedTemplate.getExpressions();
+      }
+
+      @Override
+      public Builder newBuilder() {
+        return parsedTemplate.newBuilder();
+      }
+
+      @Override
+      public String toTemplateString() {
+        return parsedTemplate.toTemplateString();
+      }
+    };
+    GetTemplateValue getTemplateValue = new GetTemplateValue(template, UnaryOperator.identity(), Object::toString);
+    Optional<Object> singleValuedTemplateValue = getTemplateValue.apply(expressionEvaluation);
+    Optional<Object> multiValuedTemplateValue = getTemplateValue.apply(expressionEvaluation);
+    assertThat(singleValuedTemplateValue, is(Optional.<Object>of(List.of("a-x/def"))));
+    assertThat(multiValuedTemplateValue, is(Optional.<Object>of(List.of("a1-x1/def", "a2-x2/def"))));
+  }
+
 }
@@ -0,0 +1,88 @@
+package io.carml.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.core.Is.is;
+
+import io.carml.engine.join.ParentSideJoinKey;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JoinStatisticsTest {
+
+  @Test
+  void givenRepeatedParentJoinKeys_whenEstimateParentJoinKeyCount_thenEstimateDistinctKeys() {
+    // Given
+    var joinStatistics = new JoinStatistics();
+
+    // When
+    for (int i = 0; i < 300_000; i++) {
+      joinStatistics.addParentRecord(List.of(ParentSideJoinKey.of("id", Integer.toString(i % 100_000))));
+    }
+
+    // Then
+    assertThat(joinStatistics.getParentRecordCount(), is(300_000L));
+    assertThat((double) joinStatistics.estimateParentJoinKeyCount(), is(closeTo(100_000, 5_000)));
+  }
+
+  @Test
+  void givenFewParentJoinKeys_whenEstimateParentJoinKeyCount_thenEstimateExactly() {
+    // Given
+    var joinStatistics = new JoinStatistics();
+
+    // When
+    joinStatistics.addParentRecord(List.of(ParentSideJoinKey.of("id", "1"), ParentSideJoinKey.of("name", "1")));
+    joinStatistics.addParentRecord(List.of(ParentSideJoinKey.of("id", "1")));
+
+    // Then
+    assertThat(joinStatistics.estimateParentJoinKeyCount(), is(2L));
+  }
+
+  @Test
+  void givenFewerChildRecordsThanParentJoinKeys_whenSelectBuildSide_thenSelectChild() {
+    // Given
+    var joinStatistics = new JoinStatistics();
+    joinStatistics.addChildRecord();
+    for (int i = 0; i < 1_000; i++) {
+      joinStatistics.addParentRecord(List.of(ParentSideJoinKey.of("id", Integer.toString(i))));
+    }
+
+    // When
+    var buildSide = joinStatistics.selectBuildSide();
+
+    // Then
+    assertThat(buildSide, is(JoinSide.CHILD));
+  }
+
+  @Test
+  void givenMoreChildRecordsThanParentJoinKeys_whenSelectBuildSide_thenSelectParent() {
+    // Given
+    var joinStatistics = new JoinStatistics();
+    for (int i = 0; i < 1_000; i++) {
+      joinStatistics.addChildRecord();
+      joinStatistics.addParentRecord(List.of(ParentSideJoinKey.of("id", Integer.toString(i % 10))));
+    }
+
+    // When
+    var buildSide = joinStatistics.selectBuildSide();
+
+    // Then
+    assertThat(buildSide, is(JoinSide.PARENT));
+  }
+
+  @Test
+  void givenStatistics_whenClear_thenResetStatistics() {
+    // Given
+    var joinStatistics = new JoinStatistics();
+    joinStatistics.addChildRecord();
+    joinStatistics.addParentRecord(List.of(ParentSideJoinKey.of("id", "1")));
+
+    // When
+    joinStatistics.clear();
+
+    // Then
+    assertThat(joinStatistics.getChildRecordCount(), is(0L));
+    assertThat(joinStatistics.getParentRecordCount(), is(0L));
+    assertThat(joinStatistics.estimateParentJoinKeyCount(), is(0L));
+  }
+}
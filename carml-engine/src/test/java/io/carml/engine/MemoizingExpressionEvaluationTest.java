@@ -0,0 +1,80 @@
+package io.carml.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MemoizingExpressionEvaluationTest {
+
+  @Mock
+  ExpressionEvaluation expressionEvaluation;
+
+  @Test
+  void givenExpressionEvaluatedRepeatedly_whenApply_thenEvaluateOnce() {
+    // Given
+    when(expressionEvaluation.apply("id")).thenReturn(Optional.of("1"));
+    var memoizingExpressionEvaluation = MemoizingExpressionEvaluation.of(expressionEvaluation);
+
+    // When
+    var first = memoizingExpressionEvaluation.apply("id");
+    var second = memoizingExpressionEvaluation.apply("id");
+
+    // Then
+    assertThat(first, is(Optional.of("1")));
+    assertThat(second, is(sameInstance(first)));
+    verify(expressionEvaluation, times(1)).apply("id");
+  }
+
+  @Test
+  void givenExpressionWithoutResult_whenApplyRepeatedly_thenEvaluateOnce() {
+    // Given
+    when(expressionEvaluation.apply("missing")).thenReturn(Optional.empty());
+    var memoizingExpressionEvaluation = MemoizingExpressionEvaluation.of(expressionEvaluation);
+
+    // When
+    memoizingExpressionEvaluation.apply("missing");
+    var result = memoizingExpressionEvaluation.apply("missing");
+
+    // Then
+    assertThat(result, is(Optional.empty()));
+    verify(expressionEvaluation, times(1)).apply("missing");
+  }
+
+  @Test
+  void givenDifferentExpressions_whenApply_thenEvaluateEach() {
+    // Given
+    when(expressionEvaluation.apply("id")).thenReturn(Optional.of("1"));
+    when(expressionEvaluation.apply("name")).thenReturn(Optional.of("foo"));
+    var memoizingExpressionEvaluation = MemoizingExpressionEvaluation.of(expressionEvaluation);
+
+    // When
+    var id = memoizingExpressionEvaluation.apply("id");
+    var name = memoizingExpressionEvaluation.apply("name");
+
+    // Then
+    assertThat(id, is(Optional.of("1")));
+    assertThat(name, is(Optional.of("foo")));
+  }
+
+  @Test
+  void givenMemoizingExpressionEvaluation_whenOf_thenReturnSameInstance() {
+    // Given
+    var memoizingExpressionEvaluation = MemoizingExpressionEvaluation.of(expressionEvaluation);
+
+    // When
+    var result = MemoizingExpressionEvaluation.of(memoizingExpressionEvaluation);
+
+    // Then
+    assertThat(result, is(sameInstance(memoizingExpressionEvaluation)));
+  }
+}
@@ -0,0 +1,60 @@
+package io.carml.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.when;
+
+import io.carml.logicalsourceresolver.LogicalSourceRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+@ExtendWith(MockitoExtension.class)
+class TriplesMapperTest {
+
+  @Mock
+  private TriplesMapper<String> triplesMapper;
+
+  @Mock
+  private LogicalSourceRecord<?> logicalSourceRecord;
+
+  @Test
+  void givenTriplesMapperWithoutSinkMapping_whenMapToSink_thenPushResultsOfFlux() {
+    // Given
+    when(triplesMapper.map(logicalSourceRecord)).thenReturn(Flux.just("foo", "bar"));
+    doCallRealMethod().when(triplesMapper)
+        .map(any(), any());
+
+    List<String> results = new ArrayList<>();
+
+    // When
+    triplesMapper.map(logicalSourceRecord, results::add);
+
+    // Then
+    assertThat(results, is(List.of("foo", "bar")));
+  }
+
+  @Test
+  void givenTriplesMapperWithFailingFlux_whenMapToSink_thenThrowException() {
+    // Given
+    when(triplesMapper.map(logicalSourceRecord)).thenReturn(Flux.error(new IllegalStateException("foo")));
+    doCallRealMethod().when(triplesMapper)
+        .map(any(), any());
+
+    Consumer<String> sink = result -> {};
+
+    // When
+    var exception = assertThrows(IllegalStateException.class, () -> triplesMapper.map(logicalSourceRecord, sink));
+
+    // Then
+    assertThat(exception.getMessage(), is("foo"));
+  }
+}
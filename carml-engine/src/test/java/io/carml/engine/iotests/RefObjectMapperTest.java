@@ -1,6 +1,8 @@
 package io.carml.engine.iotests;
 
+import io.carml.engine.ParallelMapping;
 import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
 
 class RefObjectMapperTest extends MappingTester {
 
@@ -22,6 +24,20 @@ class RefObjectMapperTest extends MappingTester {
         "/RmlMapper/test17/multipleJoinConditionsMappingA.output.ttl");
   }
 
+  @Test
+  void testMultiJoinConditionsAUnorderedParallel() {
+    testMapping("RmlMapper", "/RmlMapper/test17/multipleJoinConditionsMappingA.rml.ttl",
+        "/RmlMapper/test17/multipleJoinConditionsMappingA.output.ttl",
+        builder -> builder.parallelMapping(ParallelMapping.unordered(Schedulers.boundedElastic(), 4)));
+  }
+
+  @Test
+  void testJoinTriplesMappingBWithDiffIteratorAndSourceOrderedParallel() {
+    testMapping("RmlMapper", "/RmlMapper/test15/joinIntegratedMappingB.rml.ttl",
+        "/RmlMapper/test15/joinIntegratedMappingB.output.ttl",
+        builder -> builder.parallelMapping(ParallelMapping.preserveSourceOrder(Schedulers.boundedElastic(), 4)));
+  }
+
   @Test
   void testJoinTriplesMappingDDiffSourceAndIteratorWithList() {
     testMapping("RmlMapper", "/RmlMapper/test15/joinIntegratedMappingD.rml.ttl",
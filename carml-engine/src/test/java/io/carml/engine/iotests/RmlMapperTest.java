@@ -178,6 +178,17 @@ class RmlMapperTest extends MappingTester {
     testMapping("RmlMapper", "/RmlMapper/csv/cars.rml.ttl", "/RmlMapper/csv/cars.output.ttl");
   }
 
+  @Test
+  void testCsvSelfJoinMapping() {
+    testMapping("RmlMapper", "/RmlMapper/csv/cars-self-join.rml.ttl", "/RmlMapper/csv/cars.output.ttl");
+  }
+
+  @Test
+  void testCsvSelfJoinWithEmptyJoinValueMapping() {
+    testMapping("RmlMapper", "/RmlMapper/csv/cars-self-join-empty-make.rml.ttl",
+        "/RmlMapper/csv/cars-self-join-empty-make.output.ttl");
+  }
+
   @Test
   void testCsvEuMapping() {
     testMapping("RmlMapper", "/RmlMapper/csv/cars-eu.rml.ttl", "/RmlMapper/csv/cars-eu.output.ttl");
@@ -0,0 +1,94 @@
+package io.carml.engine.rdf;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.TermGenerator;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledTermGeneratorsTest {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final IRI IRI_1 = VALUE_FACTORY.createIRI("http://foo.bar/1");
+
+  private static final IRI IRI_2 = VALUE_FACTORY.createIRI("http://foo.bar/2");
+
+  @Mock
+  private TermGenerator<IRI> termGenerator;
+
+  @Mock
+  private ExpressionEvaluation expressionEvaluation;
+
+  @Test
+  void givenNoTermGenerators_whenGenerate_thenReturnEmptyConstantSet() {
+    // Given
+    CompiledTermGenerators<IRI> compiledTermGenerators = CompiledTermGenerators.of(Set.of());
+
+    // When
+    Set<IRI> terms = compiledTermGenerators.generate(expressionEvaluation);
+
+    // Then
+    assertThat(compiledTermGenerators.isConstant(), is(true));
+    assertThat(terms, is(empty()));
+  }
+
+  @Test
+  void givenOnlyConstantTermGenerators_whenGenerate_thenReturnSameSetForEveryEvaluation() {
+    // Given
+    List<TermGenerator<IRI>> termGenerators =
+        List.of(TermGenerator.constant(List.of(IRI_1)), TermGenerator.constant(List.of(IRI_2)));
+    CompiledTermGenerators<IRI> compiledTermGenerators = CompiledTermGenerators.of(termGenerators);
+
+    // When
+    Set<IRI> terms = compiledTermGenerators.generate(expressionEvaluation);
+
+    // Then
+    assertThat(compiledTermGenerators.isConstant(), is(true));
+    assertThat(terms, containsInAnyOrder(IRI_1, IRI_2));
+    assertThat(compiledTermGenerators.generate(expressionEvaluation), is(sameInstance(terms)));
+  }
+
+  @Test
+  void givenConstantAndNonConstantTermGenerators_whenGenerate_thenGenerateForEvaluation() {
+    // Given
+    when(termGenerator.apply(expressionEvaluation)).thenReturn(List.of(IRI_2, IRI_2));
+    CompiledTermGenerators<IRI> compiledTermGenerators =
+        CompiledTermGenerators.of(List.of(TermGenerator.constant(List.of(IRI_1)), termGenerator));
+
+    // When
+    Set<IRI> terms = compiledTermGenerators.generate(expressionEvaluation);
+
+    // Then
+    assertThat(compiledTermGenerators.isConstant(), is(false));
+    assertThat(terms, containsInAnyOrder(IRI_1, IRI_2));
+  }
+
+  @Test
+  void givenNonConstantTermGenerator_whenCompile_thenDoNotGenerateUpFront() {
+    // Given
+    // When
+    CompiledTermGenerators<IRI> compiledTermGenerators = CompiledTermGenerators.of(List.of(termGenerator));
+
+    // Then
+    assertThat(compiledTermGenerators.isConstant(), is(false));
+    verify(termGenerator, never()).apply(any());
+  }
+}
@@ -0,0 +1,30 @@
+package io.carml.engine.rdf;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import io.carml.engine.template.TemplateParser;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class IriTemplatesTest {
+
+  @ParameterizedTest
+  @CsvSource({"http://example.com/{id}, true", "http://example.com/{country}/person/{id}?q={q}#{f}, true",
+      "http://example.com?{q}, true", "http://example.com/, true", "urn:isbn:{isbn}, true",
+      "http://{host}/{id}, false", "http://example.com:{port}/, false", "{scheme}://example.com/, false",
+      "{iri}, false", "urn:{id}, false", "urn:/{id}, false", "http://example.com/%{id}, false",
+      "http://example.com/%4{id}, false", "http://example.com/{id} x, false", "http//example.com/{id}, false",
+      "person/{id}, false"})
+  void givenIriTemplate_whenIsValidByConstruction_thenReturnExpected(String template, boolean expected) {
+    // Given
+    var parsedTemplate = TemplateParser.build()
+        .parse(template);
+
+    // When
+    var validByConstruction = IriTemplates.isValidByConstruction(parsedTemplate);
+
+    // Then
+    assertThat(validByConstruction, is(expected));
+  }
+}
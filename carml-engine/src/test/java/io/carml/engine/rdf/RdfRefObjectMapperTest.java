@@ -2,17 +2,23 @@ package io.carml.engine.rdf;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Iterables;
 import io.carml.engine.ExpressionEvaluation;
+import io.carml.engine.JoinSide;
+import io.carml.engine.ParallelMapping;
 import io.carml.engine.join.ChildSideJoin;
 import io.carml.engine.join.ChildSideJoinCondition;
 import io.carml.engine.join.ChildSideJoinStore;
@@ -30,6 +36,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -45,6 +52,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -111,6 +119,49 @@ class RdfRefObjectMapperTest {
     assertThat(rdfRefObjectMapper.getRefObjectMap(), is(refObjectMap));
   }
 
+  @Test
+  void givenMultipleRecords_whenMap_thenChildSideJoinsSharePredicatesAndGraphs() {
+    // Given
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    when(refObjectMap.getJoinConditions()).thenReturn(Set.of(join1));
+    when(join1.getChild()).thenReturn("foo");
+    when(join1.getParent()).thenReturn("bar");
+
+    when(expressionEvaluation.apply(any())).thenReturn(Optional.of(List.of("baz")));
+
+    Set<Resource> graphs = Set.of(VALUE_FACTORY.createIRI("http://foo.bar/graph1"));
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+
+    // When
+    for (int i = 0; i < 2; i++) {
+      Set<Resource> subjects = Set.of(VALUE_FACTORY.createIRI("http://foo.bar/subject" + i));
+      Set<IRI> predicates = Set.of(VALUE_FACTORY.createIRI("http://foo.bar/predicate1"));
+      rdfRefObjectMapper.map(Map.of(subjects, graphs), predicates, expressionEvaluation, statement -> {});
+    }
+
+    // Then
+    verify(childSideJoinStore, times(2)).addAll(childSideJoinCaptor.capture());
+
+    List<ChildSideJoin<Resource, IRI>> childSideJoins = childSideJoinCaptor.getAllValues()
+        .stream()
+        .map(Iterables::getOnlyElement)
+        .collect(Collectors.toList());
+
+    ChildSideJoin<Resource, IRI> firstChildSideJoin = childSideJoins.get(0);
+    ChildSideJoin<Resource, IRI> secondChildSideJoin = childSideJoins.get(1);
+
+    assertThat(firstChildSideJoin.getSubjects(), is(not(secondChildSideJoin.getSubjects())));
+    assertThat(firstChildSideJoin.getPredicates(), is(sameInstance(secondChildSideJoin.getPredicates())));
+    assertThat(firstChildSideJoin.getGraphs(), is(sameInstance(secondChildSideJoin.getGraphs())));
+  }
+
   @Test
   void givenRefObjectMapperWithAllArgsWithSingleJoinCondition_whenMap_thenChildSideJoinConditionWithConditionAdded() {
     // Given
@@ -138,7 +189,7 @@ class RdfRefObjectMapperTest {
 
     // When
     Mono<Statement> refObjectMapperPromise = Mono.empty();
-    rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates, expressionEvaluation);
+    rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates, expressionEvaluation, statement -> {});
 
     // Then
     StepVerifier.create(refObjectMapperPromise)
@@ -200,7 +251,7 @@ class RdfRefObjectMapperTest {
 
     // When
     Mono<Statement> refObjectMapperPromise = Mono.empty();
-    rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates, expressionEvaluation);
+    rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates, expressionEvaluation, statement -> {});
 
     // Then
     StepVerifier.create(refObjectMapperPromise)
@@ -256,7 +307,7 @@ class RdfRefObjectMapperTest {
 
     // When
     Mono<Statement> refObjectMapperPromise = Mono.empty();
-    rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates, expressionEvaluation);
+    rdfRefObjectMapper.map(subjectsAndAllGraphs, predicates, expressionEvaluation, statement -> {});
 
     // Then
     StepVerifier.create(refObjectMapperPromise)
@@ -312,7 +363,7 @@ class RdfRefObjectMapperTest {
 
     ParentSideJoinKey parentSideJoinKey = ParentSideJoinKey.of("bar", "baz");
 
-    when(parentSideJoinConditionStore.containsKey(parentSideJoinKey)).thenReturn(true);
+    when(parentSideJoinConditionStore.mightContainKey(parentSideJoinKey)).thenReturn(true);
     when(parentSideJoinConditionStore.get(parentSideJoinKey)).thenReturn(parentSubjects);
 
     when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
@@ -381,7 +432,7 @@ class RdfRefObjectMapperTest {
 
     ParentSideJoinKey parentSideJoinKey = ParentSideJoinKey.of("bar", "baz");
 
-    when(parentSideJoinConditionStore.containsKey(parentSideJoinKey)).thenReturn(true);
+    when(parentSideJoinConditionStore.mightContainKey(parentSideJoinKey)).thenReturn(true);
     when(parentSideJoinConditionStore.get(parentSideJoinKey)).thenReturn(parentSubjects);
 
     when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
@@ -405,6 +456,404 @@ class RdfRefObjectMapperTest {
         .verifyComplete();
   }
 
+  @Test
+  void givenJoinWithMultipleConditions_whenResolveJoins_thenLookUpCompositeKey() {
+    // Given
+    IRI subject1 = VALUE_FACTORY.createIRI("http://foo.bar/subject1");
+    IRI predicate1 = VALUE_FACTORY.createIRI("http://foo.bar/predicate1");
+
+    ChildSideJoin<Resource, IRI> childSideJoin = ChildSideJoin.<Resource, IRI>builder()
+        .subjects(new HashSet<>(Set.of(subject1)))
+        .predicates(new HashSet<>(Set.of(predicate1)))
+        .graphs(new HashSet<>())
+        .childSideJoinConditions(
+            new HashSet<>(Set.of(ChildSideJoinCondition.of("foo", new ArrayList<>(List.of("baz")), "bar"),
+                ChildSideJoinCondition.of("Alice", new ArrayList<>(List.of("Carol", "Dave")), "Bob"))))
+        .build();
+
+    when(childSideJoinStore.clearingFlux()).thenReturn(Flux.just(childSideJoin));
+
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+
+    IRI parentSubject1 = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject1");
+    ParentSideJoinKey matchingKey = ParentSideJoinKey.ofComposite(List.of("Bob", "bar"), List.of("Dave", "baz"));
+    ParentSideJoinKey otherKey = ParentSideJoinKey.ofComposite(List.of("Bob", "bar"), List.of("Carol", "baz"));
+
+    when(parentSideJoinConditionStore.mightContainKey(matchingKey)).thenReturn(true);
+    when(parentSideJoinConditionStore.mightContainKey(otherKey)).thenReturn(true);
+    when(parentSideJoinConditionStore.get(matchingKey)).thenReturn(Set.of(parentSubject1));
+    when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
+
+    // When
+    Flux<Statement> joinedStatementFlux = rdfRefObjectMapper.resolveJoins(parentRdfTriplesMapper);
+
+    // Then
+    StepVerifier.create(joinedStatementFlux)
+        .expectNext(VALUE_FACTORY.createStatement(subject1, predicate1, parentSubject1))
+        .verifyComplete();
+    verify(parentSideJoinConditionStore, times(2)).get(any());
+  }
+
+  @Test
+  void givenJoinsWithEqualJoinConditions_whenResolveJoins_thenLookUpParentSubjectsOnce() {
+    // Given
+    IRI subject1 = VALUE_FACTORY.createIRI("http://foo.bar/subject1");
+    IRI subject2 = VALUE_FACTORY.createIRI("http://foo.bar/subject2");
+    IRI predicate1 = VALUE_FACTORY.createIRI("http://foo.bar/predicate1");
+    List<ChildSideJoin<Resource, IRI>> childSideJoins = Stream.of(subject1, subject2)
+        .map(subject -> ChildSideJoin.<Resource, IRI>builder()
+            .subjects(new HashSet<>(Set.of(subject)))
+            .predicates(new HashSet<>(Set.of(predicate1)))
+            .graphs(new HashSet<>())
+            .childSideJoinConditions(
+                new HashSet<>(Set.of(ChildSideJoinCondition.of("foo", new ArrayList<>(List.of("baz")), "bar"))))
+            .build())
+        .collect(Collectors.toList());
+
+    when(childSideJoinStore.clearingFlux()).thenReturn(Flux.fromIterable(childSideJoins));
+
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+
+    IRI parentSubject1 = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject1");
+    ParentSideJoinKey parentSideJoinKey = ParentSideJoinKey.of("bar", "baz");
+
+    when(parentSideJoinConditionStore.mightContainKey(parentSideJoinKey)).thenReturn(true);
+    when(parentSideJoinConditionStore.get(parentSideJoinKey)).thenReturn(Set.of(parentSubject1));
+    when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
+
+    // When
+    Flux<Statement> joinedStatementFlux = rdfRefObjectMapper.resolveJoins(parentRdfTriplesMapper);
+
+    // Then
+    StepVerifier.create(joinedStatementFlux)
+        .expectNext(VALUE_FACTORY.createStatement(subject1, predicate1, parentSubject1))
+        .expectNext(VALUE_FACTORY.createStatement(subject2, predicate1, parentSubject1))
+        .verifyComplete();
+    verify(parentSideJoinConditionStore, times(1)).get(any());
+  }
+
+  @Test
+  void givenJoinWithAbsentParentKey_whenResolveJoins_thenSkipsParentLookup() {
+    // Given
+    ChildSideJoin<Resource, IRI> childSideJoin = ChildSideJoin.<Resource, IRI>builder()
+        .subjects(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://foo.bar/subject1"))))
+        .predicates(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://foo.bar/predicate1"))))
+        .graphs(new HashSet<>())
+        .childSideJoinConditions(
+            new HashSet<>(Set.of(ChildSideJoinCondition.of("foo", new ArrayList<>(List.of("baz")), "bar"))))
+        .build();
+
+    when(childSideJoinStore.clearingFlux()).thenReturn(Flux.just(childSideJoin));
+
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+
+    when(parentSideJoinConditionStore.mightContainKey(ParentSideJoinKey.of("bar", "baz"))).thenReturn(false);
+    when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
+
+    // When
+    Flux<Statement> joinedStatementFlux = rdfRefObjectMapper.resolveJoins(parentRdfTriplesMapper);
+
+    // Then
+    StepVerifier.create(joinedStatementFlux)
+        .verifyComplete();
+    verify(parentSideJoinConditionStore, never()).get(any());
+  }
+
+  @Test
+  void givenParallelMapping_whenResolveJoins_thenResolveJoinsInPartitions() {
+    // Given
+    IRI predicate1 = VALUE_FACTORY.createIRI("http://foo.bar/predicate1");
+    List<ChildSideJoin<Resource, IRI>> childSideJoins = new ArrayList<>();
+    Set<Statement> expectedStatements = new HashSet<>();
+
+    for (int i = 0; i < 100; i++) {
+      IRI subject = VALUE_FACTORY.createIRI("http://foo.bar/subject" + i);
+      IRI parentSubject = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject" + i % 10);
+      childSideJoins.add(ChildSideJoin.<Resource, IRI>builder()
+          .subjects(new HashSet<>(Set.of(subject)))
+          .predicates(new HashSet<>(Set.of(predicate1)))
+          .graphs(new HashSet<>())
+          .childSideJoinConditions(new HashSet<>(
+              Set.of(ChildSideJoinCondition.of("foo", new ArrayList<>(List.of(Integer.toString(i % 10))), "bar"))))
+          .build());
+      expectedStatements.add(VALUE_FACTORY.createStatement(subject, predicate1, parentSubject));
+    }
+
+    when(childSideJoinStore.clearingFlux()).thenReturn(Flux.fromIterable(childSideJoins));
+
+    when(parentSideJoinConditionStore.mightContainKey(any())).thenReturn(true);
+    for (int key = 0; key < 10; key++) {
+      when(parentSideJoinConditionStore.get(ParentSideJoinKey.of("bar", Integer.toString(key))))
+          .thenReturn(Set.of(VALUE_FACTORY.createIRI("http://foo.bar/parentSubject" + key)));
+    }
+    when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
+
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+
+    // When
+    Flux<Statement> joinedStatementFlux =
+        rdfRefObjectMapper.resolveJoins(parentRdfTriplesMapper, ParallelMapping.unordered(Schedulers.parallel(), 4));
+
+    // Then
+    StepVerifier.create(joinedStatementFlux.collect(Collectors.toSet()))
+        .expectNext(expectedStatements)
+        .verifyComplete();
+  }
+
+  @Test
+  void givenCompletedParentMapping_whenMap_thenResolveJoinDirectly() {
+    // Given
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    when(refObjectMap.getJoinConditions()).thenReturn(Set.of(join1));
+    when(join1.getChild()).thenReturn("foo");
+    when(join1.getParent()).thenReturn("bar");
+    when(expressionEvaluation.apply("foo")).thenReturn(Optional.of(List.of("baz")));
+
+    IRI subject1 = VALUE_FACTORY.createIRI("http://foo.bar/subject1");
+    IRI predicate1 = VALUE_FACTORY.createIRI("http://foo.bar/predicate1");
+    IRI graph1 = VALUE_FACTORY.createIRI("http://foo.bar/graph1");
+    IRI parentSubject1 = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject1");
+
+    ParentSideJoinKey parentSideJoinKey = ParentSideJoinKey.of("bar", "baz");
+    when(parentSideJoinConditionStore.mightContainKey(parentSideJoinKey)).thenReturn(true);
+    when(parentSideJoinConditionStore.get(parentSideJoinKey)).thenReturn(Set.of(parentSubject1));
+    when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+    rdfRefObjectMapper.parentMappingCompleted(parentRdfTriplesMapper);
+
+    List<Statement> statements = new ArrayList<>();
+
+    // When
+    rdfRefObjectMapper.map(Map.of(Set.of(subject1), Set.of(graph1)), Set.of(predicate1), expressionEvaluation,
+        statements::add);
+
+    // Then
+    assertThat(statements, is(List.of(VALUE_FACTORY.createStatement(subject1, predicate1, parentSubject1, graph1))));
+    verify(childSideJoinStore, never()).addAll(any());
+  }
+
+  @Test
+  void givenCleanupAfterParentMappingCompleted_whenMap_thenStoreChildSideJoin() {
+    // Given
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    when(refObjectMap.getJoinConditions()).thenReturn(Set.of(join1));
+    when(join1.getChild()).thenReturn("foo");
+    when(join1.getParent()).thenReturn("bar");
+    when(expressionEvaluation.apply("foo")).thenReturn(Optional.of(List.of("baz")));
+
+    Set<Resource> subjects = Set.of(VALUE_FACTORY.createIRI("http://foo.bar/subject1"));
+    Set<IRI> predicates = Set.of(VALUE_FACTORY.createIRI("http://foo.bar/predicate1"));
+
+    when(parentRdfTriplesMapper.getParentSideJoinConditions()).thenReturn(parentSideJoinConditionStore);
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+    rdfRefObjectMapper.parentMappingCompleted(parentRdfTriplesMapper);
+    rdfRefObjectMapper.cleanup();
+
+    List<Statement> statements = new ArrayList<>();
+
+    // When
+    rdfRefObjectMapper.map(Map.of(subjects, Set.of()), predicates, expressionEvaluation, statements::add);
+
+    // Then
+    assertThat(statements, is(empty()));
+    verify(childSideJoinStore, times(1)).addAll(childSideJoinCaptor.capture());
+    assertThat(Iterables.getOnlyElement(childSideJoinCaptor.getValue())
+        .getSubjects(), is(subjects));
+  }
+
+  @Test
+  void givenChildBuildSide_whenProbeChildSideJoins_thenJoinIndexedChildRecords() {
+    // Given
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    when(refObjectMap.getJoinConditions()).thenReturn(Set.of(join1));
+    when(join1.getChild()).thenReturn("foo");
+    when(join1.getParent()).thenReturn("bar");
+    when(expressionEvaluation.apply("foo")).thenReturn(Optional.of(List.of("baz")));
+
+    ExpressionEvaluation matchingParentEvaluation = mock(ExpressionEvaluation.class);
+    when(matchingParentEvaluation.apply("bar")).thenReturn(Optional.of("baz"));
+    ExpressionEvaluation otherParentEvaluation = mock(ExpressionEvaluation.class);
+    when(otherParentEvaluation.apply("bar")).thenReturn(Optional.of("qux"));
+
+    IRI subject1 = VALUE_FACTORY.createIRI("http://foo.bar/subject1");
+    IRI predicate1 = VALUE_FACTORY.createIRI("http://foo.bar/predicate1");
+    IRI parentSubject1 = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject1");
+    IRI parentSubject2 = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject2");
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+    rdfRefObjectMapper.setBuildSide(JoinSide.CHILD);
+
+    List<Statement> statements = new ArrayList<>();
+    rdfRefObjectMapper.map(Map.of(Set.of(subject1), Set.of()), Set.of(predicate1), expressionEvaluation,
+        statements::add);
+
+    // When
+    rdfRefObjectMapper.probeChildSideJoins(matchingParentEvaluation, Set.of(parentSubject1), statements::add);
+    rdfRefObjectMapper.probeChildSideJoins(otherParentEvaluation, Set.of(parentSubject2), statements::add);
+
+    // Then
+    assertThat(statements, is(List.of(VALUE_FACTORY.createStatement(subject1, predicate1, parentSubject1))));
+    verify(childSideJoinStore, never()).addAll(any());
+    assertThat(rdfRefObjectMapper.getJoinStatistics()
+        .getChildRecordCount(), is(1L));
+    assertThat(rdfRefObjectMapper.getJoinStatistics()
+        .getParentRecordCount(), is(2L));
+  }
+
+  @Test
+  void givenChildBuildSideAndParentRecordsWithSameSubject_whenProbeChildSideJoins_thenJoinParentSubjectOnce() {
+    // Given
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    when(refObjectMap.getJoinConditions()).thenReturn(Set.of(join1));
+    when(join1.getChild()).thenReturn("foo");
+    when(join1.getParent()).thenReturn("bar");
+    when(expressionEvaluation.apply("foo")).thenReturn(Optional.of(List.of("baz")));
+
+    ExpressionEvaluation parentEvaluation = mock(ExpressionEvaluation.class);
+    when(parentEvaluation.apply("bar")).thenReturn(Optional.of("baz"));
+
+    IRI subject1 = VALUE_FACTORY.createIRI("http://foo.bar/subject1");
+    IRI predicate1 = VALUE_FACTORY.createIRI("http://foo.bar/predicate1");
+    IRI parentSubject1 = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject1");
+    IRI parentSubject2 = VALUE_FACTORY.createIRI("http://foo.bar/parentSubject2");
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+    rdfRefObjectMapper.setBuildSide(JoinSide.CHILD);
+
+    List<Statement> statements = new ArrayList<>();
+    rdfRefObjectMapper.map(Map.of(Set.of(subject1), Set.of()), Set.of(predicate1), expressionEvaluation,
+        statements::add);
+
+    // When
+    rdfRefObjectMapper.probeChildSideJoins(parentEvaluation, Set.of(parentSubject1), statements::add);
+    rdfRefObjectMapper.probeChildSideJoins(parentEvaluation, Set.of(parentSubject1, parentSubject2),
+        statements::add);
+
+    // Then
+    assertThat(statements, is(List.of(VALUE_FACTORY.createStatement(subject1, predicate1, parentSubject1),
+        VALUE_FACTORY.createStatement(subject1, predicate1, parentSubject2))));
+  }
+
+  @Test
+  void givenFewerChildRecordsThanParentKeys_whenCleanup_thenPreferChildBuildSide() {
+    // Given
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    when(refObjectMap.getJoinConditions()).thenReturn(Set.of(join1));
+    when(join1.getChild()).thenReturn("foo");
+    when(join1.getParent()).thenReturn("bar");
+    when(expressionEvaluation.apply("foo")).thenReturn(Optional.of(List.of("baz")));
+
+    when(childSideJoinStore.keepsJoinsOnHeap()).thenReturn(true);
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+
+    rdfRefObjectMapper.map(Map.of(Set.of(VALUE_FACTORY.createIRI("http://foo.bar/subject1")), Set.of()),
+        Set.of(VALUE_FACTORY.createIRI("http://foo.bar/predicate1")), expressionEvaluation, statement -> {});
+    for (int i = 0; i < 10; i++) {
+      rdfRefObjectMapper.addParentStatistics(List.of(ParentSideJoinKey.of("bar", Integer.toString(i))));
+    }
+
+    // When
+    rdfRefObjectMapper.cleanup();
+
+    // Then
+    assertThat(rdfRefObjectMapper.getPreferredBuildSide(), is(JoinSide.CHILD));
+    assertThat(rdfRefObjectMapper.getBuildSide(), is(JoinSide.PARENT));
+    assertThat(rdfRefObjectMapper.getJoinStatistics()
+        .getChildRecordCount(), is(0L));
+  }
+
+  @Test
+  void givenChildSideJoinStoreNotOnHeap_whenCleanup_thenPreferParentBuildSide() {
+    // Given
+    RdfMapperConfig rdfMappingConfig = RdfMapperConfig.builder()
+        .valueFactorySupplier(() -> VALUE_FACTORY)
+        .termGeneratorFactory(rdfTermGeneratorFactory)
+        .childSideJoinStoreProvider(childSideJoinStoreProvider)
+        .build();
+
+    when(refObjectMap.getJoinConditions()).thenReturn(Set.of(join1));
+    when(join1.getChild()).thenReturn("foo");
+    when(join1.getParent()).thenReturn("bar");
+    when(expressionEvaluation.apply("foo")).thenReturn(Optional.of(List.of("baz")));
+    when(childSideJoinStore.keepsJoinsOnHeap()).thenReturn(false);
+
+    RdfRefObjectMapper rdfRefObjectMapper =
+        RdfRefObjectMapper.of(refObjectMap, triplesMap, rdfMappingConfig, childSideJoinStoreProvider);
+
+    rdfRefObjectMapper.map(Map.of(Set.of(VALUE_FACTORY.createIRI("http://foo.bar/subject1")), Set.of()),
+        Set.of(VALUE_FACTORY.createIRI("http://foo.bar/predicate1")), expressionEvaluation, statement -> {});
+    for (int i = 0; i < 10; i++) {
+      rdfRefObjectMapper.addParentStatistics(List.of(ParentSideJoinKey.of("bar", Integer.toString(i))));
+    }
+
+    // When
+    rdfRefObjectMapper.cleanup();
+
+    // Then
+    assertThat(rdfRefObjectMapper.getPreferredBuildSide(), is(JoinSide.PARENT));
+  }
+
   private static Flux<Statement> generateStatementsFor(String id, int amount) {
     List<Statement> statements = new ArrayList<>();
     for (int i = 0; i < amount; i++) {
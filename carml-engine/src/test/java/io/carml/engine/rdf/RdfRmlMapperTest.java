@@ -5,6 +5,7 @@ import static org.hamcrest.Matchers.equalToCompressingWhiteSpace;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import io.carml.engine.ParallelMapping;
 import io.carml.engine.RmlMapperException;
 import io.carml.engine.join.impl.CarmlChildSideJoinStoreProvider;
 import io.carml.engine.join.impl.CarmlParentSideJoinConditionStoreProvider;
@@ -12,23 +13,30 @@ import io.carml.engine.sourceresolver.ClassPathResolver;
 import io.carml.logicalsourceresolver.CsvResolver;
 import io.carml.logicalsourceresolver.XPathResolver;
 import io.carml.model.TriplesMap;
+import io.carml.util.Models;
 import io.carml.util.RmlMappingLoader;
 import io.carml.vocab.Rdf;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.Normalizer;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.impl.ValidatingValueFactory;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -166,6 +174,50 @@ class RdfRmlMapperTest {
     assertThat(model.size(), is(21));
   }
 
+  @Test
+  void givenMappingExpectingInputStream_whenMapToRdfHandlerWithInputStream_thenHandleAllStatements() {
+    // Given
+    InputStream mappingSource = RdfRmlMapperTest.class.getResourceAsStream("cars.rml.ttl");
+    Set<TriplesMap> mapping = RmlMappingLoader.build()
+        .load(RDFFormat.TURTLE, mappingSource);
+    RdfRmlMapper rmlMapper = RdfRmlMapper.builder()
+        .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
+        .triplesMaps(mapping)
+        .build();
+
+    InputStream sourceInputStream = RdfRmlMapperTest.class.getResourceAsStream("cars.csv");
+    StatementCollector statementCollector = new StatementCollector();
+
+    // When
+    rmlMapper.mapTo(sourceInputStream, statementCollector);
+
+    // Then
+    assertThat(statementCollector.getStatements()
+        .size(), is(22));
+  }
+
+  @Test
+  void givenMappingExpectingInputStream_whenMapToOutputStreamWithInputStream_thenWriteAllStatements() {
+    // Given
+    InputStream mappingSource = RdfRmlMapperTest.class.getResourceAsStream("cars.rml.ttl");
+    Set<TriplesMap> mapping = RmlMappingLoader.build()
+        .load(RDFFormat.TURTLE, mappingSource);
+    RdfRmlMapper rmlMapper = RdfRmlMapper.builder()
+        .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
+        .triplesMaps(mapping)
+        .build();
+
+    InputStream sourceInputStream = RdfRmlMapperTest.class.getResourceAsStream("cars.csv");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // When
+    rmlMapper.mapTo(sourceInputStream, outputStream, RDFFormat.TURTLE);
+
+    // Then
+    Model model = Models.parse(new ByteArrayInputStream(outputStream.toByteArray()), RDFFormat.TURTLE);
+    assertThat(model.size(), is(21));
+  }
+
   @Test
   void givenMappingExpectingInputStreamAndTriplesMapFilter_whenMapToModelWithInputStreamAndFilter_thenMapCorrectly() {
     // Given
@@ -193,6 +245,111 @@ class RdfRmlMapperTest {
     assertThat(model.size(), is(3));
   }
 
+  @Test
+  void givenCancelledMappingWithJoins_whenMapAgain_thenMapWithoutJoinsOfCancelledMapping() {
+    // Given
+    InputStream mappingSource = RdfRmlMapperTest.class.getResourceAsStream("cars-join.rml.ttl");
+    Set<TriplesMap> mapping = RmlMappingLoader.build()
+        .load(RDFFormat.TURTLE, mappingSource);
+    RdfRmlMapper rmlMapper = RdfRmlMapper.builder()
+        .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
+        .triplesMaps(mapping)
+        .build();
+
+    StepVerifier.create(rmlMapper.map(RdfRmlMapperTest.class.getResourceAsStream("cars.csv")), 5)
+        .expectNextCount(5)
+        .thenCancel()
+        .verify();
+
+    // When
+    Flux<Statement> statements = rmlMapper.map(RdfRmlMapperTest.class.getResourceAsStream("cars.csv"));
+
+    // Then
+    // 4 cars and 4 models, and the Ford and Jeep cars join 1 model each, and the 2 Chevy cars 2 models each
+    StepVerifier.create(statements)
+        .expectNextCount(14)
+        .expectComplete()
+        .verify();
+  }
+
+  @Test
+  void givenMapperPreservingSourceOrderInParallel_whenMapWithInputStream_thenMapInSourceOrder() {
+    // Given
+    InputStream mappingSource = RdfRmlMapperTest.class.getResourceAsStream("cars.rml.ttl");
+    Set<TriplesMap> mapping = RmlMappingLoader.build()
+        .load(RDFFormat.TURTLE, mappingSource);
+
+    TriplesMap carMapping = mapping.stream()
+        .filter(tm -> tm.getResourceName()
+            .equals("http://example.com/mapping/CarMapping"))
+        .findFirst()
+        .orElseThrow(IllegalStateException::new);
+
+    RdfRmlMapper sequentialMapper = RdfRmlMapper.builder()
+        .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
+        .triplesMaps(mapping)
+        .build();
+
+    RdfRmlMapper parallelMapper = RdfRmlMapper.builder()
+        .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
+        .triplesMaps(mapping)
+        .parallelMapping(ParallelMapping.preserveSourceOrder(Schedulers.boundedElastic(), 4))
+        .build();
+
+    List<Resource> expectedSubjects = sequentialMapper
+        .map(RdfRmlMapperTest.class.getResourceAsStream("cars.csv"), Set.of(carMapping))
+        .map(Statement::getSubject)
+        .distinct()
+        .collectList()
+        .block();
+
+    // When
+    Flux<Resource> subjects =
+        parallelMapper.map(RdfRmlMapperTest.class.getResourceAsStream("cars.csv"), Set.of(carMapping))
+            .map(Statement::getSubject)
+            .distinct();
+
+    // Then
+    StepVerifier.create(subjects.collectList())
+        .expectNext(expectedSubjects)
+        .expectComplete()
+        .verify();
+  }
+
+  @Test
+  void givenUnorderedParallelMapper_whenMapToModelWithInputStream_thenMapCorrectly() {
+    // Given
+    InputStream mappingSource = RdfRmlMapperTest.class.getResourceAsStream("cars.rml.ttl");
+    Set<TriplesMap> mapping = RmlMappingLoader.build()
+        .load(RDFFormat.TURTLE, mappingSource);
+    RdfRmlMapper rmlMapper = RdfRmlMapper.builder()
+        .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
+        .triplesMaps(mapping)
+        .parallelMapping(ParallelMapping.unordered(Schedulers.boundedElastic(), 4))
+        .build();
+
+    InputStream sourceInputStream = RdfRmlMapperTest.class.getResourceAsStream("cars.csv");
+
+    // When
+    Model model = rmlMapper.mapToModel(sourceInputStream);
+
+    // Then
+    assertThat(model.size(), is(21));
+  }
+
+  @Test
+  void givenParallelismBelowOne_whenCreateParallelMapping_thenThrowException() {
+    // Given
+    var scheduler = Schedulers.boundedElastic();
+
+    // When
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> ParallelMapping.unordered(scheduler, 0));
+
+    // Then
+    assertThat(exception.getMessage(), is("Parallelism must be at least 1, but was 0"));
+  }
+
   @Test
   void givenMappingExpectingInputStream_whenMapRecordToModelWithInputStream_thenMapCorrectly() {
     // Given
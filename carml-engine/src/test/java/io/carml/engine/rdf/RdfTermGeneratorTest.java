@@ -9,15 +9,21 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import com.google.common.cache.CacheBuilderSpec;
 import io.carml.engine.ExpressionEvaluation;
 import io.carml.engine.template.TemplateParser;
+import io.carml.model.TermType;
 import io.carml.model.impl.CarmlDatatypeMap;
 import io.carml.model.impl.CarmlLanguageMap;
 import io.carml.model.impl.CarmlObjectMap;
 import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -148,4 +154,78 @@ class RdfTermGeneratorTest {
     assertThat(objects, hasItems(SimpleValueFactory.getInstance()
         .createLiteral("bar", iri("https://bar.com"))));
   }
+
+  @Test
+  void givenIriTemplateCache_whenValuesRecur_thenReturnCachedIris() {
+    // Given
+    var cachingTermGeneratorFactory = createCachingTermGeneratorFactory();
+    var objectGenerator = cachingTermGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("obj-map-1")
+        .template("http://example.com/{country}/{id}")
+        .build());
+
+    // When
+    var objects = Stream.of("NL", "BE", "NL")
+        .map(country -> objectGenerator.apply(evaluating(Map.of("country", country, "id", "a b"))))
+        .collect(Collectors.toList());
+
+    // Then
+    assertThat(objects, is(List.<List<Value>>of(List.of(iri("http://example.com/NL/a%20b")),
+        List.of(iri("http://example.com/BE/a%20b")), List.of(iri("http://example.com/NL/a%20b")))));
+    var cacheStats = cachingTermGeneratorFactory.getIriTemplateCacheStats();
+    assertThat(cacheStats.hitCount(), is(1L));
+    assertThat(cacheStats.missCount(), is(2L));
+  }
+
+  @Test
+  void givenIriTemplateCache_whenExpressionEvaluationReturnsEmpty_thenResultEmpty() {
+    // Given
+    var cachingTermGeneratorFactory = createCachingTermGeneratorFactory();
+    var objectGenerator = cachingTermGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("obj-map-1")
+        .template("http://example.com/{country}/{id}")
+        .build());
+
+    // When
+    var objects = objectGenerator.apply(evaluating(Map.of("country", "NL")));
+
+    // Then
+    assertThat(objects, is(empty()));
+    assertThat(cachingTermGeneratorFactory.getIriTemplateCacheStats()
+        .requestCount(), is(0L));
+  }
+
+  @Test
+  void givenIriTemplateCache_whenLiteralTemplateApplied_thenDoNotCache() {
+    // Given
+    var cachingTermGeneratorFactory = createCachingTermGeneratorFactory();
+    var objectGenerator = cachingTermGeneratorFactory.getObjectGenerator(CarmlObjectMap.builder()
+        .id("obj-map-1")
+        .template("{country}")
+        .termType(TermType.LITERAL)
+        .build());
+
+    // When
+    var objects = objectGenerator.apply(evaluating(Map.of("country", "NL")));
+
+    // Then
+    assertThat(objects, is(List.<Value>of(SimpleValueFactory.getInstance()
+        .createLiteral("NL"))));
+    assertThat(cachingTermGeneratorFactory.getIriTemplateCacheStats()
+        .requestCount(), is(0L));
+  }
+
+  private static RdfTermGeneratorFactory createCachingTermGeneratorFactory() {
+    var rdfTermGeneratorConfig = RdfTermGeneratorConfig.builder()
+        .baseIri(iri("http://example.com/base/"))
+        .valueFactory(SimpleValueFactory.getInstance())
+        .normalizationForm(Normalizer.Form.NFC)
+        .iriTemplateCacheSpec(CacheBuilderSpec.parse("maximumSize=100"))
+        .build();
+    return RdfTermGeneratorFactory.of(rdfTermGeneratorConfig, TemplateParser.build());
+  }
+
+  private static ExpressionEvaluation evaluating(Map<String, Object> values) {
+    return expression -> Optional.ofNullable(values.get(expression));
+  }
 }
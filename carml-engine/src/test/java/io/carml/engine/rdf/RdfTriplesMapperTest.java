@@ -414,8 +414,9 @@ class RdfTriplesMapperTest {
     ParentSideJoinConditionStore<Resource> joinConditions = rdfTriplesMapper.getParentSideJoinConditions();
 
     assertThat(joinConditions.get(ParentSideJoinKey.of("bar1", "baz")), is(Set.of(subject1)));
-    assertThat(joinConditions.get(ParentSideJoinKey.of("bar2", "baz")), is(Set.of(subject1)));
-    assertThat(joinConditions.get(ParentSideJoinKey.of("bar3", "baz")), is(Set.of(subject1)));
+    assertThat(joinConditions.get(ParentSideJoinKey.ofComposite(List.of("bar2", "bar3"), List.of("baz", "baz"))),
+        is(Set.of(subject1)));
+    assertThat(joinConditions.get(ParentSideJoinKey.of("bar2", "baz")), is(nullValue()));
   }
 
   @Test
@@ -0,0 +1,142 @@
+package io.carml.engine.rdf;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.carml.model.LogicalSource;
+import io.carml.model.RefObjectMap;
+import io.carml.model.TriplesMap;
+import io.carml.model.impl.CarmlJoin;
+import io.carml.model.impl.CarmlLogicalSource;
+import io.carml.model.impl.CarmlRefObjectMap;
+import io.carml.model.impl.CarmlSubjectMap;
+import io.carml.model.impl.CarmlTriplesMap;
+import io.carml.vocab.Rdf;
+import org.junit.jupiter.api.Test;
+
+class SelfJoinsTest {
+
+  private static final LogicalSource CSV_SOURCE = CarmlLogicalSource.builder()
+      .source("cars.csv")
+      .referenceFormulation(Rdf.Ql.Csv)
+      .build();
+
+  private static final LogicalSource JSON_SOURCE = CarmlLogicalSource.builder()
+      .source("cars.json")
+      .iterator("$.cars[*]")
+      .referenceFormulation(Rdf.Ql.JsonPath)
+      .build();
+
+  @Test
+  void givenSelfJoinWithParentSubjectFromJoinReference_whenIsInlinable_thenReturnTrue() {
+    // Given
+    var parentTriplesMap = triplesMap(CSV_SOURCE, "http://example.com/make/{Make}");
+    var refObjectMap = refObjectMap(parentTriplesMap, "Make", "Make");
+
+    // When
+    var isInlinable = SelfJoins.isInlinable(refObjectMap, triplesMap(CSV_SOURCE, "http://example.com/car/{Model}"));
+
+    // Then
+    assertThat(isInlinable, is(true));
+  }
+
+  @Test
+  void givenSelfJoinWithParentSubjectFromOtherReference_whenIsInlinable_thenReturnFalse() {
+    // Given
+    var parentTriplesMap = triplesMap(CSV_SOURCE, "http://example.com/make/{Make}/{Year}");
+    var refObjectMap = refObjectMap(parentTriplesMap, "Make", "Make");
+
+    // When
+    var isInlinable = SelfJoins.isInlinable(refObjectMap, triplesMap(CSV_SOURCE, "http://example.com/car/{Model}"));
+
+    // Then
+    assertThat(isInlinable, is(false));
+  }
+
+  @Test
+  void givenSelfJoinWithConstantParentSubject_whenIsInlinable_thenReturnFalse() {
+    // Given
+    var parentTriplesMap = CarmlTriplesMap.builder()
+        .logicalSource(CSV_SOURCE)
+        .subjectMap(CarmlSubjectMap.builder()
+            .constant(iri("http://example.com/make"))
+            .build())
+        .build();
+    var refObjectMap = refObjectMap(parentTriplesMap, "Make", "Make");
+
+    // When
+    var isInlinable = SelfJoins.isInlinable(refObjectMap, triplesMap(CSV_SOURCE, "http://example.com/car/{Model}"));
+
+    // Then
+    assertThat(isInlinable, is(false));
+  }
+
+  @Test
+  void givenSelfJoinWithParentSubjectFromSomeJoinReferences_whenIsInlinable_thenReturnFalse() {
+    // Given
+    var parentTriplesMap = triplesMap(CSV_SOURCE, "http://example.com/make/{Make}");
+    var refObjectMap = CarmlRefObjectMap.builder()
+        .parentTriplesMap(parentTriplesMap)
+        .joinCondition(CarmlJoin.builder()
+            .child("Make")
+            .parent("Make")
+            .build())
+        .joinCondition(CarmlJoin.builder()
+            .child("Year")
+            .parent("Year")
+            .build())
+        .build();
+
+    // When
+    var isInlinable = SelfJoins.isInlinable(refObjectMap, triplesMap(CSV_SOURCE, "http://example.com/car/{Model}"));
+
+    // Then
+    assertThat(isInlinable, is(false));
+  }
+
+  @Test
+  void givenJoinOnDifferentReferences_whenIsInlinable_thenReturnFalse() {
+    // Given
+    var parentTriplesMap = triplesMap(CSV_SOURCE, "http://example.com/make/{Make}");
+    var refObjectMap = refObjectMap(parentTriplesMap, "Brand", "Make");
+
+    // When
+    var isInlinable = SelfJoins.isInlinable(refObjectMap, triplesMap(CSV_SOURCE, "http://example.com/car/{Model}"));
+
+    // Then
+    assertThat(isInlinable, is(false));
+  }
+
+  @Test
+  void givenSelfJoinOnJsonSource_whenIsInlinable_thenReturnFalse() {
+    // Given
+    var parentTriplesMap = triplesMap(JSON_SOURCE, "http://example.com/make/{Make}");
+    var refObjectMap = refObjectMap(parentTriplesMap, "Make", "Make");
+
+    // When
+    var isInlinable = SelfJoins.isInlinable(refObjectMap, triplesMap(JSON_SOURCE, "http://example.com/car/{Model}"));
+
+    // Then
+    assertThat(isInlinable, is(false));
+  }
+
+  private static TriplesMap triplesMap(LogicalSource logicalSource, String subjectTemplate) {
+    return CarmlTriplesMap.builder()
+        .logicalSource(logicalSource)
+        .subjectMap(CarmlSubjectMap.builder()
+            .template(subjectTemplate)
+            .build())
+        .build();
+  }
+
+  private static RefObjectMap refObjectMap(TriplesMap parentTriplesMap, String child, String parent) {
+    return CarmlRefObjectMap.builder()
+        .parentTriplesMap(parentTriplesMap)
+        .joinCondition(CarmlJoin.builder()
+            .child(child)
+            .parent(parent)
+            .build())
+        .build();
+  }
+}
@@ -6,6 +6,7 @@ import static org.hamcrest.core.Is.is;
 import io.carml.engine.template.CarmlTemplate.ExpressionSegment;
 import io.carml.engine.template.CarmlTemplate.Text;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -63,6 +64,12 @@ class TemplateParserTest {
     testTemplate("");
   }
 
+  @Test
+  void testTextSegments() {
+    Template template = parser.parse("{abc}{xyz}x\\{{foo}");
+    assertThat(template.getTextSegments(), is(List.of("", "", "x{", "")));
+  }
+
   private void testTemplate(String templateStr, CarmlTemplate.Segment... expectedSegments) {
     Template template = parser.parse(templateStr);
     Template expected = CarmlTemplate.build(Arrays.asList(expectedSegments));
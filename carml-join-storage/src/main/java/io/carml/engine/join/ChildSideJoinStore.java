@@ -9,4 +9,25 @@ public interface ChildSideJoinStore<T1 extends Serializable, T2 extends Serializ
   void addAll(Set<ChildSideJoin<T1, T2>> childSideJoins);
 
   Flux<ChildSideJoin<T1, T2>> clearingFlux();
+
+  /**
+   * Removes all child-side joins from this store, for example when a mapping is cancelled before its
+   * joins are resolved. The default implementation drains {@link #clearingFlux()}, discarding the
+   * joins.
+   */
+  default void clear() {
+    clearingFlux().subscribe();
+  }
+
+  /**
+   * Returns whether this store keeps all its child-side joins on the heap. Only then may a join index
+   * its child-side joins on the heap instead of in this store, as that does not take more memory than
+   * storing them here. Stores that bound their memory use, for example by spilling joins to disk, must
+   * return {@code false}. The default implementation returns {@code false}.
+   *
+   * @return {@code true} if this store keeps all child-side joins on the heap
+   */
+  default boolean keepsJoinsOnHeap() {
+    return false;
+  }
 }
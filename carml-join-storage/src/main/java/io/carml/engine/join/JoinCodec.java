@@ -0,0 +1,455 @@
+package io.carml.engine.join;
+
+import static io.carml.engine.join.TermCodecs.readString;
+import static io.carml.engine.join.TermCodecs.readVarInt;
+import static io.carml.engine.join.TermCodecs.writeString;
+import static io.carml.engine.join.TermCodecs.writeVarInt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Compact binary encoding of {@link ChildSideJoin}s, {@link ParentSideJoinKey}s and the value sets of
+ * parent-side join conditions, for join stores that persist their entries. Terms are written by
+ * pluggable {@link TermCodec}s, counts and lengths are written as varints, and no class descriptors
+ * are written. Every encoded stream and standalone encoding starts with the {@link #VERSION} of the
+ * encoding.
+ *
+ * <p>A stream of child-side joins shares a dictionary of terms and join references. The first
+ * occurrence of a term is written in full and numbered, and any later occurrence is written as its
+ * number. Since predicates, graphs and join references tend to repeat across joins, they are mostly
+ * written as a single byte. The dictionary numbers at most a configured number of distinct terms per
+ * stream, so that its memory use is bounded when most terms are unique, like the subjects of joins.
+ *
+ * @param <T1> the type of the subjects and graphs
+ * @param <T2> the type of the predicates
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JoinCodec<T1 extends Serializable, T2 extends Serializable> {
+
+  /**
+   * The version of the encoding, which is incremented on any incompatible change.
+   */
+  public static final int VERSION = 1;
+
+  private static final int DEFAULT_MAX_DICTIONARY_SIZE = 1 << 16;
+
+  // A term is written as its number plus FIRST_TERM_NUMBER, or as one of the following markers followed by the term.
+  private static final int UNNUMBERED_TERM = 0;
+
+  private static final int NUMBERED_TERM = 1;
+
+  private static final int FIRST_TERM_NUMBER = 2;
+
+  private final TermCodec<T1> resourceCodec;
+
+  private final TermCodec<T2> predicateCodec;
+
+  private final int maxDictionarySize;
+
+  /**
+   * Creates a codec that writes subjects and graphs with the given resource codec, and predicates with
+   * the given predicate codec. The dictionary of a stream numbers up to 65536 distinct terms of each
+   * kind.
+   *
+   * @param resourceCodec the codec for subjects and graphs
+   * @param predicateCodec the codec for predicates
+   * @param <T1> the type of the subjects and graphs
+   * @param <T2> the type of the predicates
+   * @return {@link JoinCodec}
+   */
+  public static <T1 extends Serializable, T2 extends Serializable> JoinCodec<T1, T2> of(
+      @NonNull TermCodec<T1> resourceCodec, @NonNull TermCodec<T2> predicateCodec) {
+    return of(resourceCodec, predicateCodec, DEFAULT_MAX_DICTIONARY_SIZE);
+  }
+
+  /**
+   * Creates a codec that writes subjects and graphs with the given resource codec, and predicates with
+   * the given predicate codec.
+   *
+   * @param resourceCodec the codec for subjects and graphs
+   * @param predicateCodec the codec for predicates
+   * @param maxDictionarySize the maximum number of distinct terms of each kind numbered per stream
+   * @param <T1> the type of the subjects and graphs
+   * @param <T2> the type of the predicates
+   * @return {@link JoinCodec}
+   */
+  public static <T1 extends Serializable, T2 extends Serializable> JoinCodec<T1, T2> of(
+      @NonNull TermCodec<T1> resourceCodec, @NonNull TermCodec<T2> predicateCodec, int maxDictionarySize) {
+    if (maxDictionarySize < 0) {
+      throw new IllegalArgumentException(
+          String.format("Max dictionary size must be at least 0, but was %s", maxDictionarySize));
+    }
+
+    return new JoinCodec<>(resourceCodec, predicateCodec, maxDictionarySize);
+  }
+
+  /**
+   * Starts a stream of encoded join entries on the given output stream, by writing the version of
+   * the encoding.
+   *
+   * @param outputStream the output stream to write to
+   * @return the {@link Writer} of the stream
+   * @throws IOException if the version could not be written
+   */
+  public Writer<T1, T2> newWriter(@NonNull OutputStream outputStream) throws IOException {
+    var output = new DataOutputStream(outputStream);
+    output.writeByte(VERSION);
+    return new Writer<>(this, output);
+  }
+
+  /**
+   * Reads a stream of join entries written by a {@link Writer} of this codec from the given input
+   * stream.
+   *
+   * @param inputStream the input stream to read from
+   * @return the {@link Reader} of the stream
+   * @throws IOException if the version could not be read
+   * @throws JoinStoreException if the stream was written with an unsupported version of the encoding
+   */
+  public Reader<T1, T2> newReader(@NonNull InputStream inputStream) throws IOException {
+    var input = new DataInputStream(inputStream);
+    checkVersion(input.readUnsignedByte());
+    return new Reader<>(this, input);
+  }
+
+  /**
+   * Encodes the given parent-side join key on its own. Equal keys have equal encodings, so the
+   * encoding can be compared and hashed instead of the key.
+   *
+   * @param parentSideJoinKey the key to encode
+   * @return the encoded key
+   */
+  public static byte[] encodeKey(@NonNull ParentSideJoinKey parentSideJoinKey) {
+    var referenceBytes = parentSideJoinKey.getParentReference()
+        .getBytes(StandardCharsets.UTF_8);
+    var valueBytes = parentSideJoinKey.getParentValue()
+        .getBytes(StandardCharsets.UTF_8);
+
+    // the value is not length-prefixed, as it extends to the end of the encoding
+    var bytes = new ByteArrayOutputStream(1 + Integer.BYTES + referenceBytes.length + valueBytes.length);
+    try (var output = new DataOutputStream(bytes)) {
+      output.writeByte(VERSION);
+      writeVarInt(output, referenceBytes.length);
+      output.write(referenceBytes);
+      output.write(valueBytes);
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not encode parent-side join key", ioException);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes a parent-side join key encoded by {@link #encodeKey(ParentSideJoinKey)}.
+   *
+   * @param bytes the encoded key
+   * @return the key
+   */
+  public static ParentSideJoinKey decodeKey(@NonNull byte[] bytes) {
+    try (var input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      checkVersion(input.readUnsignedByte());
+      var referenceBytes = new byte[readVarInt(input)];
+      input.readFully(referenceBytes);
+      var valueBytes = input.readAllBytes();
+      return ParentSideJoinKey.of(new String(referenceBytes, StandardCharsets.UTF_8),
+          new String(valueBytes, StandardCharsets.UTF_8));
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not decode parent-side join key", ioException);
+    }
+  }
+
+  /**
+   * Encodes the given values of a parent-side join condition on their own.
+   *
+   * @param values the values to encode
+   * @param valueCodec the codec for the values
+   * @param <T> the type of the values
+   * @return the encoded values
+   */
+  public static <T> byte[] encodeValues(@NonNull Collection<T> values, @NonNull TermCodec<T> valueCodec) {
+    var bytes = new ByteArrayOutputStream();
+    try (var output = new DataOutputStream(bytes)) {
+      output.writeByte(VERSION);
+      writeVarInt(output, values.size());
+      for (T value : values) {
+        valueCodec.write(value, output);
+      }
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not encode join values", ioException);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes values encoded by {@link #encodeValues(Collection, TermCodec)}, and adds them to the given
+   * collection.
+   *
+   * @param bytes the encoded values
+   * @param valueCodec the codec for the values
+   * @param values the collection to add the values to
+   * @param <T> the type of the values
+   */
+  public static <T> void decodeValues(@NonNull byte[] bytes, @NonNull TermCodec<T> valueCodec,
+      @NonNull Collection<T> values) {
+    try (var input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      checkVersion(input.readUnsignedByte());
+      var valueCount = readVarInt(input);
+      for (int i = 0; i < valueCount; i++) {
+        values.add(valueCodec.read(input));
+      }
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not decode join values", ioException);
+    }
+  }
+
+  private static void checkVersion(int version) {
+    if (version != VERSION) {
+      throw new JoinStoreException(
+          String.format("Unsupported join encoding version %s, expected version %s", version, VERSION));
+    }
+  }
+
+  /**
+   * Writes join entries to a stream. Not thread-safe.
+   *
+   * @param <T1> the type of the subjects and graphs
+   * @param <T2> the type of the predicates
+   */
+  public static final class Writer<T1 extends Serializable, T2 extends Serializable> implements Closeable {
+
+    private final DataOutputStream output;
+
+    private final TermWriter<T1> resourceWriter;
+
+    private final TermWriter<T2> predicateWriter;
+
+    private final TermWriter<String> referenceWriter;
+
+    private Writer(JoinCodec<T1, T2> joinCodec, DataOutputStream output) {
+      this.output = output;
+      this.resourceWriter = new TermWriter<>(joinCodec.resourceCodec, joinCodec.maxDictionarySize);
+      this.predicateWriter = new TermWriter<>(joinCodec.predicateCodec, joinCodec.maxDictionarySize);
+      this.referenceWriter = new TermWriter<>(TermCodecs.string(), joinCodec.maxDictionarySize);
+    }
+
+    /**
+     * Writes the given child-side join.
+     *
+     * @param childSideJoin the child-side join to write
+     * @throws IOException if the join could not be written
+     */
+    public void write(@NonNull ChildSideJoin<T1, T2> childSideJoin) throws IOException {
+      writeTerms(childSideJoin.getSubjects(), resourceWriter);
+      writeTerms(childSideJoin.getPredicates(), predicateWriter);
+      writeTerms(childSideJoin.getGraphs(), resourceWriter);
+
+      var childSideJoinConditions = childSideJoin.getChildSideJoinConditions();
+      writeVarInt(output, childSideJoinConditions.size());
+      for (ChildSideJoinCondition childSideJoinCondition : childSideJoinConditions) {
+        referenceWriter.write(childSideJoinCondition.getChildReference(), output);
+        var childValues = childSideJoinCondition.getChildValues();
+        writeVarInt(output, childValues.size());
+        for (String childValue : childValues) {
+          writeString(output, childValue);
+        }
+        referenceWriter.write(childSideJoinCondition.getParentReference(), output);
+      }
+    }
+
+    /**
+     * Writes the given parent-side join key.
+     *
+     * @param parentSideJoinKey the key to write
+     * @throws IOException if the key could not be written
+     */
+    public void write(@NonNull ParentSideJoinKey parentSideJoinKey) throws IOException {
+      referenceWriter.write(parentSideJoinKey.getParentReference(), output);
+      writeString(output, parentSideJoinKey.getParentValue());
+    }
+
+    private <T> void writeTerms(Set<T> terms, TermWriter<T> termWriter) throws IOException {
+      writeVarInt(output, terms.size());
+      for (T term : terms) {
+        termWriter.write(term, output);
+      }
+    }
+
+    /**
+     * Flushes the underlying output stream.
+     *
+     * @throws IOException if the stream could not be flushed
+     */
+    public void flush() throws IOException {
+      output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      output.close();
+    }
+  }
+
+  /**
+   * Reads join entries from a stream written by a {@link Writer}, in the order they were written. Not
+   * thread-safe.
+   *
+   * @param <T1> the type of the subjects and graphs
+   * @param <T2> the type of the predicates
+   */
+  public static final class Reader<T1 extends Serializable, T2 extends Serializable> implements Closeable {
+
+    private final DataInputStream input;
+
+    private final TermReader<T1> resourceReader;
+
+    private final TermReader<T2> predicateReader;
+
+    private final TermReader<String> referenceReader;
+
+    private Reader(JoinCodec<T1, T2> joinCodec, DataInputStream input) {
+      this.input = input;
+      this.resourceReader = new TermReader<>(joinCodec.resourceCodec);
+      this.predicateReader = new TermReader<>(joinCodec.predicateCodec);
+      this.referenceReader = new TermReader<>(TermCodecs.string());
+    }
+
+    /**
+     * Reads the next entry as a child-side join.
+     *
+     * @return the child-side join
+     * @throws IOException if the join could not be read
+     */
+    public ChildSideJoin<T1, T2> readChildSideJoin() throws IOException {
+      var subjects = readTerms(resourceReader);
+      var predicates = readTerms(predicateReader);
+      var graphs = readTerms(resourceReader);
+
+      var conditionCount = readVarInt(input);
+      var childSideJoinConditions = new HashSet<ChildSideJoinCondition>();
+      for (int i = 0; i < conditionCount; i++) {
+        var childReference = referenceReader.read(input);
+        var valueCount = readVarInt(input);
+        var childValues = new ArrayList<String>(valueCount);
+        for (int j = 0; j < valueCount; j++) {
+          childValues.add(readString(input));
+        }
+        var parentReference = referenceReader.read(input);
+        childSideJoinConditions.add(ChildSideJoinCondition.of(childReference, childValues, parentReference));
+      }
+
+      return ChildSideJoin.<T1, T2>builder()
+          .subjects(subjects)
+          .predicates(predicates)
+          .graphs(graphs)
+          .childSideJoinConditions(childSideJoinConditions)
+          .build();
+    }
+
+    /**
+     * Reads the next entry as a parent-side join key.
+     *
+     * @return the key
+     * @throws IOException if the key could not be read
+     */
+    public ParentSideJoinKey readParentSideJoinKey() throws IOException {
+      var parentReference = referenceReader.read(input);
+      return ParentSideJoinKey.of(parentReference, readString(input));
+    }
+
+    private <T> HashSet<T> readTerms(TermReader<T> termReader) throws IOException {
+      var termCount = readVarInt(input);
+      var terms = new HashSet<T>();
+      for (int i = 0; i < termCount; i++) {
+        terms.add(termReader.read(input));
+      }
+
+      return terms;
+    }
+
+    @Override
+    public void close() throws IOException {
+      input.close();
+    }
+  }
+
+  private static class TermWriter<T> {
+
+    private final TermCodec<T> termCodec;
+
+    private final int maxDictionarySize;
+
+    private final Map<T, Integer> termNumbers = new HashMap<>();
+
+    private TermWriter(TermCodec<T> termCodec, int maxDictionarySize) {
+      this.termCodec = termCodec;
+      this.maxDictionarySize = maxDictionarySize;
+    }
+
+    private void write(T term, DataOutput output) throws IOException {
+      var termNumber = termNumbers.get(term);
+      if (termNumber != null) {
+        writeVarInt(output, termNumber + FIRST_TERM_NUMBER);
+        return;
+      }
+
+      if (termNumbers.size() < maxDictionarySize) {
+        termNumbers.put(term, termNumbers.size());
+        writeVarInt(output, NUMBERED_TERM);
+      } else {
+        writeVarInt(output, UNNUMBERED_TERM);
+      }
+      termCodec.write(term, output);
+    }
+  }
+
+  private static class TermReader<T> {
+
+    private final TermCodec<T> termCodec;
+
+    private final List<T> terms = new ArrayList<>();
+
+    private TermReader(TermCodec<T> termCodec) {
+      this.termCodec = termCodec;
+    }
+
+    private T read(DataInput input) throws IOException {
+      var marker = readVarInt(input);
+      if (marker >= FIRST_TERM_NUMBER) {
+        var termNumber = marker - FIRST_TERM_NUMBER;
+        if (termNumber >= terms.size()) {
+          throw new IOException(String.format("Unknown term number %s", termNumber));
+        }
+        return terms.get(termNumber);
+      }
+
+      var term = termCodec.read(input);
+      if (marker == NUMBERED_TERM) {
+        terms.add(term);
+      }
+
+      return term;
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package io.carml.engine.join;
+
+public class JoinStoreException extends RuntimeException {
+
+  private static final long serialVersionUID = -4436735126364522173L;
+
+  public JoinStoreException(String message) {
+    super(message);
+  }
+
+  public JoinStoreException(String message, Throwable throwable) {
+    super(message, throwable);
+  }
+
+}
@@ -1,12 +1,48 @@
 package io.carml.engine.join;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.Set;
 
 public interface ParentSideJoinConditionStore<T extends Serializable> {
 
   void put(ParentSideJoinKey parentSideJoinKey, Set<T> values);
 
+  /**
+   * Adds the given values to the values already stored for the given key, or stores them if the key
+   * is not present yet. The default implementation is not atomic. Implementations that may be used
+   * concurrently should override it to update the stored values in place, as a single, thread-safe
+   * operation.
+   *
+   * @param parentSideJoinKey the key
+   * @param values the values to add
+   */
+  default void merge(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    var merged = new HashSet<>(values);
+    var existing = get(parentSideJoinKey);
+    if (existing != null) {
+      merged.addAll(existing);
+    }
+
+    put(parentSideJoinKey, merged);
+  }
+
+  /**
+   * Returns whether the given key might be present. A key for which this returns {@code false} is
+   * definitely not present, so callers can skip looking it up. Implementations for which a lookup is
+   * costly should answer this from a compact filter of their keys, such as a Bloom filter. The default
+   * implementation always returns {@code true}, which suits stores that answer a lookup with a single
+   * in-memory probe, such as the in-heap and off-heap stores: for those, this check would cost as much
+   * as the lookup it saves. Of the provided stores, only the spilling store overrides it, for the keys
+   * it spilled to disk.
+   *
+   * @param parentSideJoinKey the key
+   * @return {@code false} if the key is definitely not present, {@code true} otherwise
+   */
+  default boolean mightContainKey(ParentSideJoinKey parentSideJoinKey) {
+    return true;
+  }
+
   boolean containsKey(ParentSideJoinKey parentSideJoinKey);
 
   Set<T> get(ParentSideJoinKey parentSideJoinKey);
@@ -1,6 +1,7 @@
 package io.carml.engine.join;
 
 import java.io.Serializable;
+import java.util.List;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -16,6 +17,9 @@ public class ParentSideJoinKey implements Serializable {
 
   private static final long serialVersionUID = -8655379521016481101L;
 
+  // marks composite references, as no reference expression starts with a NUL character
+  private static final char COMPOSITE_MARKER = '\u0000';
+
   @NonNull
   String parentReference;
 
@@ -26,4 +30,35 @@ public class ParentSideJoinKey implements Serializable {
     return new ParentSideJoinKey(parentReference, parentValue);
   }
 
+  /**
+   * Creates a composite key for a join on multiple join conditions, from the parent references of the
+   * join conditions and one parent value for each of them, in the same order. Every reference and value
+   * is prefixed with its length, so that different lists never produce the same key, and composite keys
+   * never equal a key for a single join condition.
+   *
+   * @param parentReferences the parent references of the join conditions
+   * @param parentValues a parent value for each parent reference
+   * @return the composite key
+   */
+  public static ParentSideJoinKey ofComposite(@NonNull List<String> parentReferences,
+      @NonNull List<String> parentValues) {
+    if (parentReferences.size() != parentValues.size()) {
+      throw new IllegalArgumentException(String.format("Expected %s parent values for parent references %s, but got %s",
+          parentReferences.size(), parentReferences, parentValues));
+    }
+
+    return new ParentSideJoinKey(COMPOSITE_MARKER + encode(parentReferences), encode(parentValues));
+  }
+
+  private static String encode(List<String> components) {
+    var encoded = new StringBuilder();
+    for (String component : components) {
+      encoded.append(component.length())
+          .append(':')
+          .append(component);
+    }
+
+    return encoded.toString();
+  }
+
 }
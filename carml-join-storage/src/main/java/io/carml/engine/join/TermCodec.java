@@ -0,0 +1,33 @@
+package io.carml.engine.join;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the terms of join entries, such as subjects, predicates and graphs, in a binary form. Used
+ * by {@link JoinCodec} to persist join entries without Java serialization. See {@link TermCodecs} for
+ * the provided implementations.
+ *
+ * @param <T> the type of the encoded terms
+ */
+public interface TermCodec<T> {
+
+  /**
+   * Writes the given term to the given output.
+   *
+   * @param term the term to write
+   * @param output the output to write to
+   * @throws IOException if the term could not be written
+   */
+  void write(T term, DataOutput output) throws IOException;
+
+  /**
+   * Reads a term written by {@link #write(Object, DataOutput)} from the given input.
+   *
+   * @param input the input to read from
+   * @return the term
+   * @throws IOException if the term could not be read
+   */
+  T read(DataInput input) throws IOException;
+}
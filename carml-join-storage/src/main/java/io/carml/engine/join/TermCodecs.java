@@ -0,0 +1,222 @@
+package io.carml.engine.join;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+/**
+ * Provides {@link TermCodec}s, and the varint and string encodings they are built on. Lengths are
+ * written as unsigned varints of 7 bits per byte, so that short strings only take a single byte of
+ * overhead.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TermCodecs {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final int IRI_TAG = 0;
+
+  private static final int BNODE_TAG = 1;
+
+  private static final TermCodec<String> STRING_CODEC = new StringCodec();
+
+  private static final TermCodec<Resource> RESOURCE_CODEC = new ResourceCodec();
+
+  private static final TermCodec<IRI> IRI_CODEC = new IriCodec();
+
+  /**
+   * Returns a codec for strings, which writes their UTF-8 bytes prefixed with their length.
+   *
+   * @return the string codec
+   */
+  public static TermCodec<String> string() {
+    return STRING_CODEC;
+  }
+
+  /**
+   * Returns a codec for IRI and blank node resources, which writes a tag byte followed by the IRI
+   * string or blank node ID.
+   *
+   * @return the resource codec
+   */
+  public static TermCodec<Resource> resource() {
+    return RESOURCE_CODEC;
+  }
+
+  /**
+   * Returns a codec for IRIs, which writes the IRI string.
+   *
+   * @return the IRI codec
+   */
+  public static TermCodec<IRI> iri() {
+    return IRI_CODEC;
+  }
+
+  /**
+   * Returns a codec that writes each term with Java serialization, prefixed with its length. This
+   * supports any {@link Serializable} term, but writes a class descriptor for every term, so it should
+   * only be used for term types without a dedicated codec.
+   *
+   * @param <T> the type of the encoded terms
+   * @return the serializing codec
+   */
+  public static <T extends Serializable> TermCodec<T> serialized() {
+    return new SerializedCodec<>();
+  }
+
+  /**
+   * Writes the given non-negative int as an unsigned varint.
+   *
+   * @param output the output to write to
+   * @param value the value to write
+   * @throws IOException if the value could not be written
+   */
+  public static void writeVarInt(DataOutput output, int value) throws IOException {
+    var remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      output.writeByte((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    output.writeByte(remaining);
+  }
+
+  /**
+   * Reads an unsigned varint written by {@link #writeVarInt(DataOutput, int)}.
+   *
+   * @param input the input to read from
+   * @return the value
+   * @throws IOException if the value could not be read, or is malformed
+   */
+  public static int readVarInt(DataInput input) throws IOException {
+    var value = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      var currentByte = input.readUnsignedByte();
+      value |= (currentByte & 0x7F) << shift;
+      if ((currentByte & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new IOException("Malformed varint");
+  }
+
+  /**
+   * Writes the UTF-8 bytes of the given string, prefixed with their length as a varint. Unlike
+   * {@link DataOutput#writeUTF(String)}, this supports strings of any length.
+   *
+   * @param output the output to write to
+   * @param value the string to write
+   * @throws IOException if the string could not be written
+   */
+  public static void writeString(DataOutput output, String value) throws IOException {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(output, bytes.length);
+    output.write(bytes);
+  }
+
+  /**
+   * Reads a string written by {@link #writeString(DataOutput, String)}.
+   *
+   * @param input the input to read from
+   * @return the string
+   * @throws IOException if the string could not be read
+   */
+  public static String readString(DataInput input) throws IOException {
+    var bytes = new byte[readVarInt(input)];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static class StringCodec implements TermCodec<String> {
+
+    @Override
+    public void write(String term, DataOutput output) throws IOException {
+      writeString(output, term);
+    }
+
+    @Override
+    public String read(DataInput input) throws IOException {
+      return readString(input);
+    }
+  }
+
+  private static class ResourceCodec implements TermCodec<Resource> {
+
+    @Override
+    public void write(Resource term, DataOutput output) throws IOException {
+      if (term.isIRI()) {
+        output.writeByte(IRI_TAG);
+      } else if (term.isBNode()) {
+        output.writeByte(BNODE_TAG);
+      } else {
+        throw new JoinStoreException(String.format("Unsupported resource for join encoding: %s", term));
+      }
+
+      writeString(output, term.stringValue());
+    }
+
+    @Override
+    public Resource read(DataInput input) throws IOException {
+      var tag = input.readUnsignedByte();
+      switch (tag) {
+        case IRI_TAG:
+          return VALUE_FACTORY.createIRI(readString(input));
+        case BNODE_TAG:
+          return VALUE_FACTORY.createBNode(readString(input));
+        default:
+          throw new IOException(String.format("Unknown resource tag %s", tag));
+      }
+    }
+  }
+
+  private static class IriCodec implements TermCodec<IRI> {
+
+    @Override
+    public void write(IRI term, DataOutput output) throws IOException {
+      writeString(output, term.stringValue());
+    }
+
+    @Override
+    public IRI read(DataInput input) throws IOException {
+      return VALUE_FACTORY.createIRI(readString(input));
+    }
+  }
+
+  private static class SerializedCodec<T extends Serializable> implements TermCodec<T> {
+
+    @Override
+    public void write(T term, DataOutput output) throws IOException {
+      var bytes = new ByteArrayOutputStream();
+      try (var objectOutput = new ObjectOutputStream(bytes)) {
+        objectOutput.writeObject(term);
+      }
+
+      writeVarInt(output, bytes.size());
+      output.write(bytes.toByteArray());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(DataInput input) throws IOException {
+      var bytes = new byte[readVarInt(input)];
+      input.readFully(bytes);
+      try (var objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+        return (T) objectInput.readObject();
+      } catch (ClassNotFoundException classNotFoundException) {
+        throw new IOException("Could not read serialized term", classNotFoundException);
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package io.carml.engine.join.impl;
+
+/**
+ * Bloom filter over 64-bit key fingerprints. It uses at least 10 bits per expected key and 7 probes,
+ * for a false positive rate below 1% up to the expected number of keys. Its size is capped at 512 MiB,
+ * beyond about 400 million expected keys the false positive rate grows accordingly. The probes are
+ * derived from the two halves of the fingerprint, so fingerprints must be well distributed.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class BloomFilter {
+
+  private static final int BITS_PER_KEY = 10;
+
+  private static final int PROBE_COUNT = 7;
+
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+
+  private static final long MAX_BIT_COUNT = 1L << 32;
+
+  private final long[] words;
+
+  private final long mask;
+
+  BloomFilter(long expectedKeys) {
+    var requiredBitCount = Math.min(Math.max(expectedKeys * BITS_PER_KEY, Long.SIZE), MAX_BIT_COUNT);
+    var bitCount = Long.highestOneBit(requiredBitCount - 1) << 1;
+    words = new long[(int) (bitCount >>> ADDRESS_BITS_PER_WORD)];
+    mask = bitCount - 1;
+  }
+
+  void add(long fingerprint) {
+    var hash = fingerprint;
+    var step = (fingerprint >>> 32) | 1;
+    for (int i = 0; i < PROBE_COUNT; i++) {
+      var bit = hash & mask;
+      words[(int) (bit >>> ADDRESS_BITS_PER_WORD)] |= 1L << bit;
+      hash += step;
+    }
+  }
+
+  /**
+   * Returns whether a key with the given fingerprint may have been added. A key for which this returns
+   * {@code false} has definitely not been added.
+   */
+  boolean mightContain(long fingerprint) {
+    var hash = fingerprint;
+    var step = (fingerprint >>> 32) | 1;
+    for (int i = 0; i < PROBE_COUNT; i++) {
+      var bit = hash & mask;
+      if ((words[(int) (bit >>> ADDRESS_BITS_PER_WORD)] & (1L << bit)) == 0) {
+        return false;
+      }
+      hash += step;
+    }
+
+    return true;
+  }
+}
@@ -3,31 +3,85 @@ package io.carml.engine.join.impl;
 import io.carml.engine.join.ChildSideJoin;
 import io.carml.engine.join.ChildSideJoinStore;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import reactor.core.publisher.Flux;
 
+/**
+ * {@link ChildSideJoinStore} that keeps child-side joins on the heap, in a number of segments that
+ * each have their own lock. A join is stored in the segment selected by its hash, so concurrent
+ * producers only contend when they add to the same segment. Draining swaps each segment for an empty
+ * one, so joins that are added while the store is drained are kept for the next drain, instead of
+ * being lost.
+ */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class CarmlChildSideJoinStore<T1 extends Serializable, T2 extends Serializable>
     implements ChildSideJoinStore<T1, T2> {
 
   private final String name;
 
-  private final Set<ChildSideJoin<T1, T2>> storage;
+  private final List<Segment<T1, T2>> segments;
 
   static <T1 extends Serializable, T2 extends Serializable> CarmlChildSideJoinStore<T1, T2> of(String name,
-      Set<ChildSideJoin<T1, T2>> storage) {
-    return new CarmlChildSideJoinStore<>(name, storage);
+      int segmentCount) {
+    if (Integer.bitCount(segmentCount) != 1) {
+      throw new IllegalArgumentException(
+          String.format("Segment count must be a power of two, but was %s", segmentCount));
+    }
+
+    List<Segment<T1, T2>> segments = new ArrayList<>(segmentCount);
+    for (int i = 0; i < segmentCount; i++) {
+      segments.add(new Segment<>());
+    }
+
+    return new CarmlChildSideJoinStore<>(name, segments);
   }
 
   @Override
   public void addAll(Set<ChildSideJoin<T1, T2>> childSideJoins) {
-    storage.addAll(childSideJoins);
+    for (var childSideJoin : childSideJoins) {
+      getSegment(childSideJoin).add(childSideJoin);
+    }
+  }
+
+  private Segment<T1, T2> getSegment(ChildSideJoin<T1, T2> childSideJoin) {
+    var hash = childSideJoin.hashCode();
+    // spread the high bits, as the low bits select the segment
+    return segments.get((hash ^ (hash >>> 16)) & (segments.size() - 1));
   }
 
   @Override
   public Flux<ChildSideJoin<T1, T2>> clearingFlux() {
-    return Flux.using(() -> storage, Flux::fromIterable, Set::clear);
+    return Flux.fromIterable(segments)
+        .concatMapIterable(Segment::drain);
+  }
+
+  @Override
+  public void clear() {
+    segments.forEach(Segment::drain);
+  }
+
+  @Override
+  public boolean keepsJoinsOnHeap() {
+    return true;
+  }
+
+  private static class Segment<T1 extends Serializable, T2 extends Serializable> {
+
+    private Set<ChildSideJoin<T1, T2>> childSideJoins = new HashSet<>();
+
+    synchronized void add(ChildSideJoin<T1, T2> childSideJoin) {
+      childSideJoins.add(childSideJoin);
+    }
+
+    synchronized Set<ChildSideJoin<T1, T2>> drain() {
+      var drainedJoins = childSideJoins;
+      childSideJoins = new HashSet<>();
+      return drainedJoins;
+    }
   }
 }
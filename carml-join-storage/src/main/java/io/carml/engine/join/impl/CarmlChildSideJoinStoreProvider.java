@@ -3,7 +3,6 @@ package io.carml.engine.join.impl;
 import io.carml.engine.join.ChildSideJoinStore;
 import io.carml.engine.join.ChildSideJoinStoreProvider;
 import java.io.Serializable;
-import java.util.HashSet;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -12,12 +11,17 @@ import lombok.NonNull;
 public class CarmlChildSideJoinStoreProvider<T1 extends Serializable, T2 extends Serializable>
     implements ChildSideJoinStoreProvider<T1, T2> {
 
+  // enough segments for concurrent producers on all processors to rarely contend
+  private static final int SEGMENT_COUNT =
+      Integer.highestOneBit(Runtime.getRuntime()
+          .availableProcessors() * 4 - 1) << 1;
+
   public static <T1 extends Serializable, T2 extends Serializable> CarmlChildSideJoinStoreProvider<T1, T2> of() {
     return new CarmlChildSideJoinStoreProvider<>();
   }
 
   @Override
   public ChildSideJoinStore<T1, T2> createChildSideJoinStore(@NonNull String name) {
-    return CarmlChildSideJoinStore.of(name, new HashSet<>());
+    return CarmlChildSideJoinStore.of(name, SEGMENT_COUNT);
   }
 }
@@ -4,10 +4,16 @@ import io.carml.engine.join.ParentSideJoinConditionStore;
 import io.carml.engine.join.ParentSideJoinKey;
 import java.io.Serializable;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 
+/**
+ * {@link ParentSideJoinConditionStore} that keeps all keys on the heap. Values are kept in concurrent
+ * sets, so that concurrent producers can merge values into the same key, and values can be read while
+ * they are merged.
+ */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class CarmlParentSideJoinConditionStore<T extends Serializable> implements ParentSideJoinConditionStore<T> {
 
@@ -22,7 +28,20 @@ public class CarmlParentSideJoinConditionStore<T extends Serializable> implement
 
   @Override
   public void put(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
-    parentSideJoinConditionStore.put(parentSideJoinKey, values);
+    parentSideJoinConditionStore.put(parentSideJoinKey, newValueSet(values));
+  }
+
+  @Override
+  public void merge(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    // values are added outside of the map's lock on the key, so merges into the same key do not block
+    parentSideJoinConditionStore.computeIfAbsent(parentSideJoinKey, key -> ConcurrentHashMap.newKeySet())
+        .addAll(values);
+  }
+
+  private static <T> Set<T> newValueSet(Set<T> values) {
+    Set<T> valueSet = ConcurrentHashMap.newKeySet(values.size());
+    valueSet.addAll(values);
+    return valueSet;
   }
 
   @Override
@@ -0,0 +1,359 @@
+package io.carml.engine.join.impl;
+
+import io.carml.engine.join.JoinCodec;
+import io.carml.engine.join.JoinStoreException;
+import io.carml.engine.join.ParentSideJoinKey;
+import io.carml.engine.join.TermCodec;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * On-disk hash index from {@link ParentSideJoinKey} to a set of values. Records are appended to a
+ * data file. An open addressing table of 64-bit key fingerprints and record offsets is kept in a
+ * memory-mapped index file, so that a lookup costs a probe of the mapped table and a positional
+ * read of the record. As a single mapping cannot exceed 2 GiB, the index file is mapped in segments
+ * of 1 GiB. A {@link BloomFilter} of the key fingerprints is kept on the heap, so that most lookups
+ * of absent keys do not touch the index at all. Merging values into an existing key appends a
+ * record with only the merged values, linked to the previous record of the key. Replaced records are
+ * not reclaimed until the index is cleared. Keys and values are written with {@link JoinCodec}, the
+ * values with a configured {@link TermCodec}.
+ *
+ * <p>This class is not thread-safe, except that lookups only use positional reads and may run
+ * concurrently with each other.
+ */
+final class DiskHashIndex<T extends Serializable> implements Closeable {
+
+  private static final int SLOT_SIZE = Long.BYTES * 2;
+
+  // previous record offset, key length and values length
+  private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES * 2;
+
+  private static final long NO_PREVIOUS_RECORD = -1L;
+
+  private static final int INITIAL_CAPACITY = 1 << 12;
+
+  private static final int SEGMENT_SHIFT = 26;
+
+  // the number of slots per mapped segment of the index, so that a segment is 1 GiB
+  private static final long SEGMENT_CAPACITY = 1L << SEGMENT_SHIFT;
+
+  private static final long MAX_CAPACITY = 1L << 40;
+
+  private static final double MAX_LOAD_FACTOR = 0.75;
+
+  private static final long EMPTY_SLOT = 0L;
+
+  private final Path directory;
+
+  private final Path dataFile;
+
+  private final TermCodec<T> valueCodec;
+
+  private final FileChannel dataChannel;
+
+  private long dataSize;
+
+  private Path indexFile;
+
+  private FileChannel indexChannel;
+
+  private MappedByteBuffer[] segments;
+
+  private BloomFilter keyFilter;
+
+  private long capacity;
+
+  private long size;
+
+  private DiskHashIndex(Path directory, Path dataFile, TermCodec<T> valueCodec, FileChannel dataChannel) {
+    this.directory = directory;
+    this.dataFile = dataFile;
+    this.valueCodec = valueCodec;
+    this.dataChannel = dataChannel;
+  }
+
+  static <T extends Serializable> DiskHashIndex<T> create(Path directory, TermCodec<T> valueCodec) {
+    try {
+      var dataFile = Files.createTempFile(directory, "carml-join-", ".dat");
+      var dataChannel = FileChannel.open(dataFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      var diskHashIndex = new DiskHashIndex<>(directory, dataFile, valueCodec, dataChannel);
+      diskHashIndex.allocateIndex(INITIAL_CAPACITY);
+      return diskHashIndex;
+    } catch (IOException ioException) {
+      throw new JoinStoreException(String.format("Could not create join index in %s", directory), ioException);
+    }
+  }
+
+  long size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the given key might be present, using only the {@link BloomFilter} of the key
+   * fingerprints. A key for which this returns {@code false} is definitely not present.
+   */
+  boolean mightContainKey(ParentSideJoinKey parentSideJoinKey) {
+    return keyFilter.mightContain(Fingerprints.of(encodeKey(parentSideJoinKey)));
+  }
+
+  boolean containsKey(ParentSideJoinKey parentSideJoinKey) {
+    var keyBytes = encodeKey(parentSideJoinKey);
+    var fingerprint = Fingerprints.of(keyBytes);
+    return keyFilter.mightContain(fingerprint) && getRecordOffset(findSlot(fingerprint, keyBytes)) != EMPTY_SLOT;
+  }
+
+  Set<T> get(ParentSideJoinKey parentSideJoinKey) {
+    var keyBytes = encodeKey(parentSideJoinKey);
+    var fingerprint = Fingerprints.of(keyBytes);
+    if (!keyFilter.mightContain(fingerprint)) {
+      return null;
+    }
+
+    var storedOffset = getRecordOffset(findSlot(fingerprint, keyBytes));
+    if (storedOffset == EMPTY_SLOT) {
+      return null;
+    }
+
+    Set<T> values = new HashSet<>();
+    var recordOffset = storedOffset - 1;
+    while (recordOffset != NO_PREVIOUS_RECORD) {
+      recordOffset = readValues(recordOffset, values);
+    }
+
+    return values;
+  }
+
+  void put(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    store(parentSideJoinKey, values, false);
+  }
+
+  void merge(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    store(parentSideJoinKey, values, true);
+  }
+
+  private void store(ParentSideJoinKey parentSideJoinKey, Set<T> values, boolean merge) {
+    var keyBytes = encodeKey(parentSideJoinKey);
+    var fingerprint = Fingerprints.of(keyBytes);
+    var slot = findSlot(fingerprint, keyBytes);
+    var storedOffset = getRecordOffset(slot);
+    var isNewKey = storedOffset == EMPTY_SLOT;
+
+    var previousRecordOffset = merge && !isNewKey ? storedOffset - 1 : NO_PREVIOUS_RECORD;
+    var recordOffset = appendRecord(previousRecordOffset, keyBytes, encodeValues(values));
+    setSlot(slot, fingerprint, recordOffset + 1);
+
+    if (isNewKey) {
+      keyFilter.add(fingerprint);
+      size++;
+      if (size > capacity * MAX_LOAD_FACTOR) {
+        grow();
+      }
+    }
+  }
+
+  void clear() {
+    try {
+      dataChannel.truncate(0);
+      dataSize = 0;
+      releaseIndex();
+      allocateIndex(INITIAL_CAPACITY);
+      size = 0;
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not clear join index", ioException);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      dataChannel.close();
+      Files.deleteIfExists(dataFile);
+      releaseIndex();
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not close join index", ioException);
+    }
+  }
+
+  private long findSlot(long fingerprint, byte[] keyBytes) {
+    var mask = capacity - 1;
+    var slot = Fingerprints.slot(fingerprint, capacity);
+    while (true) {
+      var storedOffset = getRecordOffset(slot);
+      if (storedOffset == EMPTY_SLOT
+          || (getFingerprint(slot) == fingerprint && keyEquals(storedOffset - 1, keyBytes))) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private long getFingerprint(long slot) {
+    return getFingerprint(segments, slot);
+  }
+
+  private static long getFingerprint(MappedByteBuffer[] segments, long slot) {
+    return segment(segments, slot).getLong(slotPosition(slot));
+  }
+
+  private long getRecordOffset(long slot) {
+    return getRecordOffset(segments, slot);
+  }
+
+  private static long getRecordOffset(MappedByteBuffer[] segments, long slot) {
+    return segment(segments, slot).getLong(slotPosition(slot) + Long.BYTES);
+  }
+
+  private void setSlot(long slot, long fingerprint, long storedOffset) {
+    var segment = segment(segments, slot);
+    var position = slotPosition(slot);
+    segment.putLong(position, fingerprint);
+    segment.putLong(position + Long.BYTES, storedOffset);
+  }
+
+  private static MappedByteBuffer segment(MappedByteBuffer[] segments, long slot) {
+    return segments[(int) (slot >>> SEGMENT_SHIFT)];
+  }
+
+  private static int slotPosition(long slot) {
+    return (int) (slot & (SEGMENT_CAPACITY - 1)) * SLOT_SIZE;
+  }
+
+  private void grow() {
+    if (capacity >= MAX_CAPACITY) {
+      throw new JoinStoreException(String.format("Join index exceeded its maximum of %s keys", size));
+    }
+
+    var oldIndexFile = indexFile;
+    var oldIndexChannel = indexChannel;
+    var oldSegments = segments;
+    var oldCapacity = capacity;
+
+    try {
+      allocateIndex(capacity * 2);
+      var mask = capacity - 1;
+      for (long oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+        var storedOffset = getRecordOffset(oldSegments, oldSlot);
+        if (storedOffset != EMPTY_SLOT) {
+          var fingerprint = getFingerprint(oldSegments, oldSlot);
+          var slot = Fingerprints.slot(fingerprint, capacity);
+          while (getRecordOffset(slot) != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+          }
+          setSlot(slot, fingerprint, storedOffset);
+          keyFilter.add(fingerprint);
+        }
+      }
+
+      oldIndexChannel.close();
+      Files.deleteIfExists(oldIndexFile);
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not grow join index", ioException);
+    }
+  }
+
+  private void allocateIndex(long newCapacity) throws IOException {
+    indexFile = Files.createTempFile(directory, "carml-join-", ".idx");
+    indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+    var segmentCapacity = Math.min(newCapacity, SEGMENT_CAPACITY);
+    segments = new MappedByteBuffer[(int) (newCapacity / segmentCapacity)];
+    for (int segment = 0; segment < segments.length; segment++) {
+      segments[segment] = indexChannel.map(FileChannel.MapMode.READ_WRITE, segment * segmentCapacity * SLOT_SIZE,
+          segmentCapacity * SLOT_SIZE);
+    }
+
+    capacity = newCapacity;
+    keyFilter = new BloomFilter((long) (newCapacity * MAX_LOAD_FACTOR));
+  }
+
+  private void releaseIndex() throws IOException {
+    indexChannel.close();
+    Files.deleteIfExists(indexFile);
+    segments = null;
+  }
+
+  private long appendRecord(long previousRecordOffset, byte[] keyBytes, byte[] valueBytes) {
+    var recordOffset = dataSize;
+    var record = ByteBuffer.allocate(RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length)
+        .putLong(previousRecordOffset)
+        .putInt(keyBytes.length)
+        .putInt(valueBytes.length)
+        .put(keyBytes)
+        .put(valueBytes)
+        .flip();
+
+    try {
+      var position = recordOffset;
+      while (record.hasRemaining()) {
+        position += dataChannel.write(record, position);
+      }
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not write to join index", ioException);
+    }
+
+    dataSize = recordOffset + record.limit();
+    return recordOffset;
+  }
+
+  private boolean keyEquals(long recordOffset, byte[] keyBytes) {
+    var header = read(recordOffset, RECORD_HEADER_SIZE);
+    if (header.getInt(Long.BYTES) != keyBytes.length) {
+      return false;
+    }
+
+    return Arrays.equals(read(recordOffset + RECORD_HEADER_SIZE, keyBytes.length).array(), keyBytes);
+  }
+
+  /**
+   * Adds the values of the record at the given offset to the given set.
+   *
+   * @return the offset of the previous record of the key, or {@link #NO_PREVIOUS_RECORD}
+   */
+  private long readValues(long recordOffset, Set<T> values) {
+    var header = read(recordOffset, RECORD_HEADER_SIZE);
+    var previousRecordOffset = header.getLong();
+    var keyLength = header.getInt();
+    var valuesLength = header.getInt();
+    var valueBytes = read(recordOffset + RECORD_HEADER_SIZE + keyLength, valuesLength).array();
+
+    JoinCodec.decodeValues(valueBytes, valueCodec, values);
+
+    return previousRecordOffset;
+  }
+
+  private ByteBuffer read(long position, int length) {
+    var buffer = ByteBuffer.allocate(length);
+    try {
+      var readPosition = position;
+      while (buffer.hasRemaining()) {
+        var read = dataChannel.read(buffer, readPosition);
+        if (read == -1) {
+          throw new JoinStoreException("Unexpected end of join index");
+        }
+        readPosition += read;
+      }
+    } catch (IOException ioException) {
+      throw new JoinStoreException("Could not read from join index", ioException);
+    }
+
+    return buffer.flip();
+  }
+
+  private static byte[] encodeKey(ParentSideJoinKey parentSideJoinKey) {
+    return JoinCodec.encodeKey(parentSideJoinKey);
+  }
+
+  private byte[] encodeValues(Set<T> values) {
+    return JoinCodec.encodeValues(values, valueCodec);
+  }
+}
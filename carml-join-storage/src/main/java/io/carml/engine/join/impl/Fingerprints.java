@@ -0,0 +1,51 @@
+package io.carml.engine.join.impl;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 64-bit fingerprints for encoded join keys: FNV-1a, followed by the MurmurHash3 finalizer for a better
+ * distribution of the low bits used to select a slot in a hash table.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class Fingerprints {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  static long of(byte[] bytes) {
+    var hash = FNV_OFFSET_BASIS;
+    for (byte b : bytes) {
+      hash ^= b & 0xff;
+      hash *= FNV_PRIME;
+    }
+
+    return finalizeHash(hash);
+  }
+
+  /**
+   * Selects a slot for the given fingerprint in a table with a power of two capacity.
+   */
+  static int slot(long fingerprint, int capacity) {
+    return (int) (fingerprint ^ (fingerprint >>> 32)) & (capacity - 1);
+  }
+
+  /**
+   * Selects a slot for the given fingerprint in a table with a power of two capacity that may exceed
+   * the range of an int.
+   */
+  static long slot(long fingerprint, long capacity) {
+    return (fingerprint ^ (fingerprint >>> 32)) & (capacity - 1);
+  }
+
+  private static long finalizeHash(long hash) {
+    var result = hash;
+    result ^= result >>> 33;
+    result *= 0xff51afd7ed558ccdL;
+    result ^= result >>> 33;
+    result *= 0xc4ceb9fe1a85ec53L;
+    result ^= result >>> 33;
+    return result;
+  }
+}
@@ -0,0 +1,389 @@
+package io.carml.engine.join.impl;
+
+import io.carml.engine.join.JoinCodec;
+import io.carml.engine.join.JoinStoreException;
+import io.carml.engine.join.ParentSideJoinConditionStore;
+import io.carml.engine.join.ParentSideJoinKey;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link ParentSideJoinConditionStore} that keeps its index off-heap. Keys are encoded with
+ * {@link JoinCodec} into an off-heap key area, and indexed by their 64-bit fingerprint in an open
+ * addressing table. As in {@link DiskHashIndex}, the encoded keys are compared when fingerprints
+ * match, so keys with the same fingerprint are told apart. Values are dictionary-encoded to int term
+ * IDs, which are stored in linked lists of off-heap nodes. A key therefore costs 16 bytes in the table
+ * plus its encoding, and 8 bytes per value. Merged values are appended without checking whether the
+ * key already has them, so that a merge does not depend on the number of values of the key, and
+ * duplicates are removed when the values are read. The nodes of values replaced by a put are reused.
+ *
+ * <p>Only the index is off-heap. The term dictionary, which maps every distinct value to its term ID
+ * and back, is kept on the heap, holding each distinct value once. The table is limited to 2^26
+ * slots, which at its maximum load factor holds about 50 million keys.
+ */
+public class OffHeapParentSideJoinConditionStore<T extends Serializable> implements ParentSideJoinConditionStore<T> {
+
+  // fingerprint, head node and key offset
+  private static final int SLOT_SIZE = Long.BYTES + Integer.BYTES * 2;
+
+  private static final int NODE_SIZE = Integer.BYTES * 2;
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private static final int MAX_CAPACITY = Integer.highestOneBit(Integer.MAX_VALUE / SLOT_SIZE);
+
+  private static final int MAX_NODE_CAPACITY = Integer.MAX_VALUE / NODE_SIZE;
+
+  private static final int INITIAL_KEY_AREA_SIZE = 1 << 14;
+
+  private static final double MAX_LOAD_FACTOR = 0.75;
+
+  // Slots and nodes refer to a node by its index + 1, so that 0 can mark an empty slot.
+  private static final int EMPTY_SLOT = 0;
+
+  private static final int END_OF_LIST = -1;
+
+  private final String name;
+
+  private final Map<T, Integer> termIds = new HashMap<>();
+
+  private final List<T> terms = new ArrayList<>();
+
+  // reads only use absolute buffer positions, so they can run concurrently
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private ByteBuffer table;
+
+  private int capacity;
+
+  private int size;
+
+  private ByteBuffer nodes;
+
+  private int nodeCapacity;
+
+  private int nodeCount;
+
+  // head of the list of nodes that were released by a put, to be reused
+  private int freeNode;
+
+  // encoded keys, each prefixed by its length
+  private ByteBuffer keyArea;
+
+  private int keyAreaSize;
+
+  private OffHeapParentSideJoinConditionStore(String name) {
+    this.name = name;
+    allocate();
+  }
+
+  static <T extends Serializable> OffHeapParentSideJoinConditionStore<T> of(String name) {
+    return new OffHeapParentSideJoinConditionStore<>(name);
+  }
+
+  @Override
+  public void put(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    lock.writeLock()
+        .lock();
+    try {
+      var keyBytes = JoinCodec.encodeKey(parentSideJoinKey);
+      var fingerprint = Fingerprints.of(keyBytes);
+      var slot = findSlot(fingerprint, keyBytes);
+      releaseNodes(getHead(slot));
+
+      var head = END_OF_LIST;
+      for (T value : values) {
+        head = addNode(getTermId(value), head);
+      }
+      setHead(slot, fingerprint, keyBytes, head);
+    } finally {
+      lock.writeLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public void merge(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    lock.writeLock()
+        .lock();
+    try {
+      var keyBytes = JoinCodec.encodeKey(parentSideJoinKey);
+      var fingerprint = Fingerprints.of(keyBytes);
+      var slot = findSlot(fingerprint, keyBytes);
+      var existingHead = getHead(slot);
+
+      // values are prepended to the existing list, duplicates are removed on read
+      var head = existingHead == EMPTY_SLOT ? END_OF_LIST : existingHead;
+      for (T value : values) {
+        head = addNode(getTermId(value), head);
+      }
+      setHead(slot, fingerprint, keyBytes, head);
+    } finally {
+      lock.writeLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public boolean containsKey(ParentSideJoinKey parentSideJoinKey) {
+    lock.readLock()
+        .lock();
+    try {
+      return getHead(findSlot(parentSideJoinKey)) != EMPTY_SLOT;
+    } finally {
+      lock.readLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public Set<T> get(ParentSideJoinKey parentSideJoinKey) {
+    lock.readLock()
+        .lock();
+    try {
+      var head = getHead(findSlot(parentSideJoinKey));
+      if (head == EMPTY_SLOT) {
+        return null;
+      }
+
+      Set<T> values = new HashSet<>();
+      for (var node = head; node != END_OF_LIST; node = getNextNode(node)) {
+        values.add(terms.get(getNodeTermId(node)));
+      }
+
+      return values;
+    } finally {
+      lock.readLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.writeLock()
+        .lock();
+    try {
+      termIds.clear();
+      terms.clear();
+      allocate();
+    } finally {
+      lock.writeLock()
+          .unlock();
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  int nodeCount() {
+    return nodeCount;
+  }
+
+  private void allocate() {
+    capacity = INITIAL_CAPACITY;
+    table = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+    size = 0;
+    nodeCapacity = INITIAL_CAPACITY;
+    nodes = ByteBuffer.allocateDirect(nodeCapacity * NODE_SIZE);
+    nodeCount = 0;
+    freeNode = END_OF_LIST;
+    keyArea = ByteBuffer.allocateDirect(INITIAL_KEY_AREA_SIZE);
+    keyAreaSize = 0;
+  }
+
+  private int findSlot(ParentSideJoinKey parentSideJoinKey) {
+    var keyBytes = JoinCodec.encodeKey(parentSideJoinKey);
+    return findSlot(Fingerprints.of(keyBytes), keyBytes);
+  }
+
+  private int findSlot(long fingerprint, byte[] keyBytes) {
+    var mask = capacity - 1;
+    var slot = Fingerprints.slot(fingerprint, capacity);
+    while (getHead(slot) != EMPTY_SLOT
+        && (table.getLong(slot * SLOT_SIZE) != fingerprint || !keyEquals(getKeyOffset(slot), keyBytes))) {
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+  private int getHead(int slot) {
+    return table.getInt(slot * SLOT_SIZE + Long.BYTES);
+  }
+
+  private int getKeyOffset(int slot) {
+    return table.getInt(slot * SLOT_SIZE + Long.BYTES + Integer.BYTES);
+  }
+
+  /**
+   * Sets the head node of the given slot, storing the key if the slot is empty.
+   */
+  private void setHead(int slot, long fingerprint, byte[] keyBytes, int head) {
+    if (getHead(slot) != EMPTY_SLOT) {
+      table.putInt(slot * SLOT_SIZE + Long.BYTES, head);
+      return;
+    }
+
+    setSlot(slot, fingerprint, head, addKey(keyBytes));
+    size++;
+    if (size > capacity * MAX_LOAD_FACTOR) {
+      growTable();
+    }
+  }
+
+  private void setSlot(int slot, long fingerprint, int head, int keyOffset) {
+    table.putLong(slot * SLOT_SIZE, fingerprint);
+    table.putInt(slot * SLOT_SIZE + Long.BYTES, head);
+    table.putInt(slot * SLOT_SIZE + Long.BYTES + Integer.BYTES, keyOffset);
+  }
+
+  private int addKey(byte[] keyBytes) {
+    var recordSize = (long) Integer.BYTES + keyBytes.length;
+    if (keyAreaSize + recordSize > keyArea.capacity()) {
+      growKeyArea(keyAreaSize + recordSize);
+    }
+
+    var keyOffset = keyAreaSize;
+    keyArea.putInt(keyOffset, keyBytes.length);
+    // writes hold the write lock, and reads only use absolute positions, so the position can be moved here
+    keyArea.position(keyOffset + Integer.BYTES);
+    keyArea.put(keyBytes);
+    keyAreaSize += (int) recordSize;
+
+    return keyOffset;
+  }
+
+  private boolean keyEquals(int keyOffset, byte[] keyBytes) {
+    if (keyArea.getInt(keyOffset) != keyBytes.length) {
+      return false;
+    }
+
+    var position = keyOffset + Integer.BYTES;
+    for (int i = 0; i < keyBytes.length; i++) {
+      if (keyArea.get(position + i) != keyBytes[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private int getNodeTermId(int node) {
+    return nodes.getInt((node - 1) * NODE_SIZE);
+  }
+
+  private int getNextNode(int node) {
+    return nodes.getInt((node - 1) * NODE_SIZE + Integer.BYTES);
+  }
+
+  private int getTermId(T value) {
+    var termId = termIds.get(value);
+    if (termId == null) {
+      termId = terms.size();
+      terms.add(value);
+      termIds.put(value, termId);
+    }
+
+    return termId;
+  }
+
+  private int addNode(int termId, int next) {
+    int node;
+    if (freeNode != END_OF_LIST) {
+      node = freeNode;
+      freeNode = getNextNode(node);
+    } else {
+      if (nodeCount == nodeCapacity) {
+        growNodes();
+      }
+      nodeCount++;
+      node = nodeCount;
+    }
+
+    var position = (node - 1) * NODE_SIZE;
+    nodes.putInt(position, termId);
+    nodes.putInt(position + Integer.BYTES, next);
+
+    return node;
+  }
+
+  /**
+   * Prepends the list starting at the given head node to the free nodes.
+   */
+  private void releaseNodes(int head) {
+    if (head == EMPTY_SLOT || head == END_OF_LIST) {
+      return;
+    }
+
+    var tail = head;
+    for (var next = getNextNode(tail); next != END_OF_LIST; next = getNextNode(tail)) {
+      tail = next;
+    }
+    nodes.putInt((tail - 1) * NODE_SIZE + Integer.BYTES, freeNode);
+    freeNode = head;
+  }
+
+  private void growTable() {
+    if (capacity >= MAX_CAPACITY) {
+      throw new JoinStoreException(String.format("Join store %s exceeded its maximum of %s keys", name, size));
+    }
+
+    var oldTable = table;
+    var oldCapacity = capacity;
+    capacity = capacity * 2;
+    table = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+
+    var mask = capacity - 1;
+    for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+      var head = oldTable.getInt(oldSlot * SLOT_SIZE + Long.BYTES);
+      if (head != EMPTY_SLOT) {
+        var fingerprint = oldTable.getLong(oldSlot * SLOT_SIZE);
+        var keyOffset = oldTable.getInt(oldSlot * SLOT_SIZE + Long.BYTES + Integer.BYTES);
+        var slot = Fingerprints.slot(fingerprint, capacity);
+        while (getHead(slot) != EMPTY_SLOT) {
+          slot = (slot + 1) & mask;
+        }
+        setSlot(slot, fingerprint, head, keyOffset);
+      }
+    }
+  }
+
+  private void growKeyArea(long requiredSize) {
+    if (requiredSize > Integer.MAX_VALUE) {
+      throw new JoinStoreException(
+          String.format("Join store %s exceeded its maximum of %s bytes of keys", name, Integer.MAX_VALUE));
+    }
+
+    var oldKeyArea = keyArea;
+    var newSize = Math.max((long) keyArea.capacity() * 2, requiredSize);
+    keyArea = ByteBuffer.allocateDirect((int) Math.min(newSize, Integer.MAX_VALUE));
+
+    oldKeyArea.clear();
+    oldKeyArea.limit(keyAreaSize);
+    keyArea.put(oldKeyArea);
+  }
+
+  private void growNodes() {
+    if (nodeCapacity >= MAX_NODE_CAPACITY) {
+      throw new JoinStoreException(
+          String.format("Join store %s exceeded its maximum of %s values", name, MAX_NODE_CAPACITY));
+    }
+
+    var oldNodes = nodes;
+    nodeCapacity = (int) Math.min((long) nodeCapacity * 2, MAX_NODE_CAPACITY);
+    nodes = ByteBuffer.allocateDirect(nodeCapacity * NODE_SIZE);
+
+    oldNodes.clear();
+    oldNodes.limit(nodeCount * NODE_SIZE);
+    nodes.put(oldNodes);
+  }
+}
@@ -0,0 +1,26 @@
+package io.carml.engine.join.impl;
+
+import io.carml.engine.join.ParentSideJoinConditionStore;
+import io.carml.engine.join.ParentSideJoinConditionStoreProvider;
+import java.io.Serializable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Provides {@link OffHeapParentSideJoinConditionStore}s, which keep their index of keys and values
+ * off-heap.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OffHeapParentSideJoinConditionStoreProvider<T extends Serializable>
+    implements ParentSideJoinConditionStoreProvider<T> {
+
+  public static <T extends Serializable> OffHeapParentSideJoinConditionStoreProvider<T> of() {
+    return new OffHeapParentSideJoinConditionStoreProvider<>();
+  }
+
+  @Override
+  public ParentSideJoinConditionStore<T> createParentSideJoinConditionStore(@NonNull String name) {
+    return OffHeapParentSideJoinConditionStore.of(name);
+  }
+}
@@ -0,0 +1,169 @@
+package io.carml.engine.join.impl;
+
+import io.carml.engine.join.ChildSideJoin;
+import io.carml.engine.join.ChildSideJoinStore;
+import io.carml.engine.join.JoinCodec;
+import io.carml.engine.join.JoinStoreException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ChildSideJoinStore} that keeps up to a configured number of child-side joins on the heap,
+ * and appends any further joins to a log file in a configured directory. Joins on the heap are
+ * deduplicated, spilled joins are not. Since duplicate joins resolve to the same statements, this
+ * only affects the number of emitted statements, not the resulting graph. Spilled joins are written
+ * with a configured {@link JoinCodec}. The log file is deleted when the store is drained or cleared.
+ */
+public class SpillingChildSideJoinStore<T1 extends Serializable, T2 extends Serializable>
+    implements ChildSideJoinStore<T1, T2> {
+
+  private final String name;
+
+  private final Path directory;
+
+  private final int maxInMemoryJoins;
+
+  private final JoinCodec<T1, T2> joinCodec;
+
+  private final Set<ChildSideJoin<T1, T2>> inMemoryJoins = new HashSet<>();
+
+  private Path spillFile;
+
+  private JoinCodec.Writer<T1, T2> spillOutput;
+
+  private long spilledJoinCount;
+
+  private SpillingChildSideJoinStore(String name, Path directory, int maxInMemoryJoins,
+      JoinCodec<T1, T2> joinCodec) {
+    this.name = name;
+    this.directory = directory;
+    this.maxInMemoryJoins = maxInMemoryJoins;
+    this.joinCodec = joinCodec;
+  }
+
+  static <T1 extends Serializable, T2 extends Serializable> SpillingChildSideJoinStore<T1, T2> of(String name,
+      Path directory, int maxInMemoryJoins, JoinCodec<T1, T2> joinCodec) {
+    return new SpillingChildSideJoinStore<>(name, directory, maxInMemoryJoins, joinCodec);
+  }
+
+  @Override
+  public synchronized void addAll(Set<ChildSideJoin<T1, T2>> childSideJoins) {
+    for (var childSideJoin : childSideJoins) {
+      if (inMemoryJoins.size() < maxInMemoryJoins || inMemoryJoins.contains(childSideJoin)) {
+        inMemoryJoins.add(childSideJoin);
+      } else {
+        spill(childSideJoin);
+      }
+    }
+  }
+
+  private void spill(ChildSideJoin<T1, T2> childSideJoin) {
+    try {
+      if (spillOutput == null) {
+        spillFile = Files.createTempFile(directory, "carml-join-", ".log");
+        spillOutput = joinCodec.newWriter(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+      }
+
+      spillOutput.write(childSideJoin);
+      spilledJoinCount++;
+    } catch (IOException ioException) {
+      throw new JoinStoreException(String.format("Could not spill child-side join for %s", name), ioException);
+    }
+  }
+
+  @Override
+  public Flux<ChildSideJoin<T1, T2>> clearingFlux() {
+    return Flux.defer(() -> {
+      List<ChildSideJoin<T1, T2>> drainedJoins;
+      Path drainedSpillFile;
+      long drainedSpillCount;
+
+      synchronized (this) {
+        drainedJoins = new ArrayList<>(inMemoryJoins);
+        inMemoryJoins.clear();
+        drainedSpillFile = spillFile;
+        drainedSpillCount = spilledJoinCount;
+        closeSpillOutput();
+      }
+
+      var inMemoryJoinFlux = Flux.fromIterable(drainedJoins);
+      if (drainedSpillFile == null) {
+        return inMemoryJoinFlux;
+      }
+
+      return inMemoryJoinFlux.concatWith(readSpillFile(drainedSpillFile, drainedSpillCount));
+    });
+  }
+
+  @Override
+  public void clear() {
+    Path clearedSpillFile;
+    synchronized (this) {
+      inMemoryJoins.clear();
+      clearedSpillFile = spillFile;
+      closeSpillOutput();
+    }
+
+    if (clearedSpillFile != null) {
+      try {
+        Files.deleteIfExists(clearedSpillFile);
+      } catch (IOException ioException) {
+        throw new JoinStoreException(String.format("Could not delete spill file for %s", name), ioException);
+      }
+    }
+  }
+
+  private void closeSpillOutput() {
+    if (spillOutput == null) {
+      return;
+    }
+
+    try {
+      spillOutput.close();
+    } catch (IOException ioException) {
+      throw new JoinStoreException(String.format("Could not close spill file for %s", name), ioException);
+    } finally {
+      spillOutput = null;
+      spillFile = null;
+      spilledJoinCount = 0;
+    }
+  }
+
+  private Flux<ChildSideJoin<T1, T2>> readSpillFile(Path file, long joinCount) {
+    return Flux.using(() -> joinCodec.newReader(new BufferedInputStream(Files.newInputStream(file))),
+        input -> Flux.<ChildSideJoin<T1, T2>, Long>generate(() -> 0L, (readCount, sink) -> {
+          if (readCount == joinCount) {
+            sink.complete();
+          } else {
+            sink.next(readChildSideJoin(input));
+          }
+          return readCount + 1;
+        }), input -> deleteSpillFile(input, file));
+  }
+
+  private ChildSideJoin<T1, T2> readChildSideJoin(JoinCodec.Reader<T1, T2> input) {
+    try {
+      return input.readChildSideJoin();
+    } catch (IOException ioException) {
+      throw new JoinStoreException(String.format("Could not read spilled child-side join for %s", name), ioException);
+    }
+  }
+
+  private void deleteSpillFile(JoinCodec.Reader<T1, T2> input, Path file) {
+    try {
+      input.close();
+      Files.deleteIfExists(file);
+    } catch (IOException ioException) {
+      throw new JoinStoreException(String.format("Could not delete spill file for %s", name), ioException);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package io.carml.engine.join.impl;
+
+import io.carml.engine.join.ChildSideJoinStore;
+import io.carml.engine.join.ChildSideJoinStoreProvider;
+import io.carml.engine.join.JoinCodec;
+import io.carml.engine.join.TermCodecs;
+import java.io.Serializable;
+import java.nio.file.Path;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Provides {@link SpillingChildSideJoinStore}s, which keep at most a configured number of child-side
+ * joins on the heap, and append any further joins to a log file on disk.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SpillingChildSideJoinStoreProvider<T1 extends Serializable, T2 extends Serializable>
+    implements ChildSideJoinStoreProvider<T1, T2> {
+
+  private final Path directory;
+
+  private final int maxInMemoryJoins;
+
+  private final JoinCodec<T1, T2> joinCodec;
+
+  /**
+   * Creates a provider of stores that spill to the given directory, writing the terms of spilled joins
+   * with Java serialization. Prefer {@link #of(Path, int, JoinCodec)} with dedicated term codecs.
+   *
+   * @param directory the directory to store spilled joins in
+   * @param maxInMemoryJoins the maximum number of joins a store keeps on the heap
+   * @param <T1> the type of the subjects and graphs
+   * @param <T2> the type of the predicates
+   * @return {@link SpillingChildSideJoinStoreProvider}
+   */
+  public static <T1 extends Serializable, T2 extends Serializable> SpillingChildSideJoinStoreProvider<T1, T2> of(
+      @NonNull Path directory, int maxInMemoryJoins) {
+    return of(directory, maxInMemoryJoins, JoinCodec.of(TermCodecs.serialized(), TermCodecs.serialized()));
+  }
+
+  /**
+   * Creates a provider of stores that spill to the given directory, writing spilled joins with the
+   * given codec.
+   *
+   * @param directory the directory to store spilled joins in
+   * @param maxInMemoryJoins the maximum number of joins a store keeps on the heap
+   * @param joinCodec the codec for spilled joins
+   * @param <T1> the type of the subjects and graphs
+   * @param <T2> the type of the predicates
+   * @return {@link SpillingChildSideJoinStoreProvider}
+   */
+  public static <T1 extends Serializable, T2 extends Serializable> SpillingChildSideJoinStoreProvider<T1, T2> of(
+      @NonNull Path directory, int maxInMemoryJoins, @NonNull JoinCodec<T1, T2> joinCodec) {
+    if (maxInMemoryJoins < 0) {
+      throw new IllegalArgumentException(
+          String.format("Max in-memory joins must be at least 0, but was %s", maxInMemoryJoins));
+    }
+
+    return new SpillingChildSideJoinStoreProvider<>(directory, maxInMemoryJoins, joinCodec);
+  }
+
+  @Override
+  public ChildSideJoinStore<T1, T2> createChildSideJoinStore(@NonNull String name) {
+    return SpillingChildSideJoinStore.of(name, directory, maxInMemoryJoins, joinCodec);
+  }
+}
@@ -0,0 +1,184 @@
+package io.carml.engine.join.impl;
+
+import io.carml.engine.join.ParentSideJoinConditionStore;
+import io.carml.engine.join.ParentSideJoinKey;
+import io.carml.engine.join.TermCodec;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link ParentSideJoinConditionStore} that keeps up to a configured number of keys on the heap, and
+ * stores any further keys in a {@link DiskHashIndex} in a configured directory. The disk index is
+ * only created once the number of keys on the heap reaches that maximum, and is deleted when the
+ * store is cleared. Keys that are absent from both are mostly rejected by the Bloom filter of the
+ * disk index, without reading from disk.
+ */
+public class SpillingParentSideJoinConditionStore<T extends Serializable> implements ParentSideJoinConditionStore<T> {
+
+  private final String name;
+
+  private final Path directory;
+
+  private final int maxInMemoryKeys;
+
+  private final TermCodec<T> valueCodec;
+
+  private final ConcurrentMap<ParentSideJoinKey, Set<T>> inMemoryStore = new ConcurrentHashMap<>();
+
+  // disk lookups only use positional reads, so they can run concurrently
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private DiskHashIndex<T> diskStore;
+
+  private SpillingParentSideJoinConditionStore(String name, Path directory, int maxInMemoryKeys,
+      TermCodec<T> valueCodec) {
+    this.name = name;
+    this.directory = directory;
+    this.maxInMemoryKeys = maxInMemoryKeys;
+    this.valueCodec = valueCodec;
+  }
+
+  static <T extends Serializable> SpillingParentSideJoinConditionStore<T> of(String name, Path directory,
+      int maxInMemoryKeys, TermCodec<T> valueCodec) {
+    return new SpillingParentSideJoinConditionStore<>(name, directory, maxInMemoryKeys, valueCodec);
+  }
+
+  @Override
+  public void put(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    // the stored set is merged into, so it must not be the caller's set
+    var valueSet = new HashSet<>(values);
+    if (inMemoryStore.replace(parentSideJoinKey, valueSet) != null) {
+      return;
+    }
+
+    lock.writeLock()
+        .lock();
+    try {
+      if (diskStore != null && diskStore.containsKey(parentSideJoinKey)) {
+        diskStore.put(parentSideJoinKey, values);
+      } else if (inMemoryStore.containsKey(parentSideJoinKey) || inMemoryStore.size() < maxInMemoryKeys) {
+        inMemoryStore.put(parentSideJoinKey, valueSet);
+      } else {
+        if (diskStore == null) {
+          diskStore = DiskHashIndex.create(directory, valueCodec);
+        }
+        diskStore.put(parentSideJoinKey, values);
+      }
+    } finally {
+      lock.writeLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public void merge(ParentSideJoinKey parentSideJoinKey, Set<T> values) {
+    if (inMemoryStore.computeIfPresent(parentSideJoinKey, (key, existing) -> union(existing, values)) != null) {
+      return;
+    }
+
+    lock.writeLock()
+        .lock();
+    try {
+      if (diskStore != null && diskStore.containsKey(parentSideJoinKey)) {
+        diskStore.merge(parentSideJoinKey, values);
+      } else if (inMemoryStore.containsKey(parentSideJoinKey) || inMemoryStore.size() < maxInMemoryKeys) {
+        inMemoryStore.merge(parentSideJoinKey, new HashSet<>(values), SpillingParentSideJoinConditionStore::union);
+      } else {
+        if (diskStore == null) {
+          diskStore = DiskHashIndex.create(directory, valueCodec);
+        }
+        diskStore.merge(parentSideJoinKey, values);
+      }
+    } finally {
+      lock.writeLock()
+          .unlock();
+    }
+  }
+
+  private static <T> Set<T> union(Set<T> existing, Set<T> values) {
+    if (existing instanceof HashSet) {
+      existing.addAll(values);
+      return existing;
+    }
+
+    var merged = new HashSet<>(existing);
+    merged.addAll(values);
+    return merged;
+  }
+
+  @Override
+  public boolean mightContainKey(ParentSideJoinKey parentSideJoinKey) {
+    if (inMemoryStore.containsKey(parentSideJoinKey)) {
+      return true;
+    }
+
+    lock.readLock()
+        .lock();
+    try {
+      return diskStore != null && diskStore.mightContainKey(parentSideJoinKey);
+    } finally {
+      lock.readLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public boolean containsKey(ParentSideJoinKey parentSideJoinKey) {
+    if (inMemoryStore.containsKey(parentSideJoinKey)) {
+      return true;
+    }
+
+    lock.readLock()
+        .lock();
+    try {
+      return diskStore != null && diskStore.containsKey(parentSideJoinKey);
+    } finally {
+      lock.readLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public Set<T> get(ParentSideJoinKey parentSideJoinKey) {
+    var values = inMemoryStore.get(parentSideJoinKey);
+    if (values != null) {
+      return values;
+    }
+
+    lock.readLock()
+        .lock();
+    try {
+      return diskStore == null ? null : diskStore.get(parentSideJoinKey);
+    } finally {
+      lock.readLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.writeLock()
+        .lock();
+    try {
+      inMemoryStore.clear();
+      if (diskStore != null) {
+        diskStore.close();
+        diskStore = null;
+      }
+    } finally {
+      lock.writeLock()
+          .unlock();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s(name=%s, directory=%s)", getClass().getSimpleName(), name, directory);
+  }
+}
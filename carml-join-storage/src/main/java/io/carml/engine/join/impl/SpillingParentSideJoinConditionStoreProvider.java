@@ -0,0 +1,65 @@
+package io.carml.engine.join.impl;
+
+import io.carml.engine.join.ParentSideJoinConditionStore;
+import io.carml.engine.join.ParentSideJoinConditionStoreProvider;
+import io.carml.engine.join.TermCodec;
+import io.carml.engine.join.TermCodecs;
+import java.io.Serializable;
+import java.nio.file.Path;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Provides {@link SpillingParentSideJoinConditionStore}s, which keep at most a configured number of
+ * keys on the heap, and store any further keys on disk.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SpillingParentSideJoinConditionStoreProvider<T extends Serializable>
+    implements ParentSideJoinConditionStoreProvider<T> {
+
+  private final Path directory;
+
+  private final int maxInMemoryKeys;
+
+  private final TermCodec<T> valueCodec;
+
+  /**
+   * Creates a provider of stores that spill to the given directory, writing spilled values with Java
+   * serialization. Prefer {@link #of(Path, int, TermCodec)} with a dedicated codec for the values.
+   *
+   * @param directory the directory to store spilled keys in
+   * @param maxInMemoryKeys the maximum number of keys a store keeps on the heap
+   * @param <T> the type of the stored values
+   * @return {@link SpillingParentSideJoinConditionStoreProvider}
+   */
+  public static <T extends Serializable> SpillingParentSideJoinConditionStoreProvider<T> of(@NonNull Path directory,
+      int maxInMemoryKeys) {
+    return of(directory, maxInMemoryKeys, TermCodecs.serialized());
+  }
+
+  /**
+   * Creates a provider of stores that spill to the given directory, writing spilled values with the
+   * given codec.
+   *
+   * @param directory the directory to store spilled keys in
+   * @param maxInMemoryKeys the maximum number of keys a store keeps on the heap
+   * @param valueCodec the codec for spilled values
+   * @param <T> the type of the stored values
+   * @return {@link SpillingParentSideJoinConditionStoreProvider}
+   */
+  public static <T extends Serializable> SpillingParentSideJoinConditionStoreProvider<T> of(@NonNull Path directory,
+      int maxInMemoryKeys, @NonNull TermCodec<T> valueCodec) {
+    if (maxInMemoryKeys < 0) {
+      throw new IllegalArgumentException(
+          String.format("Max in-memory keys must be at least 0, but was %s", maxInMemoryKeys));
+    }
+
+    return new SpillingParentSideJoinConditionStoreProvider<>(directory, maxInMemoryKeys, valueCodec);
+  }
+
+  @Override
+  public ParentSideJoinConditionStore<T> createParentSideJoinConditionStore(@NonNull String name) {
+    return SpillingParentSideJoinConditionStore.of(name, directory, maxInMemoryKeys, valueCodec);
+  }
+}
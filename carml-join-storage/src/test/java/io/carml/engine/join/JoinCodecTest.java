@@ -0,0 +1,180 @@
+package io.carml.engine.join;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+
+class JoinCodecTest {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final JoinCodec<Resource, IRI> JOIN_CODEC = JoinCodec.of(TermCodecs.resource(), TermCodecs.iri());
+
+  @Test
+  void givenChildSideJoins_whenWriteAndRead_thenReturnEqualJoins() throws IOException {
+    // Given
+    var childSideJoins = IntStream.range(0, 100)
+        .mapToObj(JoinCodecTest::childSideJoin)
+        .collect(Collectors.toList());
+
+    // When
+    var readJoins = writeAndRead(JOIN_CODEC, childSideJoins);
+
+    // Then
+    assertThat(readJoins, is(childSideJoins));
+  }
+
+  @Test
+  void givenFullDictionary_whenWriteAndRead_thenReturnEqualJoins() throws IOException {
+    // Given
+    var joinCodec = JoinCodec.of(TermCodecs.resource(), TermCodecs.iri(), 1);
+    var childSideJoins = IntStream.range(0, 10)
+        .mapToObj(JoinCodecTest::childSideJoin)
+        .collect(Collectors.toList());
+
+    // When
+    var readJoins = writeAndRead(joinCodec, childSideJoins);
+
+    // Then
+    assertThat(readJoins, is(childSideJoins));
+  }
+
+  @Test
+  void givenChildSideJoins_whenWrite_thenEncodingIsSmallerThanJavaSerialization() throws IOException {
+    // Given
+    var childSideJoins = IntStream.range(0, 100)
+        .mapToObj(JoinCodecTest::childSideJoin)
+        .collect(Collectors.toList());
+    var serializedBytes = new ByteArrayOutputStream();
+    try (var output = new ObjectOutputStream(serializedBytes)) {
+      for (var childSideJoin : childSideJoins) {
+        output.writeObject(childSideJoin);
+      }
+    }
+
+    // When
+    var encodedBytes = new ByteArrayOutputStream();
+    try (var writer = JOIN_CODEC.newWriter(encodedBytes)) {
+      for (var childSideJoin : childSideJoins) {
+        writer.write(childSideJoin);
+      }
+    }
+
+    // Then
+    assertThat(encodedBytes.size(), is(lessThan(serializedBytes.size() / 2)));
+  }
+
+  @Test
+  void givenParentSideJoinKeys_whenWriteAndRead_thenReturnEqualKeys() throws IOException {
+    // Given
+    var parentSideJoinKeys = List.of(ParentSideJoinKey.of("id", "1"), ParentSideJoinKey.of("id", "2"),
+        ParentSideJoinKey.ofComposite(List.of("id", "name"), List.of("3", "three")));
+    var bytes = new ByteArrayOutputStream();
+    try (var writer = JOIN_CODEC.newWriter(bytes)) {
+      for (var parentSideJoinKey : parentSideJoinKeys) {
+        writer.write(parentSideJoinKey);
+      }
+    }
+
+    // When
+    List<ParentSideJoinKey> readKeys = new ArrayList<>();
+    try (var reader = JOIN_CODEC.newReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+      for (int i = 0; i < parentSideJoinKeys.size(); i++) {
+        readKeys.add(reader.readParentSideJoinKey());
+      }
+    }
+
+    // Then
+    assertThat(readKeys, is(parentSideJoinKeys));
+  }
+
+  @Test
+  void givenParentSideJoinKey_whenEncodeKeyAndDecodeKey_thenReturnEqualKey() {
+    // Given
+    var parentSideJoinKey = ParentSideJoinKey.of("id", "\u00e9\u4e2d");
+
+    // When
+    var decodedKey = JoinCodec.decodeKey(JoinCodec.encodeKey(parentSideJoinKey));
+
+    // Then
+    assertThat(decodedKey, is(parentSideJoinKey));
+  }
+
+  @Test
+  void givenValues_whenEncodeValuesAndDecodeValues_thenReturnEqualValues() {
+    // Given
+    Set<Resource> values = Set.of(VALUE_FACTORY.createIRI("http://example.com/parent/1"),
+        VALUE_FACTORY.createBNode("parent2"));
+
+    // When
+    Set<Resource> decodedValues = new HashSet<>();
+    JoinCodec.decodeValues(JoinCodec.encodeValues(values, TermCodecs.resource()), TermCodecs.resource(),
+        decodedValues);
+
+    // Then
+    assertThat(decodedValues, containsInAnyOrder(values.toArray()));
+  }
+
+  @Test
+  void givenUnsupportedVersion_whenNewReader_thenThrowException() {
+    // Given
+    var bytes = new ByteArrayInputStream(new byte[] {(byte) (JoinCodec.VERSION + 1)});
+
+    // When
+    var joinStoreException = assertThrows(JoinStoreException.class, () -> JOIN_CODEC.newReader(bytes));
+
+    // Then
+    assertThat(joinStoreException.getMessage(),
+        is(String.format("Unsupported join encoding version %s, expected version %s", JoinCodec.VERSION + 1,
+            JoinCodec.VERSION)));
+  }
+
+  private static <T1 extends Serializable, T2 extends Serializable> List<ChildSideJoin<T1, T2>>
+      writeAndRead(JoinCodec<T1, T2> joinCodec, List<ChildSideJoin<T1, T2>> childSideJoins) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var writer = joinCodec.newWriter(bytes)) {
+      for (var childSideJoin : childSideJoins) {
+        writer.write(childSideJoin);
+      }
+    }
+
+    List<ChildSideJoin<T1, T2>> readJoins = new ArrayList<>();
+    try (var reader = joinCodec.newReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+      for (int i = 0; i < childSideJoins.size(); i++) {
+        readJoins.add(reader.readChildSideJoin());
+      }
+    }
+
+    return readJoins;
+  }
+
+  private static ChildSideJoin<Resource, IRI> childSideJoin(int index) {
+    return ChildSideJoin.<Resource, IRI>builder()
+        .subjects(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/child/" + index),
+            VALUE_FACTORY.createBNode("child" + index))))
+        .predicates(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/parent"))))
+        .graphs(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/graph"))))
+        .childSideJoinConditions(new HashSet<>(Set.of(ChildSideJoinCondition.of("parentId",
+            new ArrayList<>(List.of(Integer.toString(index), "shared")), "id"))))
+        .build();
+  }
+}
@@ -0,0 +1,98 @@
+package io.carml.engine.join.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+import io.carml.engine.join.ChildSideJoin;
+import io.carml.engine.join.ChildSideJoinCondition;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+
+class CarmlChildSideJoinStoreTest {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final int PRODUCER_COUNT = 8;
+
+  private static final int JOINS_PER_PRODUCER = 1000;
+
+  @Test
+  void givenConcurrentProducers_whenClearingFlux_thenReturnAllJoins() {
+    // Given
+    var childSideJoinStore = CarmlChildSideJoinStoreProvider.<Resource, IRI>of()
+        .createChildSideJoinStore("test");
+
+    // When
+    IntStream.range(0, PRODUCER_COUNT)
+        .parallel()
+        .forEach(producer -> IntStream.range(0, JOINS_PER_PRODUCER)
+            .forEach(i -> childSideJoinStore.addAll(Set.of(childSideJoin(producer * JOINS_PER_PRODUCER + i)))));
+    var drainedJoins = childSideJoinStore.clearingFlux()
+        .collectList()
+        .block();
+
+    // Then
+    var expectedJoins = IntStream.range(0, PRODUCER_COUNT * JOINS_PER_PRODUCER)
+        .mapToObj(CarmlChildSideJoinStoreTest::childSideJoin)
+        .toArray();
+    assertThat(drainedJoins, containsInAnyOrder(expectedJoins));
+  }
+
+  @Test
+  void givenDrainedStore_whenAddAllAndClearingFlux_thenReturnOnlyNewJoins() {
+    // Given
+    var childSideJoinStore = CarmlChildSideJoinStoreProvider.<Resource, IRI>of()
+        .createChildSideJoinStore("test");
+    childSideJoinStore.addAll(Set.of(childSideJoin(1), childSideJoin(2)));
+    childSideJoinStore.clearingFlux()
+        .blockLast();
+
+    // When
+    childSideJoinStore.addAll(Set.of(childSideJoin(3), childSideJoin(4)));
+    var drainedJoins = childSideJoinStore.clearingFlux()
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(drainedJoins, containsInAnyOrder(childSideJoin(3), childSideJoin(4)));
+    assertThat(childSideJoinStore.clearingFlux()
+        .collectList()
+        .block(), is(empty()));
+  }
+
+  @Test
+  void givenJoins_whenClear_thenRemoveAllJoins() {
+    // Given
+    var childSideJoinStore = CarmlChildSideJoinStoreProvider.<Resource, IRI>of()
+        .createChildSideJoinStore("test");
+    childSideJoinStore.addAll(Set.of(childSideJoin(1), childSideJoin(2)));
+
+    // When
+    childSideJoinStore.clear();
+
+    // Then
+    assertThat(childSideJoinStore.clearingFlux()
+        .collectList()
+        .block(), is(empty()));
+  }
+
+  private static ChildSideJoin<Resource, IRI> childSideJoin(int index) {
+    return ChildSideJoin.<Resource, IRI>builder()
+        .subjects(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/child/" + index))))
+        .predicates(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/parent"))))
+        .graphs(new HashSet<>())
+        .childSideJoinConditions(new HashSet<>(Set.of(ChildSideJoinCondition.of("parentId",
+            new ArrayList<>(List.of(Integer.toString(index))), "id"))))
+        .build();
+  }
+}
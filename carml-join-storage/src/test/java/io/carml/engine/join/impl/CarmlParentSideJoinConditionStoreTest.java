@@ -0,0 +1,58 @@
+package io.carml.engine.join.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import io.carml.engine.join.ParentSideJoinKey;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+
+class CarmlParentSideJoinConditionStoreTest {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final int VALUE_COUNT = 10_000;
+
+  @Test
+  void givenConcurrentMergesIntoSameKey_whenGet_thenReturnAllValues() {
+    // Given
+    var store = CarmlParentSideJoinConditionStoreProvider.<Resource>of()
+        .createParentSideJoinConditionStore("test");
+    var key = ParentSideJoinKey.of("id", "1");
+
+    // When
+    IntStream.range(0, VALUE_COUNT)
+        .parallel()
+        .forEach(i -> store.merge(key, Set.of(subject(i))));
+
+    // Then
+    var expectedValues = IntStream.range(0, VALUE_COUNT)
+        .mapToObj(CarmlParentSideJoinConditionStoreTest::subject)
+        .collect(Collectors.toSet());
+    assertThat(store.get(key), is(expectedValues));
+  }
+
+  @Test
+  void givenImmutableValues_whenPutAndMerge_thenReturnMergedValues() {
+    // Given
+    var store = CarmlParentSideJoinConditionStoreProvider.<Resource>of()
+        .createParentSideJoinConditionStore("test");
+    var key = ParentSideJoinKey.of("id", "1");
+
+    // When
+    store.put(key, Set.of(subject(1)));
+    store.merge(key, Set.of(subject(2)));
+
+    // Then
+    assertThat(store.get(key), is(Set.of(subject(1), subject(2))));
+  }
+
+  private static Resource subject(int index) {
+    return VALUE_FACTORY.createIRI("http://example.com/parent/" + index);
+  }
+}
@@ -0,0 +1,153 @@
+package io.carml.engine.join.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+import io.carml.engine.join.ParentSideJoinKey;
+import java.util.Set;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+
+class OffHeapParentSideJoinConditionStoreTest {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final int KEY_COUNT = 10_000;
+
+  @Test
+  void givenManyKeys_whenGet_thenReturnValuesPerKey() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+
+    // When
+    for (int i = 0; i < KEY_COUNT; i++) {
+      store.put(ParentSideJoinKey.of("id", Integer.toString(i)), Set.of(subject(i), subject(KEY_COUNT + i % 10)));
+    }
+
+    // Then
+    assertThat(store.size(), is(KEY_COUNT));
+    for (int i = 0; i < KEY_COUNT; i++) {
+      var key = ParentSideJoinKey.of("id", Integer.toString(i));
+      assertThat(store.containsKey(key), is(true));
+      assertThat(store.get(key), is(Set.of(subject(i), subject(KEY_COUNT + i % 10))));
+    }
+    assertThat(store.containsKey(ParentSideJoinKey.of("id", "missing")), is(false));
+    assertThat(store.get(ParentSideJoinKey.of("name", "1")), is(nullValue()));
+  }
+
+  @Test
+  void givenKeysWithSameConcatenation_whenGet_thenDistinguishKeys() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+
+    // When
+    store.put(ParentSideJoinKey.of("ab", "c"), Set.of(subject(1)));
+    store.put(ParentSideJoinKey.of("a", "bc"), Set.of(subject(2)));
+
+    // Then
+    assertThat(store.get(ParentSideJoinKey.of("ab", "c")), is(Set.of(subject(1))));
+    assertThat(store.get(ParentSideJoinKey.of("a", "bc")), is(Set.of(subject(2))));
+  }
+
+  @Test
+  void givenExistingKey_whenPut_thenReplaceValues() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+    var key = ParentSideJoinKey.of("id", "1");
+    store.put(key, Set.of(subject(1)));
+
+    // When
+    store.put(key, Set.of(subject(2), subject(3)));
+
+    // Then
+    assertThat(store.size(), is(1));
+    assertThat(store.get(key), is(Set.of(subject(2), subject(3))));
+  }
+
+  @Test
+  void givenExistingKey_whenMerge_thenAddValues() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+    var key = ParentSideJoinKey.of("id", "1");
+    store.merge(key, Set.of(subject(1)));
+
+    // When
+    store.merge(key, Set.of(subject(1), subject(2)));
+
+    // Then
+    assertThat(store.size(), is(1));
+    assertThat(store.get(key), is(Set.of(subject(1), subject(2))));
+  }
+
+  @Test
+  void givenExistingKey_whenMergeSameValuesRepeatedly_thenReturnValuesOnce() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+    var key = ParentSideJoinKey.of("id", "1");
+    store.merge(key, Set.of(subject(1), subject(2)));
+
+    // When
+    for (int i = 0; i < 100; i++) {
+      store.merge(key, Set.of(subject(1), subject(2)));
+    }
+
+    // Then
+    assertThat(store.get(key), is(Set.of(subject(1), subject(2))));
+  }
+
+  @Test
+  void givenExistingKey_whenPutRepeatedly_thenReuseNodes() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+    var key = ParentSideJoinKey.of("id", "1");
+    var otherKey = ParentSideJoinKey.of("id", "2");
+    store.put(key, Set.of(subject(1), subject(2)));
+    store.put(otherKey, Set.of(subject(3)));
+
+    // When
+    for (int i = 0; i < 100; i++) {
+      store.put(key, Set.of(subject(i), subject(i + 1)));
+    }
+
+    // Then
+    assertThat(store.nodeCount(), is(3));
+    assertThat(store.get(key), is(Set.of(subject(99), subject(100))));
+    assertThat(store.get(otherKey), is(Set.of(subject(3))));
+  }
+
+  @Test
+  void givenKeyWithoutValues_whenGet_thenReturnEmptySet() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+    var key = ParentSideJoinKey.of("id", "1");
+
+    // When
+    store.put(key, Set.of());
+
+    // Then
+    assertThat(store.containsKey(key), is(true));
+    assertThat(store.get(key), is(empty()));
+  }
+
+  @Test
+  void givenKeys_whenClear_thenRemoveKeys() {
+    // Given
+    OffHeapParentSideJoinConditionStore<Resource> store = OffHeapParentSideJoinConditionStore.of("test");
+    store.put(ParentSideJoinKey.of("id", "1"), Set.of(subject(1)));
+
+    // When
+    store.clear();
+
+    // Then
+    assertThat(store.size(), is(0));
+    assertThat(store.containsKey(ParentSideJoinKey.of("id", "1")), is(false));
+  }
+
+  private static Resource subject(int index) {
+    return VALUE_FACTORY.createIRI("http://example.com/parent/" + index);
+  }
+}
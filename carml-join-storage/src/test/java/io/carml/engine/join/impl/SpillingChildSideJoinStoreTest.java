@@ -0,0 +1,124 @@
+package io.carml.engine.join.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+import io.carml.engine.join.ChildSideJoin;
+import io.carml.engine.join.ChildSideJoinCondition;
+import io.carml.engine.join.JoinCodec;
+import io.carml.engine.join.TermCodecs;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillingChildSideJoinStoreTest {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void givenMoreJoinsThanMaxInMemoryJoins_whenClearingFlux_thenReturnAllJoinsAndDeleteSpillFile() throws IOException {
+    // Given
+    var childSideJoinStore = SpillingChildSideJoinStoreProvider.<Resource, IRI>of(directory, 2)
+        .createChildSideJoinStore("test");
+    var childSideJoins = IntStream.range(0, 3000)
+        .mapToObj(SpillingChildSideJoinStoreTest::childSideJoin)
+        .collect(Collectors.toSet());
+    childSideJoinStore.addAll(childSideJoins);
+
+    // When
+    var drainedJoins = childSideJoinStore.clearingFlux()
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(drainedJoins, containsInAnyOrder(childSideJoins.toArray()));
+    try (var files = Files.list(directory)) {
+      assertThat(files.collect(Collectors.toList()), is(empty()));
+    }
+  }
+
+  @Test
+  void givenJoinCodec_whenClearingFlux_thenReturnAllSpilledJoins() {
+    // Given
+    var childSideJoinStore = SpillingChildSideJoinStoreProvider.of(directory, 0,
+        JoinCodec.of(TermCodecs.resource(), TermCodecs.iri()))
+        .createChildSideJoinStore("test");
+    var childSideJoins = IntStream.range(0, 100)
+        .mapToObj(SpillingChildSideJoinStoreTest::childSideJoin)
+        .collect(Collectors.toSet());
+    childSideJoinStore.addAll(childSideJoins);
+
+    // When
+    var drainedJoins = childSideJoinStore.clearingFlux()
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(drainedJoins, containsInAnyOrder(childSideJoins.toArray()));
+  }
+
+  @Test
+  void givenDrainedStore_whenAddAllAndClearingFlux_thenReturnOnlyNewJoins() {
+    // Given
+    var childSideJoinStore = SpillingChildSideJoinStoreProvider.<Resource, IRI>of(directory, 1)
+        .createChildSideJoinStore("test");
+    childSideJoinStore.addAll(Set.of(childSideJoin(1), childSideJoin(2)));
+    childSideJoinStore.clearingFlux()
+        .blockLast();
+
+    // When
+    childSideJoinStore.addAll(Set.of(childSideJoin(3), childSideJoin(4)));
+    var drainedJoins = childSideJoinStore.clearingFlux()
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(drainedJoins, containsInAnyOrder(childSideJoin(3), childSideJoin(4)));
+  }
+
+  @Test
+  void givenSpilledJoins_whenClear_thenRemoveAllJoinsAndDeleteSpillFile() throws IOException {
+    // Given
+    var childSideJoinStore = SpillingChildSideJoinStoreProvider.<Resource, IRI>of(directory, 1)
+        .createChildSideJoinStore("test");
+    childSideJoinStore.addAll(Set.of(childSideJoin(1), childSideJoin(2), childSideJoin(3)));
+
+    // When
+    childSideJoinStore.clear();
+
+    // Then
+    try (var files = Files.list(directory)) {
+      assertThat(files.collect(Collectors.toList()), is(empty()));
+    }
+    assertThat(childSideJoinStore.clearingFlux()
+        .collectList()
+        .block(), is(empty()));
+  }
+
+  private static ChildSideJoin<Resource, IRI> childSideJoin(int index) {
+    return ChildSideJoin.<Resource, IRI>builder()
+        .subjects(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/child/" + index))))
+        .predicates(new HashSet<>(Set.of(VALUE_FACTORY.createIRI("http://example.com/parent"))))
+        .graphs(new HashSet<>())
+        .childSideJoinConditions(new HashSet<>(Set.of(ChildSideJoinCondition.of("parentId",
+            new ArrayList<>(List.of(Integer.toString(index))), "id"))))
+        .build();
+  }
+}
@@ -0,0 +1,169 @@
+package io.carml.engine.join.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+import io.carml.engine.join.ParentSideJoinKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillingParentSideJoinConditionStoreTest {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final int KEY_COUNT = 10_000;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void givenMoreKeysThanMaxInMemoryKeys_whenGet_thenReturnValuesFromHeapAndDisk() {
+    // Given
+    var store = SpillingParentSideJoinConditionStoreProvider.<Resource>of(directory, 100)
+        .createParentSideJoinConditionStore("test");
+
+    // When
+    for (int i = 0; i < KEY_COUNT; i++) {
+      store.put(ParentSideJoinKey.of("id", Integer.toString(i)), Set.of(subject(i)));
+    }
+
+    // Then
+    for (int i = 0; i < KEY_COUNT; i++) {
+      var key = ParentSideJoinKey.of("id", Integer.toString(i));
+      assertThat(store.containsKey(key), is(true));
+      assertThat(store.get(key), is(Set.of(subject(i))));
+    }
+    assertThat(store.containsKey(ParentSideJoinKey.of("id", "missing")), is(false));
+    assertThat(store.get(ParentSideJoinKey.of("name", "1")), is(nullValue()));
+  }
+
+  @Test
+  void givenMoreKeysThanMaxInMemoryKeys_whenMightContainKey_thenRejectMostAbsentKeys() {
+    // Given
+    var store = SpillingParentSideJoinConditionStoreProvider.<Resource>of(directory, 100)
+        .createParentSideJoinConditionStore("test");
+    for (int i = 0; i < KEY_COUNT; i++) {
+      store.put(ParentSideJoinKey.of("id", Integer.toString(i)), Set.of(subject(i)));
+    }
+
+    // When
+    var presentKeyCount = IntStream.range(0, KEY_COUNT)
+        .filter(i -> store.mightContainKey(ParentSideJoinKey.of("id", Integer.toString(i))))
+        .count();
+    var falsePositiveCount = IntStream.range(KEY_COUNT, KEY_COUNT * 2)
+        .filter(i -> store.mightContainKey(ParentSideJoinKey.of("id", Integer.toString(i))))
+        .count();
+
+    // Then
+    assertThat(presentKeyCount, is((long) KEY_COUNT));
+    assertThat(falsePositiveCount < KEY_COUNT / 100, is(true));
+  }
+
+  @Test
+  void givenSpilledKey_whenPut_thenReplaceValues() {
+    // Given
+    var store = SpillingParentSideJoinConditionStoreProvider.<Resource>of(directory, 0)
+        .createParentSideJoinConditionStore("test");
+    var key = ParentSideJoinKey.of("id", "1");
+    store.put(key, Set.of(subject(1)));
+
+    // When
+    store.put(key, Set.of(subject(1), subject(2)));
+
+    // Then
+    assertThat(store.get(key), is(Set.of(subject(1), subject(2))));
+  }
+
+  @Test
+  void givenKeysOnHeapAndDisk_whenMerge_thenAddValues() {
+    // Given
+    var store = SpillingParentSideJoinConditionStoreProvider.<Resource>of(directory, 1)
+        .createParentSideJoinConditionStore("test");
+    var heapKey = ParentSideJoinKey.of("id", "1");
+    var diskKey = ParentSideJoinKey.of("id", "2");
+    store.merge(heapKey, Set.of(subject(1)));
+    store.merge(diskKey, Set.of(subject(2)));
+
+    // When
+    store.merge(heapKey, Set.of(subject(3)));
+    store.merge(diskKey, Set.of(subject(2), subject(4)));
+
+    // Then
+    assertThat(store.get(heapKey), is(Set.of(subject(1), subject(3))));
+    assertThat(store.get(diskKey), is(Set.of(subject(2), subject(4))));
+  }
+
+  @Test
+  void givenPutValues_whenMerge_thenLeaveCallerSetUnchanged() {
+    // Given
+    var store = SpillingParentSideJoinConditionStoreProvider.<Resource>of(directory, 1)
+        .createParentSideJoinConditionStore("test");
+    var key = ParentSideJoinKey.of("id", "1");
+    Set<Resource> values = new HashSet<>(Set.of(subject(1)));
+    store.put(key, values);
+
+    // When
+    store.merge(key, Set.of(subject(2)));
+
+    // Then
+    assertThat(values, is(Set.of(subject(1))));
+    assertThat(store.get(key), is(Set.of(subject(1), subject(2))));
+  }
+
+  @Test
+  void givenConcurrentMerges_whenGet_thenReturnAllValues() {
+    // Given
+    var store = SpillingParentSideJoinConditionStoreProvider.<Resource>of(directory, 10)
+        .createParentSideJoinConditionStore("test");
+
+    // When
+    IntStream.range(0, KEY_COUNT)
+        .parallel()
+        .forEach(i -> store.merge(ParentSideJoinKey.of("id", Integer.toString(i % 20)), Set.of(subject(i))));
+
+    // Then
+    for (int key = 0; key < 20; key++) {
+      var keyIndex = key;
+      var expected = IntStream.range(0, KEY_COUNT)
+          .filter(i -> i % 20 == keyIndex)
+          .mapToObj(SpillingParentSideJoinConditionStoreTest::subject)
+          .collect(Collectors.toSet());
+      assertThat(store.get(ParentSideJoinKey.of("id", Integer.toString(key))), is(expected));
+    }
+  }
+
+  @Test
+  void givenSpilledKeys_whenClear_thenRemoveKeysAndFiles() throws IOException {
+    // Given
+    var store = SpillingParentSideJoinConditionStoreProvider.<Resource>of(directory, 1)
+        .createParentSideJoinConditionStore("test");
+    store.put(ParentSideJoinKey.of("id", "1"), Set.of(subject(1)));
+    store.put(ParentSideJoinKey.of("id", "2"), Set.of(subject(2)));
+
+    // When
+    store.clear();
+
+    // Then
+    assertThat(store.containsKey(ParentSideJoinKey.of("id", "1")), is(false));
+    assertThat(store.containsKey(ParentSideJoinKey.of("id", "2")), is(false));
+    try (var files = Files.list(directory)) {
+      assertThat(files.collect(Collectors.toList()), is(empty()));
+    }
+  }
+
+  private static Resource subject(int index) {
+    return VALUE_FACTORY.createIRI("http://example.com/parent/" + index);
+  }
+}
@@ -2,27 +2,31 @@ package io.carml.logicalsourceresolver;
 
 import static io.carml.util.LogUtil.exception;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.ParseContext;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import io.carml.model.LogicalSource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.StreamSupport;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -40,18 +44,20 @@ public class JsonPathResolver implements LogicalSourceResolver<JsonNode> {
 
   private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
 
-  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
   private static final Configuration JSONPATH_CONF = Configuration.builder()
       .jsonProvider(new JacksonJsonNodeJsonProvider())
       .options(Option.DEFAULT_PATH_LEAF_TO_NULL)
       .options(Option.SUPPRESS_EXCEPTIONS)
       .build();
 
+  private static final ParseContext JSONPATH_PARSE_CONTEXT = JsonPath.using(JSONPATH_CONF);
+
   private final JsonSurfer jsonSurfer;
 
   private final int bufferSize;
 
+  private final Map<String, UnaryOperator<JsonNode>> compiledExpressions = new ConcurrentHashMap<>();
+
   public static JsonPathResolver getInstance() {
     return getInstance(DEFAULT_BUFFER_SIZE);
   }
@@ -95,34 +101,28 @@ public class JsonPathResolver implements LogicalSourceResolver<JsonNode> {
   private Flux<LogicalSourceRecord<JsonNode>> getObjectFlux(InputStream inputStream,
       Set<LogicalSource> logicalSources) {
     var outstandingRequests = new AtomicLong();
-    var sourcePaused = new AtomicBoolean();
-    var sourceCompleted = new AtomicBoolean();
 
     return Flux.create(sink -> {
-      sink.onRequest(requested -> {
-        var outstanding = outstandingRequests.addAndGet(requested);
-        if (sourcePaused.get() && outstanding >= 0L) {
-          sourcePaused.compareAndSet(true, false);
-        } else if (!sourcePaused.get() && outstanding < 0L) {
-          sourcePaused.compareAndSet(false, true);
-        }
-      });
-      sink.onDispose(() -> {
-        try {
-          inputStream.close();
-        } catch (IOException ioException) {
-          throw new LogicalSourceResolverException("Error closing input stream.", ioException);
-        }
-      });
-
       var configBuilder = jsonSurfer.configBuilder();
 
       bridgeAndListen(logicalSources, configBuilder, sink, outstandingRequests);
 
       var config = configBuilder.build();
       var parser = jsonSurfer.createNonBlockingParser(config);
+      var sourceReader =
+          new DemandDrivenSourceReader(Channels.newChannel(inputStream), parser, sink, outstandingRequests, bufferSize);
 
-      readSource(inputStream, parser, sink, sourcePaused, sourceCompleted);
+      sink.onDispose(() -> {
+        try {
+          inputStream.close();
+        } catch (IOException ioException) {
+          throw new LogicalSourceResolverException("Error closing input stream.", ioException);
+        }
+      });
+      sink.onRequest(requested -> {
+        outstandingRequests.accumulateAndGet(requested, JsonPathResolver::addRequests);
+        sourceReader.read();
+      });
     });
   }
 
@@ -149,36 +149,19 @@ public class JsonPathResolver implements LogicalSourceResolver<JsonNode> {
     });
   }
 
-  private void readSource(InputStream inputStream, NonBlockingParser parser,
-      FluxSink<LogicalSourceRecord<JsonNode>> sink, AtomicBoolean parsingPaused, AtomicBoolean parsingCompleted) {
-    try (var channel = Channels.newChannel(inputStream)) {
-      var byteBuffer = ByteBuffer.allocate(bufferSize);
-
-      while (!parsingCompleted.get()) {
-        while (!parsingPaused.get()) {
-          var readStatus = channel.read(byteBuffer);
-
-          if (readStatus == -1) {
-            parser.endOfInput();
-            parsingCompleted.compareAndSet(false, true);
-            sink.complete();
-            break;
-          }
-
-          parser.feed(byteBuffer.array(), 0, byteBuffer.position());
-          byteBuffer.clear();
-        }
-      }
-    } catch (IOException ioException) {
-      sink.error(new LogicalSourceResolverException("Error reading input stream.", ioException));
-    }
+  /**
+   * Adds newly requested records to the outstanding requests, which are negative when a chunk yielded
+   * more records than were requested. Only a positive overflow is capped, as an unbounded demand would
+   * read the whole source ahead of the actual demand.
+   */
+  private static long addRequests(long outstanding, long requested) {
+    var total = outstanding + requested;
+    return total < outstanding ? Long.MAX_VALUE : total;
   }
 
   private Flux<LogicalSourceRecord<JsonNode>> getObjectFluxForLogicalSource(JsonNode jsonNode,
       LogicalSource logicalSource) {
-    var resultNode = JsonPath.using(JSONPATH_CONF)
-        .parse(jsonNode)
-        .read(logicalSource.getIterator(), JsonNode.class);
+    var resultNode = read(jsonNode, logicalSource.getIterator());
 
     if (resultNode == null || resultNode.isNull()) {
       return Flux.empty();
@@ -199,27 +182,137 @@ public class JsonPathResolver implements LogicalSourceResolver<JsonNode> {
     return jsonNode -> expression -> {
       logEvaluateExpression(expression, LOG);
 
-      var resultNode = JsonPath.using(JSONPATH_CONF)
-          .parse(jsonNode)
-          .read(expression, JsonNode.class);
+      var resultNode = read(jsonNode, expression);
 
-      try {
-        if (resultNode == null || resultNode.isNull()) {
-          return Optional.empty();
+      if (resultNode == null || resultNode.isNull()) {
+        return Optional.empty();
+      }
+      if (resultNode.isArray()) {
+        return Optional.of(toList(resultNode));
+      } else if (resultNode.isObject()) {
+        return Optional.of(toMap(resultNode));
+      } else if (resultNode.isValueNode()) {
+        return Optional.of(resultNode.asText());
+      }
+
+      throw new LogicalSourceResolverException(String.format("Error interpreting expression result %s", resultNode));
+    };
+  }
+
+  /**
+   * Converts the elements of an array node to a list, with the text of leaf values, and nested arrays
+   * and objects converted to lists and maps. Null elements are kept as {@code null}.
+   */
+  private static List<Object> toList(JsonNode arrayNode) {
+    var values = new ArrayList<>(arrayNode.size());
+    arrayNode.elements()
+        .forEachRemaining(element -> values.add(toValue(element)));
+    return values;
+  }
+
+  private static Map<String, Object> toMap(JsonNode objectNode) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    objectNode.fields()
+        .forEachRemaining(field -> values.put(field.getKey(), toValue(field.getValue())));
+    return values;
+  }
+
+  private static Object toValue(JsonNode jsonNode) {
+    if (jsonNode.isNull() || jsonNode.isMissingNode()) {
+      return null;
+    } else if (jsonNode.isArray()) {
+      return toList(jsonNode);
+    } else if (jsonNode.isObject()) {
+      return toMap(jsonNode);
+    }
+
+    return jsonNode.asText();
+  }
+
+  private JsonNode read(JsonNode jsonNode, String expression) {
+    return compiledExpressions.computeIfAbsent(expression, JsonPathResolver::compile)
+        .apply(jsonNode);
+  }
+
+  private static UnaryOperator<JsonNode> compile(String expression) {
+    var simpleJsonPath = SimpleJsonPath.parse(expression);
+    if (simpleJsonPath.isPresent()) {
+      return simpleJsonPath.get()::read;
+    }
+
+    var jsonPath = JsonPath.compile(expression);
+    return jsonNode -> JSONPATH_PARSE_CONTEXT.parse(jsonNode)
+        .read(jsonPath, JsonNode.class);
+  }
+
+  /**
+   * Feeds the non-blocking parser from the source only while there is demand. Reading happens on the
+   * thread that signals demand, and stops as soon as more records were emitted than requested, so a
+   * paused pipeline does not consume any CPU. The source is read at most one chunk ahead of demand,
+   * which ensures completion is signalled when all requested records were emitted.
+   */
+  private static class DemandDrivenSourceReader {
+
+    private final ReadableByteChannel channel;
+
+    private final NonBlockingParser parser;
+
+    private final FluxSink<LogicalSourceRecord<JsonNode>> sink;
+
+    private final AtomicLong outstandingRequests;
+
+    private final ByteBuffer byteBuffer;
+
+    private final AtomicInteger workInProgress = new AtomicInteger();
+
+    private boolean completed;
+
+    DemandDrivenSourceReader(ReadableByteChannel channel, NonBlockingParser parser,
+        FluxSink<LogicalSourceRecord<JsonNode>> sink, AtomicLong outstandingRequests, int bufferSize) {
+      this.channel = channel;
+      this.parser = parser;
+      this.sink = sink;
+      this.outstandingRequests = outstandingRequests;
+      this.byteBuffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    void read() {
+      // Only one thread reads at a time. Demand signalled while reading, possibly re-entrantly by a
+      // downstream subscriber, is picked up by the reading thread.
+      if (workInProgress.getAndIncrement() != 0) {
+        return;
+      }
+
+      var missed = 1;
+      do {
+        while (!completed && !sink.isCancelled() && outstandingRequests.get() >= 0L) {
+          readChunk();
         }
-        if (resultNode.isArray()) {
-          return Optional.of(OBJECT_MAPPER.treeToValue(resultNode, List.class));
-        } else if (resultNode.isObject()) {
-          return Optional.of(OBJECT_MAPPER.treeToValue(resultNode, Map.class));
-        } else if (resultNode.isValueNode()) {
-          return Optional.of(resultNode.asText());
+        missed = workInProgress.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void readChunk() {
+      try {
+        var readStatus = channel.read(byteBuffer);
+
+        if (readStatus == -1) {
+          completed = true;
+          parser.endOfInput();
+          sink.complete();
+          return;
         }
 
-        throw new LogicalSourceResolverException(String.format("Error interpreting expression result %s", resultNode));
-      } catch (JsonProcessingException jsonProcessingException) {
-        throw new LogicalSourceResolverException(String.format("Error processing expression result %s", resultNode),
-            jsonProcessingException);
+        parser.feed(byteBuffer.array(), 0, byteBuffer.position());
+        byteBuffer.clear();
+      } catch (IOException ioException) {
+        completed = true;
+        sink.error(new LogicalSourceResolverException("Error reading input stream.", ioException));
+      } catch (RuntimeException runtimeException) {
+        // malformed input, or a failure while emitting a record
+        completed = true;
+        sink.error(new LogicalSourceResolverException("Error parsing input stream.", runtimeException));
       }
-    };
+    }
   }
 }
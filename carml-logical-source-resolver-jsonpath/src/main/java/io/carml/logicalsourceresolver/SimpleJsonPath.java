@@ -0,0 +1,135 @@
+package io.carml.logicalsourceresolver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+/**
+ * A definite JsonPath consisting only of property and array index steps, such as {@code name},
+ * {@code $.a.b[0]} or {@code $['a']['b c']}. Such a path is read by navigating the {@link JsonNode}
+ * tree directly, bypassing the JsonPath engine. Like the JsonPath engine configured with
+ * {@code DEFAULT_PATH_LEAF_TO_NULL} and {@code SUPPRESS_EXCEPTIONS}, reading a path that does not
+ * resolve yields {@code null}.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class SimpleJsonPath {
+
+  private static final int PROPERTY_STEP = -1;
+
+  private final String[] propertyNames;
+
+  private final int[] indices;
+
+  /**
+   * Parses the given expression as a {@link SimpleJsonPath}.
+   *
+   * @param expression the JsonPath expression
+   * @return the {@link SimpleJsonPath}, or {@link Optional#empty()} if the expression contains
+   *     anything other than property and non-negative array index steps
+   */
+  static Optional<SimpleJsonPath> parse(String expression) {
+    var length = expression.length();
+    List<String> propertyNames = new ArrayList<>();
+    List<Integer> indices = new ArrayList<>();
+
+    int position;
+    if (expression.startsWith("$")) {
+      position = 1;
+    } else {
+      // JsonPath interprets an expression without root as a property path relative to the root
+      position = parsePropertyName(expression, 0);
+      if (position == 0) {
+        return Optional.empty();
+      }
+      propertyNames.add(expression.substring(0, position));
+      indices.add(PROPERTY_STEP);
+    }
+
+    while (position < length) {
+      var character = expression.charAt(position);
+      if (character == '.') {
+        var end = parsePropertyName(expression, position + 1);
+        if (end == position + 1) {
+          return Optional.empty();
+        }
+        propertyNames.add(expression.substring(position + 1, end));
+        indices.add(PROPERTY_STEP);
+        position = end;
+      } else if (character == '[') {
+        var end = expression.indexOf(']', position);
+        if (end == -1) {
+          return Optional.empty();
+        }
+        var step = expression.substring(position + 1, end);
+        if (isQuotedPropertyName(step)) {
+          propertyNames.add(step.substring(1, step.length() - 1));
+          indices.add(PROPERTY_STEP);
+        } else if (isIndex(step)) {
+          propertyNames.add(null);
+          indices.add(Integer.parseInt(step));
+        } else {
+          return Optional.empty();
+        }
+        position = end + 1;
+      } else {
+        return Optional.empty();
+      }
+    }
+
+    return Optional.of(new SimpleJsonPath(propertyNames.toArray(String[]::new), indices.stream()
+        .mapToInt(Integer::intValue)
+        .toArray()));
+  }
+
+  private static int parsePropertyName(String expression, int start) {
+    var position = start;
+    while (position < expression.length() && isPropertyNameCharacter(expression.charAt(position))) {
+      position++;
+    }
+
+    return position;
+  }
+
+  private static boolean isPropertyNameCharacter(char character) {
+    return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+        || (character >= '0' && character <= '9') || character == '_';
+  }
+
+  private static boolean isQuotedPropertyName(String step) {
+    return step.length() > 2 && step.charAt(0) == '\'' && step.charAt(step.length() - 1) == '\''
+        && step.indexOf('\'', 1) == step.length() - 1 && step.indexOf('\\') == -1;
+  }
+
+  private static boolean isIndex(String step) {
+    if (step.isEmpty() || step.length() > 9) {
+      return false;
+    }
+
+    for (int i = 0; i < step.length(); i++) {
+      var character = step.charAt(i);
+      if (character < '0' || character > '9') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Reads this path from the given {@link JsonNode}.
+   *
+   * @param jsonNode the node to read from
+   * @return the resolved {@link JsonNode}, or {@code null} if the path does not resolve
+   */
+  JsonNode read(JsonNode jsonNode) {
+    var node = jsonNode;
+    for (int i = 0; i < indices.length && node != null; i++) {
+      node = indices[i] == PROPERTY_STEP ? node.get(propertyNames[i]) : node.get(indices[i]);
+    }
+
+    return node;
+  }
+}
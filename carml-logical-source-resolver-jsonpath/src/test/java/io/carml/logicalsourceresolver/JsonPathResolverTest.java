@@ -3,7 +3,9 @@ package io.carml.logicalsourceresolver;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -13,6 +15,7 @@ import io.carml.model.LogicalSource;
 import io.carml.model.impl.CarmlLogicalSource;
 import io.carml.vocab.Rdf;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -20,7 +23,10 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -407,6 +413,31 @@ class JsonPathResolverTest {
     assertThat(results, hasItems("Belgian Waffles", "French Toast", "Dutch Pancakes"));
   }
 
+  @Test
+  void givenInputAndSimpleJsonPathExpressions_whenEvaluateExpressionApply_returnsDirectlyAccessedValues()
+      throws IOException {
+    // Given
+    var food = IOUtils.toString(Objects.requireNonNull(JsonPathResolverTest.class.getResourceAsStream("food.json")),
+        StandardCharsets.UTF_8);
+    var objectMapper = new ObjectMapper();
+
+    var expressionEvaluationFactory = jsonPathResolver.getExpressionEvaluationFactory();
+    var expressionEvaluation = expressionEvaluationFactory.apply(objectMapper.readTree(food));
+
+    // When
+    var name = expressionEvaluation.apply("$.food[1].name");
+    var country = expressionEvaluation.apply("food[2]['countryOfOrigin']");
+    var missing = expressionEvaluation.apply("$.food[3].name");
+    var names = expressionEvaluation.apply("$.food[*].name");
+
+    // Then
+    assertThat(name, is(Optional.<Object>of("French Toast")));
+    assertThat(country, is(Optional.<Object>of("Netherlands")));
+    assertThat(missing.isEmpty(), is(true));
+    assertThat(names.map(ExpressionEvaluation::extractValues)
+        .orElse(List.of()), hasSize(3));
+  }
+
   @Test
   void givenUnresolvableJsonPath_whenSourceFluxApplied_shouldReturnEmptyFlux() {
     // Given
@@ -450,4 +481,177 @@ class JsonPathResolverTest {
             .equals("An exception occurred while parsing expression: $.foo[invalid]"))
         .verify();
   }
+
+  @Test
+  void givenArrayWithMixedValues_whenEvaluateExpressionApply_returnsLeafValuesAsText() throws IOException {
+    // Given
+    var expressionEvaluationFactory = jsonPathResolver.getExpressionEvaluationFactory();
+    var expressionEvaluation = expressionEvaluationFactory
+        .apply(new ObjectMapper().readTree("{\"values\": [\"a\", 1, 1.5, true, null, {\"b\": 2}, [3]]}"));
+
+    // When
+    var values = expressionEvaluation.apply("$.values")
+        .map(ExpressionEvaluation::extractValues)
+        .orElse(List.of());
+
+    // Then
+    assertThat(values, is(List.of("a", "1", "1.5", "true", "{b=2}", "[3]")));
+  }
+
+  @Test
+  void givenLargeInputAndLimitedDemand_whenGetRecordResolver_thenReadOnlyAheadOfDemand() {
+    // Given
+    var itemSource = CarmlLogicalSource.builder()
+        .source("")
+        .iterator("$.items[*]")
+        .referenceFormulation(Rdf.Ql.JsonPath)
+        .build();
+
+    var bufferSize = 64;
+    var countingInputStream = new CountingInputStream(itemsJson(1000));
+    var resolvedSource = ResolvedSource.of(itemSource.getSource(), countingInputStream, InputStream.class);
+    var jsonPathResolver = JsonPathResolver.getInstance(bufferSize);
+
+    var recordResolver = jsonPathResolver.getLogicalSourceRecords(Set.of(itemSource));
+
+    // When
+    var items = recordResolver.apply(resolvedSource);
+
+    // Then
+    StepVerifier.create(items, 1)
+        .expectNextCount(1)
+        .then(() -> assertThat(countingInputStream.getBytesRead(), lessThanOrEqualTo(2L * bufferSize)))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void givenManyRecordsPerChunkAndDemandInSmallBatches_whenGetRecordResolver_thenReadOnlyAheadOfDemand() {
+    // Given
+    var itemSource = CarmlLogicalSource.builder()
+        .source("")
+        .iterator("$.items[*]")
+        .referenceFormulation(Rdf.Ql.JsonPath)
+        .build();
+
+    var bufferSize = 1024;
+    var countingInputStream = new CountingInputStream(itemsJson(10000));
+    var resolvedSource = ResolvedSource.of(itemSource.getSource(), countingInputStream, InputStream.class);
+    var jsonPathResolver = JsonPathResolver.getInstance(bufferSize);
+
+    var recordResolver = jsonPathResolver.getLogicalSourceRecords(Set.of(itemSource));
+
+    // When
+    var items = recordResolver.apply(resolvedSource);
+
+    // Then
+    var step = StepVerifier.create(items, 1)
+        .expectNextCount(1);
+    for (int i = 0; i < 20; i++) {
+      step = step.thenRequest(1)
+          .expectNextCount(1);
+    }
+    step.then(() -> assertThat(countingInputStream.getBytesRead(), lessThanOrEqualTo(2L * bufferSize)))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void givenMalformedInput_whenGetRecordResolver_thenReturnSourceFluxWithError() {
+    // Given
+    var foodSource = CarmlLogicalSource.builder()
+        .source("")
+        .iterator("$.food[*]")
+        .referenceFormulation(Rdf.Ql.JsonPath)
+        .build();
+
+    inputStream = new ByteArrayInputStream("{\"food\": [{\"name\": \"apple\"}, {\"name\" \"pear\"}]}"
+        .getBytes(StandardCharsets.UTF_8));
+    var resolvedSource = ResolvedSource.of(foodSource.getSource(), inputStream, InputStream.class);
+
+    var recordResolver = jsonPathResolver.getLogicalSourceRecords(Set.of(foodSource));
+
+    // When
+    var items = recordResolver.apply(resolvedSource);
+
+    // Then
+    StepVerifier.create(items)
+        .thenConsumeWhile(Objects::nonNull)
+        .expectErrorMatches(throwable -> throwable instanceof LogicalSourceResolverException
+            && throwable.getMessage()
+                .equals("Error parsing input stream."))
+        .verify();
+  }
+
+  @Test
+  void givenCancellationMidStream_whenGetRecordResolver_thenStopReadingAndCloseInput() {
+    // Given
+    var itemSource = CarmlLogicalSource.builder()
+        .source("")
+        .iterator("$.items[*]")
+        .referenceFormulation(Rdf.Ql.JsonPath)
+        .build();
+
+    var countingInputStream = new CountingInputStream(itemsJson(1000));
+    var resolvedSource = ResolvedSource.of(itemSource.getSource(), countingInputStream, InputStream.class);
+    var jsonPathResolver = JsonPathResolver.getInstance(64);
+
+    var recordResolver = jsonPathResolver.getLogicalSourceRecords(Set.of(itemSource));
+    var items = recordResolver.apply(resolvedSource);
+
+    // When
+    StepVerifier.create(items, 5)
+        .expectNextCount(5)
+        .thenCancel()
+        .verify();
+
+    // Then
+    assertThat(countingInputStream.isClosed(), is(true));
+    assertThat(countingInputStream.getBytesRead(), lessThanOrEqualTo((long) countingInputStream.getLength() / 2));
+  }
+
+  private static byte[] itemsJson(int itemCount) {
+    return IntStream.range(0, itemCount)
+        .mapToObj(id -> String.format("{\"id\": %s}", id))
+        .collect(Collectors.joining(", ", "{\"items\": [", "]}"))
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static class CountingInputStream extends ByteArrayInputStream {
+
+    private long bytesRead;
+
+    private boolean closed;
+
+    CountingInputStream(byte[] bytes) {
+      super(bytes);
+    }
+
+    @Override
+    public synchronized int read(byte[] bytes, int offset, int length) {
+      var read = super.read(bytes, offset, length);
+      if (read > 0) {
+        bytesRead += read;
+      }
+      return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      super.close();
+    }
+
+    synchronized long getBytesRead() {
+      return bytesRead;
+    }
+
+    int getLength() {
+      return buf.length;
+    }
+
+    boolean isClosed() {
+      return closed;
+    }
+  }
 }
@@ -0,0 +1,102 @@
+package io.carml.logicalsourceresolver;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SimpleJsonPathTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private JsonNode jsonNode;
+
+  @BeforeEach
+  void init() throws JsonProcessingException {
+    jsonNode = OBJECT_MAPPER.readTree("{\"name\": \"foo\", \"a\": {\"b\": [\"x\", \"y\"], \"b c\": \"z\"}}");
+  }
+
+  @Test
+  void givenBareProperty_whenRead_thenReturnPropertyValue() {
+    // Given
+    var simpleJsonPath = SimpleJsonPath.parse("name")
+        .orElseThrow();
+
+    // When
+    var result = simpleJsonPath.read(jsonNode);
+
+    // Then
+    assertThat(result.asText(), is("foo"));
+  }
+
+  @Test
+  void givenDottedPathWithIndex_whenRead_thenReturnArrayElement() {
+    // Given
+    var simpleJsonPath = SimpleJsonPath.parse("$.a.b[1]")
+        .orElseThrow();
+
+    // When
+    var result = simpleJsonPath.read(jsonNode);
+
+    // Then
+    assertThat(result.asText(), is("y"));
+  }
+
+  @Test
+  void givenBracketPath_whenRead_thenReturnPropertyValue() {
+    // Given
+    var simpleJsonPath = SimpleJsonPath.parse("$['a']['b c']")
+        .orElseThrow();
+
+    // When
+    var result = simpleJsonPath.read(jsonNode);
+
+    // Then
+    assertThat(result.asText(), is("z"));
+  }
+
+  @Test
+  void givenRootPath_whenRead_thenReturnRoot() {
+    // Given
+    var simpleJsonPath = SimpleJsonPath.parse("$")
+        .orElseThrow();
+
+    // When
+    var result = simpleJsonPath.read(jsonNode);
+
+    // Then
+    assertThat(result, is(jsonNode));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"$.foo", "$.foo.bar", "$.a.b[2]", "$.name.foo", "$.a[0]", "$.a.b.c"})
+  void givenUnresolvablePath_whenRead_thenReturnNull(String expression) {
+    // Given
+    var simpleJsonPath = SimpleJsonPath.parse(expression)
+        .orElseThrow();
+
+    // When
+    var result = simpleJsonPath.read(jsonNode);
+
+    // Then
+    assertThat(result, is(nullValue()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "$..name", "$.a.b[*]", "$.a.b[-1]", "$.a.b[0:1]", "$['a','name']", "$.a[?(@.b)]",
+      "$.a.b.length()", "@.name", "$.foo[invalid]", "$.a b"})
+  void givenNonSimplePath_whenParse_thenReturnEmpty(String expression) {
+    // When
+    var simpleJsonPath = SimpleJsonPath.parse(expression);
+
+    // Then
+    assertThat(simpleJsonPath.isEmpty(), is(true));
+  }
+}
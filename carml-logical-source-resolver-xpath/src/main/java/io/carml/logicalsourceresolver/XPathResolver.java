@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -30,6 +31,9 @@ import net.sf.saxon.s9api.DocumentBuilder;
 import net.sf.saxon.s9api.Processor;
 import net.sf.saxon.s9api.SaxonApiException;
 import net.sf.saxon.s9api.XPathCompiler;
+import net.sf.saxon.s9api.XPathExecutable;
+import net.sf.saxon.s9api.XPathSelector;
+import net.sf.saxon.s9api.XdmAtomicValue;
 import net.sf.saxon.s9api.XdmItem;
 import net.sf.saxon.s9api.XdmValue;
 import org.jaxen.saxpath.SAXPathException;
@@ -52,6 +56,8 @@ public class XPathResolver implements LogicalSourceResolver<XdmItem> {
 
   private final Map<Set<LogicalSource>, XMLDog> xmlDogCache;
 
+  private final Map<String, CompiledXPath> compiledXPaths = new ConcurrentHashMap<>();
+
   public static XPathResolver getInstance() {
     return getInstance(true);
   }
@@ -76,6 +82,7 @@ public class XPathResolver implements LogicalSourceResolver<XdmItem> {
           .forEach(n -> {
             nsContext.declarePrefix(n.getPrefix(), n.getName());
             xpathCompiler.declareNamespace(n.getPrefix(), n.getName());
+            compiledXPaths.clear();
           });
     }
   }
@@ -239,10 +246,7 @@ public class XPathResolver implements LogicalSourceResolver<XdmItem> {
   private Flux<LogicalSourceRecord<XdmItem>> getXpathResultFluxForLogicalSource(XdmItem xdmItem,
       LogicalSource logicalSource) {
     try {
-      var selector = xpathCompiler.compile(logicalSource.getIterator())
-          .load();
-      selector.setContextItem(xdmItem);
-      var value = selector.evaluate();
+      var value = getCompiledXPath(logicalSource.getIterator()).evaluate(xdmItem);
 
       if (value.isEmptySequence()) {
         return Flux.empty();
@@ -262,10 +266,7 @@ public class XPathResolver implements LogicalSourceResolver<XdmItem> {
       logEvaluateExpression(expression, LOG);
 
       try {
-        var selector = xpathCompiler.compile(expression)
-            .load();
-        selector.setContextItem(entry);
-        var value = selector.evaluate();
+        var value = getCompiledXPath(expression).evaluate(entry);
 
         if (value.size() > 1) {
           var results = new ArrayList<>();
@@ -289,6 +290,19 @@ public class XPathResolver implements LogicalSourceResolver<XdmItem> {
     };
   }
 
+  private CompiledXPath getCompiledXPath(String expression) {
+    return compiledXPaths.computeIfAbsent(expression, this::compile);
+  }
+
+  private CompiledXPath compile(String expression) {
+    try {
+      return new CompiledXPath(xpathCompiler.compile(expression));
+    } catch (SaxonApiException saxonApiException) {
+      throw new LogicalSourceResolverException(String.format("Error compiling XPath expression [%s]", expression),
+          saxonApiException);
+    }
+  }
+
   private String getItemStringValue(XdmItem item, XdmValue value) {
     if (item.getStringValue()
         .isEmpty()) {
@@ -297,4 +311,31 @@ public class XPathResolver implements LogicalSourceResolver<XdmItem> {
 
     return autoNodeTextExtraction ? item.getStringValue() : value.toString();
   }
+
+  /**
+   * An XPath expression compiled to an {@link XPathExecutable}, with the {@link XPathSelector}s loaded
+   * from it. Selectors are not thread-safe, so they are reused per thread. As they are kept with the
+   * executable, they are discarded together with it. After an evaluation, the context item of the
+   * selector is reset, so that a pooled thread does not retain the last evaluated document.
+   */
+  private static class CompiledXPath {
+
+    private static final XdmItem EMPTY_CONTEXT_ITEM = new XdmAtomicValue("");
+
+    private final ThreadLocal<XPathSelector> selectors;
+
+    CompiledXPath(XPathExecutable executable) {
+      this.selectors = ThreadLocal.withInitial(executable::load);
+    }
+
+    XdmValue evaluate(XdmItem contextItem) throws SaxonApiException {
+      var selector = selectors.get();
+      selector.setContextItem(contextItem);
+      try {
+        return selector.evaluate();
+      } finally {
+        selector.setContextItem(EMPTY_CONTEXT_ITEM);
+      }
+    }
+  }
 }
@@ -21,6 +21,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.xml.transform.stream.StreamSource;
 import net.sf.saxon.s9api.DocumentBuilder;
 import net.sf.saxon.s9api.Processor;
@@ -30,6 +31,8 @@ import org.apache.commons.io.IOUtils;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 class XPathResolverTest {
@@ -365,6 +368,78 @@ class XPathResolverTest {
     assertThat(evaluationResult.get(), is("<author>Giada De Laurentiis</author>"));
   }
 
+  @Test
+  void givenAncestorExpression_whenExpressionEvaluationAppliedToStreamedRecords_thenReturnCorrectValues() {
+    // Given
+    var inputStream = IOUtils.toInputStream(SOURCE, StandardCharsets.UTF_8);
+
+    var resolvedSource = ResolvedSource.of(LSOURCE.getSource(), inputStream, InputStream.class);
+    var recordResolver = xpathResolver.getLogicalSourceRecords(Set.of(LSOURCE));
+    var evaluationFactory = xpathResolver.getExpressionEvaluationFactory();
+
+    // When
+    var parentNames = recordResolver.apply(resolvedSource)
+        .map(item -> evaluationFactory.apply(item.getRecord())
+            .apply("local-name(..)")
+            .orElseThrow())
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(parentNames, is(List.<Object>of("bookstore", "bookstore")));
+  }
+
+  @Test
+  void givenNamespaceContextExpression_whenExpressionEvaluationAppliedToStreamedRecord_thenReturnCorrectValues() {
+    // Given
+    var mapping = RmlMappingLoader.build()
+        .load(RDFFormat.TURTLE, XPathResolverTest.class.getResourceAsStream("xmlns.rml.ttl"));
+
+    var triplesMap = Iterables.getOnlyElement(mapping);
+    var logicalSource = triplesMap.getLogicalSource();
+
+    var resolvedSource = ResolvedSource.of(logicalSource.getSource(),
+        IOUtils.toInputStream(SOURCE_NS, StandardCharsets.UTF_8), InputStream.class);
+    var recordResolver = xpathResolver.getLogicalSourceRecords(Set.of(logicalSource));
+
+    var item = recordResolver.apply(resolvedSource)
+        .blockFirst();
+
+    var evaluationFactory = xpathResolver.getExpressionEvaluationFactory();
+    var expressionEvaluation = evaluationFactory.apply(item.getRecord());
+
+    // When
+    var parentName = expressionEvaluation.apply("name(..)");
+    var parentNamespace = expressionEvaluation.apply("namespace-uri(..)");
+    var title = expressionEvaluation.apply("../ex:book/ex:title");
+
+    // Then
+    assertThat(parentName.orElseThrow(), is("ex:bookstore"));
+    assertThat(parentNamespace.orElseThrow(), is("http://www.example.com/books/1.0/"));
+    assertThat(title.orElseThrow(), is("Harry Potter"));
+  }
+
+  @Test
+  void givenExpression_whenExpressionEvaluationAppliedToMultipleRecords_thenReturnCorrectValues() {
+    // Given
+    var inputStream = IOUtils.toInputStream(SOURCE, StandardCharsets.UTF_8);
+
+    var resolvedSource = ResolvedSource.of(LSOURCE.getSource(), inputStream, InputStream.class);
+    var recordResolver = xpathResolver.getLogicalSourceRecords(Set.of(LSOURCE));
+    var evaluationFactory = xpathResolver.getExpressionEvaluationFactory();
+
+    // When
+    var titles = recordResolver.apply(resolvedSource)
+        .map(item -> evaluationFactory.apply(item.getRecord())
+            .apply("./title")
+            .orElseThrow())
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(titles, is(List.<Object>of("Everyday Italian", "Harry Potter")));
+  }
+
   @Test
   void givenExpressionWithNamespace_whenExpressionEvaluationApplied_thenReturnCorrectValue() {
     // Given
@@ -392,4 +467,51 @@ class XPathResolverTest {
     assertThat(evaluationResult.isPresent(), is(true));
     assertThat(evaluationResult.get(), is("j k. rowling"));
   }
+
+  @Test
+  void givenExpressionEvaluatedOnMultipleThreads_whenExpressionEvaluationApplied_thenReturnCorrectValues() {
+    // Given
+    var inputStream = IOUtils.toInputStream(SOURCE, StandardCharsets.UTF_8);
+
+    var resolvedSource = ResolvedSource.of(LSOURCE.getSource(), inputStream, InputStream.class);
+    var records = xpathResolver.getLogicalSourceRecords(Set.of(LSOURCE))
+        .apply(resolvedSource)
+        .collectList()
+        .block();
+    var evaluationFactory = xpathResolver.getExpressionEvaluationFactory();
+
+    // When
+    var titles = Flux.range(0, 1_000)
+        .parallel()
+        .runOn(Schedulers.parallel())
+        .map(i -> evaluationFactory.apply(records.get(i % 2)
+            .getRecord())
+            .apply("./title")
+            .orElseThrow())
+        .sequential()
+        .collect(Collectors.toSet())
+        .block();
+
+    // Then
+    assertThat(titles, is(Set.<Object>of("Everyday Italian", "Harry Potter")));
+  }
+
+  @Test
+  void givenInvalidExpression_whenExpressionEvaluationApplied_thenThrowException() {
+    // Given
+    var inputStream = IOUtils.toInputStream(SOURCE, StandardCharsets.UTF_8);
+
+    var resolvedSource = ResolvedSource.of(LSOURCE.getSource(), inputStream, InputStream.class);
+    var item = xpathResolver.getLogicalSourceRecords(Set.of(LSOURCE))
+        .apply(resolvedSource)
+        .blockFirst();
+    var expressionEvaluation = xpathResolver.getExpressionEvaluationFactory()
+        .apply(item.getRecord());
+
+    // When
+    var exception = assertThrows(LogicalSourceResolverException.class, () -> expressionEvaluation.apply("./title["));
+
+    // Then
+    assertThat(exception.getMessage(), is("Error compiling XPath expression [./title[]"));
+  }
 }